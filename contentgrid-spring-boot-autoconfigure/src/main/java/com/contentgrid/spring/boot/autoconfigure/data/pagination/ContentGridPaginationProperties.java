@@ -0,0 +1,211 @@
+package com.contentgrid.spring.boot.autoconfigure.data.pagination;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+
+@Data
+public class ContentGridPaginationProperties {
+
+    private CountCache countCache = new CountCache();
+
+    private ConcurrentCount concurrentCount = new ConcurrentCount();
+
+    private EstimateGatedCount estimateGatedCount = new EstimateGatedCount();
+
+    private BoundedCount boundedCount = new BoundedCount();
+
+    private TableStatisticsCount tableStatisticsCount = new TableStatisticsCount();
+
+    private QueryCoalescing queryCoalescing = new QueryCoalescing();
+
+    private StatementBudget statementBudget = new StatementBudget();
+
+    private ItemCounter itemCounter = new ItemCounter();
+
+    private QueryPlanCache queryPlanCache = new QueryPlanCache();
+
+    @Data
+    public static class CountCache {
+
+        /**
+         * Whether item counts are cached and shared between requests.
+         * <p>
+         * Cached counts are invalidated by entity change events; when change events are not published, counts only
+         * expire after {@link #ttl}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached item counts
+         */
+        private long maximumSize = 1000;
+
+        /**
+         * Age after which a cached count is recomputed; other requests receive the cached count as an estimate while
+         * it is being recomputed
+         */
+        private Duration softTtl = Duration.ofSeconds(10);
+
+        /**
+         * Age after which a cached count is removed
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class ConcurrentCount {
+
+        /**
+         * Whether item counts run concurrently with fetching the page, on a separate thread and database connection.
+         * <p>
+         * Threads are virtual threads when {@code spring.threads.virtual.enabled} is set.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of counts running concurrently with fetching a page; additional counts run after fetching the
+         * page. This limits the number of extra database connections used for counting, so it should be well below
+         * the size of the connection pool.
+         */
+        private int maximumConcurrency = 4;
+    }
+
+    @Data
+    public static class EstimateGatedCount {
+
+        /**
+         * Whether item counts are estimated first, and only counted exactly when the estimate is small enough
+         */
+        private boolean enabled = false;
+
+        /**
+         * Highest estimated item count for which an exact count is performed
+         */
+        private long threshold = 10_000;
+
+        /**
+         * How long only estimates are made for a filter after an exact count for the same filter (with any value)
+         * failed
+         */
+        private Duration slowFilterMemory = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class BoundedCount {
+
+        /**
+         * Whether items are counted up to a maximum, instead of counting all items with a time limit
+         */
+        private boolean enabled = false;
+
+        /**
+         * Highest number of items that is counted exactly; larger counts are reported as an estimate of one more than
+         * the maximum
+         */
+        private long maximum = 10_000;
+
+        /**
+         * How long counting can take before it is abandoned. When the statement budget is enabled, the timeout has
+         * millisecond precision; otherwise it is rounded up to whole seconds.
+         */
+        private Duration timeout = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class TableStatisticsCount {
+
+        /**
+         * Whether the number of items in unfiltered collections is estimated from database table statistics
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long an estimate from table statistics is reused
+         */
+        private Duration ttl = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class QueryCoalescing {
+
+        /**
+         * Whether identical page queries that run at the same time are executed only once, with the result shared
+         * between the requests.
+         * <p>
+         * Only queries with exactly the same filters, access restrictions, sort and page are shared.
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class StatementBudget {
+
+        /**
+         * Whether queries for a page of items are cancelled by the database when they take longer than their budget.
+         * <p>
+         * The budget is applied with the PostgreSQL {@code statement_timeout} setting, so this requires PostgreSQL.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Longest time a query for a page of items can take, for domain types without their own budget
+         */
+        private Duration defaultBudget = Duration.ofSeconds(5);
+
+        /**
+         * Budgets for specific domain types, by their simple or fully qualified class name. A budget of zero disables
+         * the budget for a domain type.
+         */
+        private Map<String, Duration> domainTypes = new HashMap<>();
+
+        /**
+         * Request header that lowers the budget of a request, in milliseconds. A request can not raise its budget.
+         * When empty, the header is not used.
+         */
+        private String requestHeader = "Statement-Budget";
+    }
+
+    @Data
+    public static class ItemCounter {
+
+        /**
+         * Whether the number of items of every domain type is kept in a database table, so unfiltered collections are
+         * counted exactly without counting all rows.
+         * <p>
+         * Counters are updated when entities are inserted or deleted through JPA, and reconciled periodically to
+         * correct for other changes. Requires PostgreSQL; the {@code contentgrid_item_counter} table is created by a
+         * Flyway migration, which is added to the Flyway locations.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time between reconciliations of the counters with the actual number of items. Every reconciliation counts all
+         * rows of every counted table.
+         */
+        private Duration reconciliationInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class QueryPlanCache {
+
+        /**
+         * Whether the number of parameters of {@code IN} lists is padded to the next power of two, so filters with a
+         * different number of values share the same SQL statement and database query plan.
+         * <p>
+         * Text filters with multiple values always use a single array parameter, and do not need padding.
+         */
+        private boolean parameterPadding = false;
+
+        /**
+         * Whether hits and misses of the Hibernate query plan cache are reported as metrics. This enables the
+         * collection of Hibernate statistics.
+         * <p>
+         * The Hibernate query plan cache does not see the number of values of {@code IN} lists, so the distinct SQL
+         * statements sent to the database are reported as well. That requires a statement inspector, which is not
+         * registered when {@code hibernate.session_factory.statement_inspector} is already configured.
+         */
+        private boolean metrics = false;
+    }
+}
@@ -1,22 +1,59 @@
 package com.contentgrid.spring.boot.autoconfigure.data.pagination;
 
+import com.contentgrid.spring.data.pagination.jpa.ConcurrentItemCounter;
 import com.contentgrid.spring.data.pagination.jpa.ContentGridSpringDataPaginationJpaConfiguration;
+import com.contentgrid.spring.data.pagination.jpa.QueryCoalescer;
+import com.contentgrid.spring.data.pagination.jpa.StatementBudget;
+import com.contentgrid.spring.data.pagination.jpa.counter.ItemCounterEventListener;
+import com.contentgrid.spring.data.pagination.jpa.counter.ItemCounterReconciler;
+import com.contentgrid.spring.data.pagination.jpa.counter.ItemCounters;
+import com.contentgrid.spring.data.pagination.jpa.hibernate.QueryPlanCacheMetrics;
+import com.contentgrid.spring.data.pagination.jpa.hibernate.StatementShapeMetrics;
+import com.contentgrid.spring.data.pagination.jpa.strategy.BoundedCountItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.EstimateGatedItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.ExplainEstimateItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.ItemCountCache;
+import com.contentgrid.spring.data.pagination.jpa.strategy.ItemCounterItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.TableStatisticsItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.TimedDirectCountItemCountStrategy;
+import com.contentgrid.spring.integration.events.EntityChangeEventPublisher;
+import com.contentgrid.spring.integration.events.EntityChangeEventPublisher.EntityChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
 import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.config.JpaRepositoryConfigExtension;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.integration.config.GlobalChannelInterceptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
 
 // These annotations are taken from JpaRepositoriesAutoConfiguration
 @AutoConfiguration(before = JpaRepositoriesAutoConfiguration.class, after = {HibernateJpaAutoConfiguration.class,
@@ -39,6 +76,200 @@ public class JpaPaginationAutoConfiguration {
         return new JpaRepositoryConfigExtension();
     }
 
+    @Bean
+    @ConfigurationProperties("contentgrid.pagination")
+    ContentGridPaginationProperties contentGridPaginationProperties() {
+        return new ContentGridPaginationProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.concurrent-count", name = "enabled", havingValue = "true")
+    ConcurrentItemCounter concurrentItemCounter(SimpleAsyncTaskExecutorBuilder executorBuilder,
+            ContentGridPaginationProperties properties) {
+        var executor = executorBuilder
+                .threadNamePrefix("contentgrid-count-")
+                .concurrencyLimit(properties.getConcurrentCount().getMaximumConcurrency())
+                // Rejected counts run on the request thread after fetching the page
+                .rejectTasksWhenLimitReached(true)
+                .build();
+        return new ConcurrentItemCounter(executor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.query-coalescing", name = "enabled", havingValue = "true")
+    QueryCoalescer queryCoalescer(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new QueryCoalescer(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.statement-budget", name = "enabled", havingValue = "true")
+    StatementBudget statementBudget(PlatformTransactionManager transactionManager,
+            ContentGridPaginationProperties properties) {
+        var statementBudget = properties.getStatementBudget();
+        return StatementBudget.builder()
+                .transactionManager(transactionManager)
+                .defaultBudget(statementBudget.getDefaultBudget())
+                .domainTypeBudgets(statementBudget.getDomainTypes())
+                .requestHeader(StringUtils.hasText(statementBudget.getRequestHeader())
+                        ? statementBudget.getRequestHeader() : null)
+                .build();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer queryPlanCacheHibernatePropertiesCustomizer(
+            ContentGridPaginationProperties properties,
+            ObjectProvider<StatementShapeMetrics> statementShapeMetrics
+    ) {
+        return hibernateProperties -> {
+            var queryPlanCache = properties.getQueryPlanCache();
+            // Explicitly configured hibernate properties take precedence
+            if (queryPlanCache.isParameterPadding()) {
+                hibernateProperties.putIfAbsent("hibernate.query.in_clause_parameter_padding", "true");
+            }
+            if (queryPlanCache.isMetrics()) {
+                hibernateProperties.putIfAbsent("hibernate.generate_statistics", "true");
+                statementShapeMetrics.ifAvailable(inspector -> hibernateProperties.putIfAbsent(
+                        "hibernate.session_factory.statement_inspector", inspector));
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.query-plan-cache", name = "metrics", havingValue = "true")
+    QueryPlanCacheMetrics queryPlanCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new QueryPlanCacheMetrics(entityManagerFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.query-plan-cache", name = "metrics", havingValue = "true")
+    StatementShapeMetrics statementShapeMetrics() {
+        return new StatementShapeMetrics();
+    }
+
+    @Bean
+    // Only applies to unfiltered collections, where it is the cheapest option
+    @Order(-20)
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.table-statistics-count", name = "enabled",
+            havingValue = "true")
+    TableStatisticsItemCountStrategy tableStatisticsItemCountStrategy(EntityManagerFactory entityManagerFactory,
+            ContentGridPaginationProperties properties) {
+        return new TableStatisticsItemCountStrategy(entityManagerFactory,
+                properties.getTableStatisticsCount().getTtl());
+    }
+
+    @Bean
+    @Order(-10)
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.estimate-gated-count", name = "enabled",
+            havingValue = "true")
+    EstimateGatedItemCountStrategy estimateGatedItemCountStrategy(
+            ExplainEstimateItemCountStrategy explainEstimateItemCountStrategy,
+            TimedDirectCountItemCountStrategy timedDirectCountItemCountStrategy,
+            ContentGridPaginationProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        var estimateGatedCount = properties.getEstimateGatedCount();
+        return EstimateGatedItemCountStrategy.builder()
+                .estimateStrategy(explainEstimateItemCountStrategy)
+                .exactStrategy(timedDirectCountItemCountStrategy)
+                .exactCountThreshold(estimateGatedCount.getThreshold())
+                .slowShapeMemory(estimateGatedCount.getSlowFilterMemory())
+                .meterRegistry(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry))
+                .build();
+    }
+
+    @Bean
+    // Before the timed count of all items, which it replaces
+    @Order(-5)
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.bounded-count", name = "enabled", havingValue = "true")
+    BoundedCountItemCountStrategy boundedCountItemCountStrategy(ContentGridPaginationProperties properties,
+            ObjectProvider<StatementBudget> statementBudget) {
+        var boundedCount = properties.getBoundedCount();
+        // Page queries run in a transaction with a statement budget; a timed out count must not abort it
+        return new BoundedCountItemCountStrategy(boundedCount.getMaximum(), boundedCount.getTimeout(),
+                statementBudget.getIfAvailable() != null);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.item-counter", name = "enabled", havingValue = "true")
+    static class ItemCounterConfiguration {
+
+        @Bean
+        ItemCounters itemCounters(EntityManagerFactory entityManagerFactory,
+                PlatformTransactionManager transactionManager) {
+            return new ItemCounters(entityManagerFactory, transactionManager);
+        }
+
+        @Bean
+        ItemCounterEventListener itemCounterEventListener(EntityManagerFactory entityManagerFactory) {
+            return new ItemCounterEventListener(entityManagerFactory);
+        }
+
+        @Bean
+        ItemCounterReconciler itemCounterReconciler(ItemCounters itemCounters,
+                ContentGridPaginationProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+            return new ItemCounterReconciler(itemCounters, properties.getItemCounter().getReconciliationInterval(),
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+
+        @Bean
+        // Exact, and cheaper than any other strategy for unfiltered collections
+        @Order(-30)
+        ItemCounterItemCountStrategy itemCounterItemCountStrategy(ItemCounters itemCounters) {
+            return new ItemCounterItemCountStrategy(itemCounters);
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(Flyway.class)
+        static class ItemCounterFlywayConfiguration {
+
+            // The entity manager factory depends on Flyway, so the table exists before the first counter is updated
+            @Bean
+            FlywayConfigurationCustomizer itemCounterFlywayConfigurationCustomizer() {
+                return configuration -> {
+                    var locations = new ArrayList<>(List.of(configuration.getLocations()));
+                    locations.add(new Location(ItemCounters.MIGRATION_LOCATION));
+                    configuration.locations(locations.toArray(Location[]::new));
+                };
+            }
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "contentgrid.pagination.count-cache", name = "enabled", havingValue = "true")
+    static class ItemCountCacheConfiguration {
+
+        @Bean
+        ItemCountCache itemCountCache(ContentGridPaginationProperties properties) {
+            var countCache = properties.getCountCache();
+            return new ItemCountCache(countCache.getMaximumSize(), countCache.getSoftTtl(), countCache.getTtl());
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass({EntityChangeEventPublisher.class, GlobalChannelInterceptor.class})
+        static class ItemCountCacheInvalidationConfiguration {
+
+            // Intercepting instead of subscribing to the channel: it is a direct channel, which delivers every
+            // message to only one of its subscribers. Events are published before the transaction commits; the cache
+            // defers the invalidation until the transaction completes.
+            @Bean
+            @GlobalChannelInterceptor(patterns = EntityChangeEventPublisher.CHANGE_EVENT_CHANNEL)
+            ChannelInterceptor itemCountCacheInvalidatingChannelInterceptor(ItemCountCache itemCountCache) {
+                return new ChannelInterceptor() {
+                    @Override
+                    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                        if (message.getPayload() instanceof EntityChangeEvent event) {
+                            switch (event.getTrigger()) {
+                                case CREATE, DELETE -> itemCountCache.invalidateCounts(event.getDomainType());
+                                case UPDATE -> itemCountCache.invalidateFilteredCounts(event.getDomainType());
+                            }
+                        }
+                        return message;
+                    }
+                };
+            }
+        }
+    }
+
     static class JpaRepositoriesImportSelector implements ImportSelector {
 
         @Override
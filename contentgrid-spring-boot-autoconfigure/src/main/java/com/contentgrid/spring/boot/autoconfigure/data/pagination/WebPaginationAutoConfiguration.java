@@ -2,6 +2,7 @@ package com.contentgrid.spring.boot.autoconfigure.data.pagination;
 
 import com.contentgrid.spring.data.pagination.cursor.ContentGridSpringDataPaginationCursorConfiguration;
 import com.contentgrid.spring.data.pagination.cursor.CursorCodec;
+import com.contentgrid.spring.data.pagination.cursor.KeysetCursorCodec;
 import com.contentgrid.spring.data.pagination.cursor.RequestIntegrityCheckCursorCodec;
 import com.contentgrid.spring.data.pagination.cursor.SimplePageBasedCursorCodec;
 import com.contentgrid.spring.data.pagination.web.ContentGridSpringDataPaginationWebConfiguration;
@@ -82,6 +83,7 @@ public class WebPaginationAutoConfiguration {
             return switch (restProperties.getPagination()) {
                 case PAGE_NUMBER -> new SimplePageBasedCursorCodec();
                 case PAGE_CURSOR -> new RequestIntegrityCheckCursorCodec(new SimplePageBasedCursorCodec());
+                case KEYSET_CURSOR -> new RequestIntegrityCheckCursorCodec(new KeysetCursorCodec());
             };
         }
 
@@ -1,6 +1,8 @@
 package com.contentgrid.spring.boot.autoconfigure.data.web;
 
+import com.contentgrid.spring.data.querydsl.index.ContentGridCollectionFilterIndexAdvisorConfiguration;
 import com.contentgrid.spring.data.rest.affordances.ContentGridSpringDataRestAffordancesConfiguration;
+import com.contentgrid.spring.data.rest.export.ContentGridCollectionExportConfiguration;
 import com.contentgrid.spring.data.rest.hal.ContentGridCurieConfiguration;
 import com.contentgrid.spring.data.rest.hal.CurieProviderCustomizer;
 import com.contentgrid.spring.data.rest.hal.forms.ContentGridHalFormsConfiguration;
@@ -8,13 +10,19 @@ import com.contentgrid.spring.data.rest.links.ContentGridSpringContentRestLinksC
 import com.contentgrid.spring.data.rest.links.ContentGridSpringDataLinksConfiguration;
 import com.contentgrid.spring.data.rest.problem.ContentGridProblemDetailsConfiguration;
 import com.contentgrid.spring.data.rest.validation.ContentGridSpringDataRestValidationConfiguration;
+import com.contentgrid.spring.data.rest.warmup.ContentGridDomainTypeMetadataWarmUpConfiguration;
+import com.contentgrid.spring.data.rest.warmup.DomainTypeMetadataWarmUp;
 import com.contentgrid.spring.data.rest.webmvc.ContentGridSpringDataRestProfileConfiguration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.rest.RepositoryRestMvcAutoConfiguration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.content.rest.config.RestConfiguration;
@@ -91,4 +99,39 @@ public class ContentGridSpringDataRestAutoConfiguration {
         }
     }
 
+    @ConditionalOnProperty(prefix = "contentgrid.rest.export", name = "enabled", havingValue = "true")
+    @Import(ContentGridCollectionExportConfiguration.class)
+    @Configuration(proxyBeanMethods = false)
+    static class ContentGridCollectionExportAutoConfiguration {
+
+    }
+
+    @ConditionalOnProperty(prefix = "contentgrid.rest.index-advisor", name = "enabled", havingValue = "true")
+    @Import(ContentGridCollectionFilterIndexAdvisorConfiguration.class)
+    @Configuration(proxyBeanMethods = false)
+    static class ContentGridCollectionFilterIndexAdvisorAutoConfiguration {
+
+    }
+
+    @ConditionalOnProperty(prefix = "contentgrid.rest.warm-up", name = "enabled", havingValue = "true")
+    @Import(ContentGridDomainTypeMetadataWarmUpConfiguration.class)
+    @Configuration(proxyBeanMethods = false)
+    static class ContentGridDomainTypeMetadataWarmUpAutoConfiguration {
+
+        @ConditionalOnClass(InfoContributor.class)
+        @Configuration(proxyBeanMethods = false)
+        static class ContentGridDomainTypeMetadataWarmUpInfoConfiguration {
+
+            @Bean
+            InfoContributor domainTypeMetadataWarmUpInfoContributor(DomainTypeMetadataWarmUp warmUp) {
+                return builder -> {
+                    var durations = new LinkedHashMap<String, Long>();
+                    warmUp.getDurations().forEach((domainType, duration) ->
+                            durations.put(domainType.getName(), duration.toMillis()));
+                    builder.withDetail("warmUp", Map.of("durationsMillis", durations));
+                };
+            }
+        }
+    }
+
 }
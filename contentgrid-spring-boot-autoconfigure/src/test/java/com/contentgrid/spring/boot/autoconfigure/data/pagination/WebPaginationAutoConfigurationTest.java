@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.contentgrid.spring.boot.autoconfigure.data.web.ContentGridSpringDataRestAutoConfiguration;
 import com.contentgrid.spring.data.pagination.cursor.CursorCodec;
+import com.contentgrid.spring.data.pagination.cursor.RequestIntegrityCheckCursorCodec;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -64,6 +65,20 @@ class WebPaginationAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void pagination_configuration_keyset_cursor_pagination() {
+        contextRunner
+                .withPropertyValues("contentgrid.rest.pagination=keyset_cursor")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+
+                    assertThat(context).hasSingleBean(CursorCodec.class);
+                    assertThat(context.getBean(CursorCodec.class)).isInstanceOf(RequestIntegrityCheckCursorCodec.class);
+                    assertThat(context.getBean(RepositoryRestConfiguration.class).getPageParamName()).isEqualTo(
+                            "_cursor");
+                });
+    }
+
     @Test
     void pagination_configuration_custom_codec() {
         contextRunner
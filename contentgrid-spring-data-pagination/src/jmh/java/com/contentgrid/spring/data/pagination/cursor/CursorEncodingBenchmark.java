@@ -0,0 +1,114 @@
+package com.contentgrid.spring.data.pagination.cursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasSortHandlerMethodArgumentResolver;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Decodes the cursor of a collection request, and encodes the cursors for the previous and next page of the response,
+ * like {@link com.contentgrid.spring.data.pagination.web.ItemCountPageResourceAssembler} does.
+ * <p>
+ * {@code withoutRequestScope} fingerprints the request for every cursor; {@code withinRequest} reuses the fingerprint
+ * of the request for all cursors of the request. Compare {@code gc.alloc.rate.norm} to see the allocations per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CursorEncodingBenchmark {
+
+    private static final String COLLECTION_URL = "http://localhost/invoices?customer.vat=BE0123456789&paid=false";
+
+    private static final MethodParameter PAGEABLE_PARAMETER;
+
+    static {
+        try {
+            PAGEABLE_PARAMETER = MethodParameter.forExecutable(
+                    CursorEncodingBenchmark.class.getDeclaredMethod("collection", Pageable.class), 0);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HateoasPageableCursorHandlerMethodArgumentResolver resolver;
+    private String cursor;
+    private String selfLink;
+    private Pageable previous;
+    private Pageable next;
+
+    @Setup
+    public void setup() {
+        resolver = new HateoasPageableCursorHandlerMethodArgumentResolver(
+                new HateoasSortHandlerMethodArgumentResolver(),
+                new RequestIntegrityCheckCursorCodec(new KeysetCursorCodec()),
+                List.of()
+        );
+        var page = PageRequest.of(4, 50, Sort.by(Sort.Order.desc("received"), Sort.Order.asc("number")));
+        cursor = resolver.encodeCursor(page, COLLECTION_URL);
+        selfLink = COLLECTION_URL + "&page=" + cursor + "&size=50&sort=received,desc&sort=number,asc";
+        previous = page.previous();
+        next = page.next();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void withoutRequestScope(Blackhole blackhole) {
+        RequestContextHolder.resetRequestAttributes();
+        blackhole.consume(resolver.resolveArgument(PAGEABLE_PARAMETER, null, request(), null));
+        encodeCursors(blackhole);
+    }
+
+    @Benchmark
+    public void withinRequest(Blackhole blackhole) {
+        // Every invocation is a new request, with no fingerprint yet
+        var request = request();
+        RequestContextHolder.setRequestAttributes(request);
+        blackhole.consume(resolver.resolveArgument(PAGEABLE_PARAMETER, null, request, null));
+        encodeCursors(blackhole);
+    }
+
+    private ServletWebRequest request() {
+        var request = new MockHttpServletRequest("GET", "/invoices");
+        request.setQueryString(selfLink.substring(selfLink.indexOf('?') + 1));
+        request.addParameter("customer.vat", "BE0123456789");
+        request.addParameter("paid", "false");
+        request.addParameter("page", cursor);
+        request.addParameter("size", "50");
+        request.addParameter("sort", "received,desc", "number,asc");
+        return new ServletWebRequest(request);
+    }
+
+    private void encodeCursors(Blackhole blackhole) {
+        blackhole.consume(resolver.encodeCursor(previous, selfLink));
+        blackhole.consume(resolver.encodeCursor(next, selfLink));
+    }
+
+    @SuppressWarnings("unused")
+    private static void collection(Pageable pageable) {
+    }
+}
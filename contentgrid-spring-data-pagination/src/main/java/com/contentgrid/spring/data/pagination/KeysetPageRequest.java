@@ -0,0 +1,190 @@
+package com.contentgrid.spring.data.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.AbstractPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link Pageable} that locates a page by the sort key values of a neighbouring item, instead of by skipping a number
+ * of items.
+ * <p>
+ * The page number is still tracked, so the offset-based bookkeeping in {@link ItemCountPageImpl} keeps working, but a
+ * repository that supports keyset pagination only uses the {@link #getSeek() seek position} to locate the page in the
+ * database. When there is no seek position, the page is located by its offset like a normal page request.
+ * <p>
+ * After a page has been fetched, the repository records the sort key values of the first and last item of the page,
+ * so {@link #next()} and {@link #previous()} can seek from there.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class KeysetPageRequest extends AbstractPageRequest {
+
+    @Getter
+    @NonNull
+    private final Sort sort;
+
+    @Nullable
+    private final Seek seek;
+
+    @Nullable
+    private final List<Object> firstKeyset;
+
+    @Nullable
+    private final List<Object> lastKeyset;
+
+    /**
+     * Whether the total number of items is counted when the page is fetched
+     */
+    @Getter
+    private final boolean itemCountRequested;
+
+    private KeysetPageRequest(int pageNumber, int pageSize, @NonNull Sort sort, @Nullable Seek seek,
+            @Nullable List<Object> firstKeyset, @Nullable List<Object> lastKeyset, boolean itemCountRequested) {
+        super(pageNumber, pageSize);
+        this.sort = sort;
+        this.seek = seek;
+        this.firstKeyset = firstKeyset;
+        this.lastKeyset = lastKeyset;
+        this.itemCountRequested = itemCountRequested;
+    }
+
+    /**
+     * Creates a page request without seek position; the page is located by its offset
+     *
+     * @param pageNumber zero-based page number
+     * @param pageSize the size of the page
+     * @param sort sorting of the resultset
+     */
+    public static KeysetPageRequest of(int pageNumber, int pageSize, @NonNull Sort sort) {
+        return new KeysetPageRequest(pageNumber, pageSize, sort, null, null, null, true);
+    }
+
+    /**
+     * Creates a page request that is located relative to the sort key values of an item
+     *
+     * @param pageNumber zero-based page number
+     * @param pageSize the size of the page
+     * @param sort sorting of the resultset
+     * @param seek position to seek to
+     */
+    public static KeysetPageRequest of(int pageNumber, int pageSize, @NonNull Sort sort, @NonNull Seek seek) {
+        return new KeysetPageRequest(pageNumber, pageSize, sort, seek, null, null, true);
+    }
+
+    /**
+     * @return The position that this page is located at, if it is located by keyset
+     */
+    public Optional<Seek> getSeek() {
+        return Optional.ofNullable(seek);
+    }
+
+    /**
+     * Records the sort key values of the first and last item of the fetched page
+     *
+     * @param firstKeyset sort key values of the first item on the page
+     * @param lastKeyset sort key values of the last item on the page
+     * @return A page request that can navigate to the next and previous page by keyset
+     */
+    public KeysetPageRequest withKeysetBounds(@NonNull List<?> firstKeyset, @NonNull List<?> lastKeyset) {
+        return new KeysetPageRequest(getPageNumber(), getPageSize(), sort, seek, copyOf(firstKeyset),
+                copyOf(lastKeyset), itemCountRequested);
+    }
+
+    /**
+     * Skips counting the total number of items for this page and the pages navigated to from it
+     * <p>
+     * Useful when walking through all pages, where the total number of items is not needed; the
+     * {@link ItemCountPage#getTotalItemCount() item count} of the fetched pages is then only derived from the items on
+     * the page.
+     *
+     * @return A page request that does not count items
+     */
+    public KeysetPageRequest withoutItemCount() {
+        return new KeysetPageRequest(getPageNumber(), getPageSize(), sort, seek, firstKeyset, lastKeyset, false);
+    }
+
+    @Override
+    public KeysetPageRequest next() {
+        if (lastKeyset == null) {
+            return new KeysetPageRequest(getPageNumber() + 1, getPageSize(), sort, null, null, null,
+                    itemCountRequested);
+        }
+        return new KeysetPageRequest(getPageNumber() + 1, getPageSize(), sort, Seek.after(lastKeyset), null, null,
+                itemCountRequested);
+    }
+
+    @Override
+    public KeysetPageRequest previous() {
+        if (getPageNumber() <= 1) {
+            // The first page can always be located directly, without seeking
+            return first();
+        }
+        if (firstKeyset == null) {
+            return new KeysetPageRequest(getPageNumber() - 1, getPageSize(), sort, null, null, null,
+                    itemCountRequested);
+        }
+        return new KeysetPageRequest(getPageNumber() - 1, getPageSize(), sort, Seek.before(firstKeyset), null, null,
+                itemCountRequested);
+    }
+
+    @Override
+    public KeysetPageRequest first() {
+        return new KeysetPageRequest(0, getPageSize(), sort, null, null, null, itemCountRequested);
+    }
+
+    @Override
+    public KeysetPageRequest withPage(int pageNumber) {
+        return new KeysetPageRequest(pageNumber, getPageSize(), sort, null, null, null, itemCountRequested);
+    }
+
+    @Override
+    public String toString() {
+        return "Keyset page request [number: %d, size %d, sort: %s, seek: %s]".formatted(getPageNumber(),
+                getPageSize(), sort, seek);
+    }
+
+    private static List<Object> copyOf(List<?> values) {
+        // List.copyOf() does not permit null values, but sort keys can be null
+        return Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * Position in the sorted resultset to seek to
+     *
+     * @param direction Whether the page is located after or before the item
+     * @param keyset Sort key values of the item, followed by the id of the item
+     */
+    public record Seek(
+            @NonNull
+            Direction direction,
+            @NonNull
+            List<Object> keyset
+    ) {
+
+        public static Seek after(@NonNull List<?> keyset) {
+            return new Seek(Direction.AFTER, copyOf(keyset));
+        }
+
+        public static Seek before(@NonNull List<?> keyset) {
+            return new Seek(Direction.BEFORE, copyOf(keyset));
+        }
+
+        public enum Direction {
+            /**
+             * The page starts directly after the item
+             */
+            AFTER,
+            /**
+             * The page ends directly before the item
+             */
+            BEFORE
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.contentgrid.spring.data.pagination;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * A query for a page of items did not complete within its statement budget, and was cancelled by the database; or an
+ * identical query that the request waited for did not complete within the budget
+ */
+@Getter
+public class StatementBudgetExceededException extends QueryTimeoutException {
+
+    private final Class<?> domainType;
+
+    private final Duration budget;
+
+    public StatementBudgetExceededException(Class<?> domainType, Duration budget, Throwable cause) {
+        super("Query for %s did not complete within %d ms".formatted(domainType.getSimpleName(), budget.toMillis()),
+                cause);
+        this.domainType = domainType;
+        this.budget = budget;
+    }
+}
@@ -33,6 +33,36 @@ public interface CursorCodec {
      */
     CursorContext encodeCursor(Pageable pageable, UriComponents uriComponents);
 
+    /**
+     * Decodes a cursor to a spring pageable
+     * <p>
+     * Codecs that bind cursors to the request can use the parts of the request that are already encoded in the
+     * fingerprint.
+     *
+     * @param context The cursor to decode
+     * @param fingerprint The fingerprint of the rest of the URI
+     * @return Spring pageable, decoded from the cursor
+     * @throws CursorDecodeException When a cursor can not be decoded
+     */
+    default Pageable decodeCursor(CursorContext context, RequestFingerprint fingerprint)
+            throws CursorDecodeException {
+        return decodeCursor(context, fingerprint.getUriComponents());
+    }
+
+    /**
+     * Encodes a spring pageable to a cursor
+     * <p>
+     * Codecs that bind cursors to the request can use the parts of the request that are already encoded in the
+     * fingerprint.
+     *
+     * @param pageable The spring pageable
+     * @param fingerprint The fingerprint of the rest of the URI
+     * @return The cursor that can be used in a request
+     */
+    default CursorContext encodeCursor(Pageable pageable, RequestFingerprint fingerprint) {
+        return encodeCursor(pageable, fingerprint.getUriComponents());
+    }
+
     /**
      * The cursor with its context.
      * <p>
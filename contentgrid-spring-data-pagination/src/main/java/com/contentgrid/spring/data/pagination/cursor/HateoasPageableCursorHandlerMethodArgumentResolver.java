@@ -21,8 +21,11 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 public class HateoasPageableCursorHandlerMethodArgumentResolver extends
@@ -39,6 +42,9 @@ public class HateoasPageableCursorHandlerMethodArgumentResolver extends
     @NonNull
     private final Iterable<PageableHandlerMethodArgumentResolverCustomizer> customizers;
 
+    private static final String FINGERPRINT_ATTRIBUTE =
+            HateoasPageableCursorHandlerMethodArgumentResolver.class.getName() + ".FINGERPRINT";
+
     private Pageable fallbackPageable = PageRequest.of(0, 20);
 
     public HateoasPageableCursorHandlerMethodArgumentResolver(
@@ -77,8 +83,12 @@ public class HateoasPageableCursorHandlerMethodArgumentResolver extends
         uriComponentsBuilder.replaceQueryParam(pageSizeParameterName);
         sortResolver.enhance(uriComponentsBuilder, methodParameter, Sort.unsorted());
 
+        // The cursors of the response are bound to the same request, so they are encoded with the same fingerprint
+        var fingerprint = RequestFingerprint.of(uriComponentsBuilder.build());
+        webRequest.setAttribute(FINGERPRINT_ATTRIBUTE, fingerprint, RequestAttributes.SCOPE_REQUEST);
+
         try {
-            return cursorCodec.decodeCursor(new CursorContext(cursor, pageSize, sort), uriComponentsBuilder.build());
+            return cursorCodec.decodeCursor(new CursorContext(cursor, pageSize, sort), fingerprint);
         } catch (CursorDecodeException e) {
             throw new InvalidPaginationException(cursorParameterName, cursor, e);
         }
@@ -123,12 +133,7 @@ public class HateoasPageableCursorHandlerMethodArgumentResolver extends
         builder.replaceQueryParam(pageSizePropertyName);
         sortResolver.enhance(builder, parameter, Sort.unsorted());
 
-        var context = cursorCodec.encodeCursor(pageable, builder.build());
-
-        if (context.cursor() == null) {
-            // Cursor must always be present, else the next_cursor/prev_cursor property will be absent from the page information
-            throw new IllegalStateException("CursorCoded#encodeCursor() must always be encode a cursor");
-        }
+        var context = encodeCursor(pageable, builder.build());
 
         if (context.pageSize() != getDefaultPageSize(parameter)) {
             builder.replaceQueryParam(pageSizePropertyName, context.pageSize());
@@ -140,11 +145,53 @@ public class HateoasPageableCursorHandlerMethodArgumentResolver extends
 
     @Override
     public String encodeCursor(Pageable pageable, String referenceUrl) {
-        var componentsBuilder = UriComponentsBuilder.fromHttpUrl(referenceUrl);
-        enhance(componentsBuilder, null, pageable);
+        if (pageable.isUnpaged()) {
+            return UriComponentsBuilder.fromHttpUrl(referenceUrl).build().getQueryParams()
+                    .getFirst(getParameterNameToUse(getPageParameterName(), null));
+        }
+
+        return encodeCursor(pageable, parseReferenceUrl(referenceUrl)).cursor();
+    }
+
+    private CursorContext encodeCursor(Pageable pageable, UriComponents uriComponents) {
+        var context = cursorCodec.encodeCursor(pageable, fingerprint(uriComponents));
+
+        if (context.cursor() == null) {
+            // Cursor must always be present, else the next_cursor/prev_cursor property will be absent from the page information
+            throw new IllegalStateException("CursorCoded#encodeCursor() must always be encode a cursor");
+        }
+
+        return context;
+    }
+
+    /**
+     * Obtains the fingerprint for encoding cursors
+     * <p>
+     * Cursors for the collection of the current request (for the previous and the next page) reuse the fingerprint that
+     * was created when the cursor of the request was decoded; other URIs get a new fingerprint.
+     *
+     * @param uriComponents The URI to encode a cursor for, without cursor, page size and sort parameters
+     */
+    private static RequestFingerprint fingerprint(UriComponents uriComponents) {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(FINGERPRINT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof RequestFingerprint fingerprint
+                && fingerprint.matches(uriComponents)) {
+            return fingerprint;
+        }
+        return RequestFingerprint.of(uriComponents);
+    }
 
-        return componentsBuilder.build().getQueryParams()
-                .getFirst(getParameterNameToUse(getPageParameterName(), null));
+    /**
+     * Parses a reference URL, and removes the cursor, page size and sort parameters from it
+     */
+    private UriComponents parseReferenceUrl(String referenceUrl) {
+        var builder = UriComponentsBuilder.fromHttpUrl(referenceUrl);
+        builder.replaceQueryParam(getParameterNameToUse(getPageParameterName(), null));
+        builder.replaceQueryParam(getParameterNameToUse(getSizeParameterName(), null));
+        sortResolver.enhance(builder, null, Sort.unsorted());
+        return builder.build();
     }
 
     @Override
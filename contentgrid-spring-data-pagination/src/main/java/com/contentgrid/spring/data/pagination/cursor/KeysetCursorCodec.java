@@ -0,0 +1,132 @@
+package com.contentgrid.spring.data.pagination.cursor;
+
+import com.contentgrid.spring.data.pagination.KeysetPageRequest;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest.Seek;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest.Seek.Direction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+
+/**
+ * Keyset-based cursor: encodes the sort key values of the item next to the requested page in the cursor.
+ * <p>
+ * Decoded cursors are {@link KeysetPageRequest}s, which allow the repository to locate a page with a {@code WHERE}
+ * condition on the sort keys instead of skipping all items on earlier pages with an {@code OFFSET}. The cost of
+ * fetching a page stays the same regardless of how deep into the collection it is.
+ * <p>
+ * The cursor format is {@code <page>.<a|b>.<keyset>}, where the keyset is a base64url-encoded JSON array of sort key
+ * values. Plain numeric cursors as produced by {@link SimplePageBasedCursorCodec} are still accepted; they locate a
+ * page by its offset.
+ * <p>
+ * Sort key values are encoded as strings; the repository converts them back to the type of the sort expression.
+ */
+public class KeysetCursorCodec implements CursorCodec {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String SEPARATOR = ".";
+    private static final String AFTER_MARKER = "a";
+    private static final String BEFORE_MARKER = "b";
+
+    @Override
+    public Pageable decodeCursor(CursorContext context, UriComponents uriComponents) throws CursorDecodeException {
+        if (!StringUtils.hasText(context.cursor())) {
+            return KeysetPageRequest.of(0, context.pageSize(), context.sort());
+        }
+
+        var parts = StringUtils.tokenizeToStringArray(context.cursor(), SEPARATOR, false, false);
+        var pageNumber = decodePageNumber(parts[0]);
+
+        if (parts.length == 1) {
+            return KeysetPageRequest.of(pageNumber, context.pageSize(), context.sort());
+        }
+        if (parts.length != 3) {
+            throw new CursorDecodeException("is malformed");
+        }
+
+        var direction = switch (parts[1]) {
+            case AFTER_MARKER -> Direction.AFTER;
+            case BEFORE_MARKER -> Direction.BEFORE;
+            default -> throw new CursorDecodeException("has an invalid direction");
+        };
+
+        var keyset = decodeKeyset(parts[2]);
+
+        return KeysetPageRequest.of(pageNumber, context.pageSize(), context.sort(), new Seek(direction, keyset));
+    }
+
+    @Override
+    public CursorContext encodeCursor(Pageable pageable, UriComponents uriComponents) {
+        var cursor = Integer.toString(pageable.getPageNumber());
+
+        if (pageable instanceof KeysetPageRequest keysetPageRequest) {
+            cursor = keysetPageRequest.getSeek()
+                    .map(seek -> encodeSeek(keysetPageRequest.getPageNumber(), seek))
+                    .orElse(cursor);
+        }
+
+        return new CursorContext(cursor, pageable.getPageSize(), pageable.getSort());
+    }
+
+    private static int decodePageNumber(String value) throws CursorDecodeException {
+        try {
+            var pageNumber = Integer.parseInt(value);
+            if (pageNumber < 0) {
+                throw new CursorDecodeException("may not be negative");
+            }
+            return pageNumber;
+        } catch (NumberFormatException ex) {
+            throw new CursorDecodeException("must start with a number", ex);
+        }
+    }
+
+    private static List<Object> decodeKeyset(String value) throws CursorDecodeException {
+        try {
+            var json = Base64.getUrlDecoder().decode(value);
+            return objectMapper.readValue(json, new TypeReference<List<Object>>() {
+            });
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new CursorDecodeException("has an invalid keyset", ex);
+        }
+    }
+
+    private static String encodeSeek(int pageNumber, Seek seek) {
+        var direction = switch (seek.direction()) {
+            case AFTER -> AFTER_MARKER;
+            case BEFORE -> BEFORE_MARKER;
+        };
+
+        var values = seek.keyset().stream()
+                .map(KeysetCursorCodec::encodeValue)
+                .toList();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(values);
+        } catch (JsonProcessingException e) {
+            // Only strings and nulls are serialized, this can not fail
+            throw new IllegalStateException(e);
+        }
+
+        return String.join(SEPARATOR, Integer.toString(pageNumber), direction,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(json));
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        // java.time types, UUIDs and numbers all have a toString() that can be parsed back
+        return value.toString();
+    }
+
+}
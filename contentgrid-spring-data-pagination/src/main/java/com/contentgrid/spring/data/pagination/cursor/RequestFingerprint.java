@@ -0,0 +1,113 @@
+package com.contentgrid.spring.data.pagination.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriComponents;
+
+/**
+ * The parts of a request that a cursor is bound to, encoded once so they can be reused for every cursor of the request
+ * <p>
+ * A request decodes one cursor and encodes several (for the current, previous and next page), all for the same
+ * collection and filters, and usually with the same page size and sort. The
+ * {@link HateoasPageableCursorHandlerMethodArgumentResolver} creates the fingerprint once when it decodes the cursor of
+ * the request, and passes it to the {@link CursorCodec} for every cursor of the request.
+ */
+public final class RequestFingerprint {
+
+    /**
+     * The URI of the request, without cursor, page size and sort parameters
+     */
+    @Getter
+    private final UriComponents uriComponents;
+
+    /**
+     * UTF-8 encoded path of the request, null when there is no path
+     */
+    @Nullable
+    @Getter(AccessLevel.PACKAGE)
+    private final byte[] path;
+
+    /**
+     * UTF-8 encoded query of the request (without cursor, page size and sort), null when there is no query
+     */
+    @Nullable
+    @Getter(AccessLevel.PACKAGE)
+    private final byte[] query;
+
+    /**
+     * Page size and sort that were encoded last
+     */
+    @Nullable
+    private PageParameters pageParameters;
+
+    private RequestFingerprint(@NonNull UriComponents uriComponents) {
+        this.uriComponents = uriComponents;
+        this.path = encode(uriComponents.getPath());
+        this.query = encode(uriComponents.getQuery());
+    }
+
+    /**
+     * Creates the fingerprint for a request
+     *
+     * @param uriComponents The URI of the request, without cursor, page size and sort parameters
+     * @return The fingerprint of the request
+     */
+    public static RequestFingerprint of(@NonNull UriComponents uriComponents) {
+        return new RequestFingerprint(uriComponents);
+    }
+
+    /**
+     * @param uriComponents The URI of a request, without cursor, page size and sort parameters
+     * @return Whether cursors for the URI are bound to the same parts as cursors for this fingerprint
+     */
+    boolean matches(UriComponents uriComponents) {
+        return Objects.equals(this.uriComponents.getPath(), uriComponents.getPath())
+                && Objects.equals(this.uriComponents.getQuery(), uriComponents.getQuery());
+    }
+
+    /**
+     * @return The page size, encoded in base 36 and UTF-8
+     */
+    byte[] pageSize(int pageSize, Sort sort) {
+        return pageParameters(pageSize, sort).pageSize();
+    }
+
+    /**
+     * @return The string representation of the sort, UTF-8 encoded
+     */
+    byte[] sort(int pageSize, Sort sort) {
+        return pageParameters(pageSize, sort).sort();
+    }
+
+    private PageParameters pageParameters(int pageSize, Sort sort) {
+        var current = pageParameters;
+        // The previous and next page have the same sort instance as the current page, so comparing by identity first
+        // avoids comparing all orders
+        if (current != null && current.pageSizeValue() == pageSize
+                && (current.sortValue() == sort || current.sortValue().equals(sort))) {
+            return current;
+        }
+        current = new PageParameters(
+                pageSize,
+                sort,
+                Integer.toUnsignedString(pageSize, Character.MAX_RADIX).getBytes(StandardCharsets.UTF_8),
+                sort.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        pageParameters = current;
+        return current;
+    }
+
+    @Nullable
+    private static byte[] encode(@Nullable String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record PageParameters(int pageSizeValue, Sort sortValue, byte[] pageSize, byte[] sort) {
+
+    }
+}
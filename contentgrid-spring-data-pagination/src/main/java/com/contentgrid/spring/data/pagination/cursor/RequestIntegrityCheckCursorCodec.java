@@ -36,9 +36,19 @@ public class RequestIntegrityCheckCursorCodec implements CursorCodec {
      */
     private static final int CHECKSUM_SIZE = Long.toUnsignedString(0xFF_FF_FF_FFL, Character.MAX_RADIX).length();
 
+    // Do not copy this implementation to client code; cursor values may only be calculated by a ContentGrid API application
+    // This string is intentionally part of the checksum calculation so it can not be removed easily when copying this code.
+    private static final byte[] CHECKSUM_NOTICE =
+            "Do not use: you MUST NOT be calculating cursor values; use the cursor(s) provided by the API".getBytes(
+                    StandardCharsets.UTF_8);
+
     @Override
     public Pageable decodeCursor(CursorContext context, UriComponents uriComponents) throws CursorDecodeException {
+        return decodeCursor(context, RequestFingerprint.of(uriComponents));
+    }
 
+    @Override
+    public Pageable decodeCursor(CursorContext context, RequestFingerprint fingerprint) throws CursorDecodeException {
         return delegate.decodeCursor(context.mapCursor(new UnaryOperator<String>() {
             @Override
             @SneakyThrows(IntegrityCheckFailedException.class)
@@ -49,7 +59,7 @@ public class RequestIntegrityCheckCursorCodec implements CursorCodec {
                 var crc = cursor.substring(0, CHECKSUM_SIZE);
                 var realCursor = cursor.substring(CHECKSUM_SIZE);
 
-                var integrityCheck = integrityCheckValue(uriComponents, realCursor, context.pageSize(), context.sort());
+                var integrityCheck = integrityCheckValue(fingerprint, realCursor, context.pageSize(), context.sort());
 
                 if (!Objects.equals(crc, integrityCheck)) {
                     throw new IntegrityCheckFailedException("Cursor is not valid for this request");
@@ -57,14 +67,19 @@ public class RequestIntegrityCheckCursorCodec implements CursorCodec {
 
                 return realCursor;
             }
-        }), uriComponents);
+        }), fingerprint.getUriComponents());
     }
 
     @Override
     public CursorContext encodeCursor(Pageable pageable, UriComponents uriComponents) {
-        var context = delegate.encodeCursor(pageable, uriComponents);
+        return encodeCursor(pageable, RequestFingerprint.of(uriComponents));
+    }
+
+    @Override
+    public CursorContext encodeCursor(Pageable pageable, RequestFingerprint fingerprint) {
+        var context = delegate.encodeCursor(pageable, fingerprint.getUriComponents());
         return context.mapCursor(c -> {
-            var integrityCheck = integrityCheckValue(uriComponents, c, context.pageSize(), context.sort());
+            var integrityCheck = integrityCheckValue(fingerprint, c, context.pageSize(), context.sort());
             return integrityCheck + c;
         });
     }
@@ -75,32 +90,30 @@ public class RequestIntegrityCheckCursorCodec implements CursorCodec {
      * Changing any part of the calculation in this method will result in invalidation of all existing cursors generated
      * by older versions of this library. Invalidating existing cursors makes it impossible to perform a zero-downtime
      * deployment of a new version
+     * <p>
+     * The parts of the request are taken from its {@link RequestFingerprint}, so they are only encoded once per request.
      */
-    private static String integrityCheckValue(UriComponents uriComponents, String cursor, int pageSize, Sort sort) {
+    private static String integrityCheckValue(RequestFingerprint fingerprint, String cursor, int pageSize, Sort sort) {
         var crc = new CRC32C();
 
-        var path = uriComponents.getPath();
+        var path = fingerprint.getPath();
         if (path != null) {
-            crc.update(path.getBytes(StandardCharsets.UTF_8));
+            crc.update(path);
         }
         crc.update('?');
 
-        var query = uriComponents.getQuery();
+        var query = fingerprint.getQuery();
         if (query != null) {
-            crc.update(query.getBytes(StandardCharsets.UTF_8));
+            crc.update(query);
         }
         crc.update(0);
         crc.update(cursor.getBytes(StandardCharsets.UTF_8));
         crc.update(1);
-        crc.update(Integer.toUnsignedString(pageSize, Character.MAX_RADIX).getBytes(StandardCharsets.UTF_8));
+        crc.update(fingerprint.pageSize(pageSize, sort));
         crc.update(2);
-        crc.update(sort.toString().getBytes(StandardCharsets.UTF_8));
+        crc.update(fingerprint.sort(pageSize, sort));
         crc.update(3);
-        // Do not copy this implementation to client code; cursor values may only be calculated by a ContentGrid API application
-        // This string is intentionally part of the checksum calculation so it can not be removed easily when copying this code.
-        crc.update(
-                "Do not use: you MUST NOT be calculating cursor values; use the cursor(s) provided by the API".getBytes(
-                        StandardCharsets.UTF_8));
+        crc.update(CHECKSUM_NOTICE);
 
         return padChecksumToFullSize(Long.toUnsignedString(crc.getValue(), Character.MAX_RADIX));
     }
@@ -0,0 +1,111 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts items concurrently with fetching the page, instead of after it.
+ * <p>
+ * The count runs on a thread of the executor, which is not bound to a transaction, so it uses its own database
+ * connection. Because it does not see changes made in the current transaction, counts are only run concurrently when
+ * there is no transaction active, or when the transaction is read-only. A concurrent count does not run in the
+ * transaction of a {@link StatementBudget}, so the budget does not apply to it; the repository counts sequentially when
+ * a budget applies.
+ * <p>
+ * The executor should limit the number of concurrent counts and reject additional counts, so counting can not take
+ * more than its share of the connection pool. Counts that are rejected, or that are still queued when the count is
+ * needed, run on the calling thread like they would without this counter.
+ */
+@RequiredArgsConstructor
+public class ConcurrentItemCounter {
+
+    @NonNull
+    private final Executor executor;
+
+    /**
+     * Counts without a separate thread; the count runs on the calling thread when it is needed
+     */
+    static PendingItemCount inline(Supplier<Optional<ItemCount>> counter) {
+        return new PendingItemCount(counter);
+    }
+
+    /**
+     * Starts counting in the background
+     *
+     * @param counter performs the count
+     * @return The count that is being performed
+     */
+    PendingItemCount start(Supplier<Optional<ItemCount>> counter) {
+        var pendingItemCount = new PendingItemCount(counter);
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return pendingItemCount;
+        }
+        try {
+            executor.execute(pendingItemCount.task);
+        } catch (RejectedExecutionException e) {
+            // Too many concurrent counts already; count on the calling thread instead
+        }
+        return pendingItemCount;
+    }
+
+    /**
+     * A count that is possibly running in the background
+     */
+    static class PendingItemCount implements Supplier<Optional<ItemCount>> {
+
+        private final FutureTask<Optional<ItemCount>> task;
+
+        private PendingItemCount(Supplier<Optional<ItemCount>> counter) {
+            this.task = new FutureTask<>(counter::get);
+        }
+
+        /**
+         * Waits for the count to finish
+         * <p>
+         * When the count has not started yet, it runs on the calling thread, so it never waits for an executor thread
+         * to become available.
+         */
+        @Override
+        public Optional<ItemCount> get() {
+            // Does nothing if the task is already running or completed
+            task.run();
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        /**
+         * Cancels the count if it is no longer needed
+         * <p>
+         * A count that has not started yet will not be started; a running count will be interrupted
+         */
+        void cancel() {
+            task.cancel(true);
+        }
+
+        private static RuntimeException rethrow(@Nullable Throwable cause) {
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException("Counting items failed", cause);
+        }
+    }
+}
@@ -3,20 +3,37 @@ package com.contentgrid.spring.data.pagination.jpa;
 import static org.springframework.data.querydsl.QuerydslUtils.QUERY_DSL_PRESENT;
 
 import com.contentgrid.spring.data.pagination.jpa.strategy.JpaQuerydslItemCountStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.persistence.EntityManager;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.jpa.repository.support.CrudMethodMetadata;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
 import org.springframework.data.jpa.repository.support.QuerydslJpaPredicateExecutor;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 public class ContentGridPaginationJpaRepositoryFactory extends JpaRepositoryFactory {
 
     private final JpaQuerydslItemCountStrategy countingStrategy;
 
+    @Nullable
+    private ConcurrentItemCounter concurrentItemCounter;
+
+    @Nullable
+    private QueryCoalescer queryCoalescer;
+
+    @Nullable
+    private StatementBudget statementBudget;
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     /**
      * Creates a new {@link ContentGridPaginationJpaRepositoryFactory}.
      *
@@ -29,6 +46,45 @@ public class ContentGridPaginationJpaRepositoryFactory extends JpaRepositoryFact
         this.countingStrategy = countingStrategy;
     }
 
+    /**
+     * Configures the created repositories to count concurrently with fetching pages. Defaults to counting after
+     * fetching pages.
+     *
+     * @param concurrentItemCounter maybe {@literal null}
+     */
+    public void setConcurrentItemCounter(@Nullable ConcurrentItemCounter concurrentItemCounter) {
+        this.concurrentItemCounter = concurrentItemCounter;
+    }
+
+    /**
+     * Configures the created repositories to run identical page queries only once. Defaults to running every query.
+     *
+     * @param queryCoalescer maybe {@literal null}
+     */
+    public void setQueryCoalescer(@Nullable QueryCoalescer queryCoalescer) {
+        this.queryCoalescer = queryCoalescer;
+    }
+
+    /**
+     * Configures the created repositories to limit how long the queries for a page can take. Defaults to no limit.
+     *
+     * @param statementBudget maybe {@literal null}
+     */
+    public void setStatementBudget(@Nullable StatementBudget statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+
+    /**
+     * Configures the registry for metrics about the pages that are fetched from the created repositories. Defaults to
+     * the global registry.
+     *
+     * @param meterRegistry must not be {@literal null}
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        Assert.notNull(meterRegistry, "MeterRegistry must not be null");
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     protected RepositoryFragments getRepositoryFragments(RepositoryMetadata metadata, EntityManager entityManager,
             EntityPathResolver resolver, CrudMethodMetadata crudMethodMetadata) {
@@ -42,13 +98,8 @@ public class ContentGridPaginationJpaRepositoryFactory extends JpaRepositoryFact
                         "Cannot combine Querydsl and reactive repository support in a single interface");
             }
 
-            QuerydslJpaPredicateExecutor<?> querydslJpaPredicateExecutor = new ContentGridPaginationQuerydslJpaPredicateExecutor<>(
-                    getEntityInformation(metadata.getDomainType()),
-                    entityManager,
-                    resolver,
-                    crudMethodMetadata,
-                    countingStrategy
-            );
+            var querydslJpaPredicateExecutor = createPredicateExecutor(metadata,
+                    getEntityInformation(metadata.getDomainType()), entityManager, resolver, crudMethodMetadata);
 
             querydslJpaPredicateExecutor.setProjectionFactory(getProjectionFactory());
 
@@ -57,4 +108,31 @@ public class ContentGridPaginationJpaRepositoryFactory extends JpaRepositoryFact
 
         return RepositoryFragments.empty();
     }
+
+    private <T> QuerydslJpaPredicateExecutor<T> createPredicateExecutor(RepositoryMetadata metadata,
+            JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager, EntityPathResolver resolver,
+            CrudMethodMetadata crudMethodMetadata) {
+        return ContentGridPaginationQuerydslJpaPredicateExecutor.<T>builder()
+                .entityInformation(entityInformation)
+                .entityManager(entityManager)
+                .resolver(resolver)
+                .metadata(crudMethodMetadata)
+                .countingStrategy(countingStrategy)
+                .concurrentItemCounter(concurrentItemCounter)
+                .windowFunctionCount(findWindowFunctionCount(metadata))
+                .queryCoalescer(queryCoalescer)
+                .metrics(new PaginationMetrics(meterRegistry, metadata.getDomainType()))
+                .statementBudget(statementBudget)
+                .build();
+    }
+
+    @Nullable
+    private static WindowFunctionCount findWindowFunctionCount(RepositoryMetadata metadata) {
+        var windowFunctionCount = AnnotationUtils.findAnnotation(metadata.getRepositoryInterface(),
+                WindowFunctionCount.class);
+        if (windowFunctionCount == null) {
+            windowFunctionCount = AnnotationUtils.findAnnotation(metadata.getDomainType(), WindowFunctionCount.class);
+        }
+        return windowFunctionCount;
+    }
 }
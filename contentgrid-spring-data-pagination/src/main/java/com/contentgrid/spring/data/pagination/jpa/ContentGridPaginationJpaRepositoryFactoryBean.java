@@ -1,13 +1,14 @@
 package com.contentgrid.spring.data.pagination.jpa;
 
 import com.contentgrid.spring.data.pagination.jpa.strategy.JpaQuerydslItemCountStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.data.jpa.repository.query.JpaQueryMethodFactory;
-import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
@@ -33,6 +34,10 @@ public class ContentGridPaginationJpaRepositoryFactoryBean<T extends Repository<
     private EscapeCharacter escapeCharacter = EscapeCharacter.DEFAULT;
     private JpaQueryMethodFactory queryMethodFactory;
     private JpaQuerydslItemCountStrategy countingStrategy;
+    private ConcurrentItemCounter concurrentItemCounter;
+    private QueryCoalescer queryCoalescer;
+    private StatementBudget statementBudget;
+    private MeterRegistry meterRegistry;
 
     /**
      * Creates a new {@link ContentGridPaginationJpaRepositoryFactoryBean} for the given repository interface.
@@ -48,6 +53,26 @@ public class ContentGridPaginationJpaRepositoryFactoryBean<T extends Repository<
         this.countingStrategy = countingStrategy;
     }
 
+    @Autowired
+    public void setConcurrentItemCounter(ObjectProvider<ConcurrentItemCounter> concurrentItemCounter) {
+        this.concurrentItemCounter = concurrentItemCounter.getIfAvailable();
+    }
+
+    @Autowired
+    public void setQueryCoalescer(ObjectProvider<QueryCoalescer> queryCoalescer) {
+        this.queryCoalescer = queryCoalescer.getIfAvailable();
+    }
+
+    @Autowired
+    public void setStatementBudget(ObjectProvider<StatementBudget> statementBudget) {
+        this.statementBudget = statementBudget.getIfAvailable();
+    }
+
+    @Autowired
+    public void setMeterRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
     /**
      * The {@link EntityManager} to be used.
      *
@@ -80,11 +105,17 @@ public class ContentGridPaginationJpaRepositoryFactoryBean<T extends Repository<
     protected RepositoryFactorySupport doCreateRepositoryFactory() {
         Assert.state(entityManager != null, "EntityManager must not be null");
 
-        JpaRepositoryFactory jpaRepositoryFactory = new ContentGridPaginationJpaRepositoryFactory(entityManager,
-                countingStrategy);
+        var jpaRepositoryFactory = new ContentGridPaginationJpaRepositoryFactory(entityManager, countingStrategy);
+        jpaRepositoryFactory.setConcurrentItemCounter(concurrentItemCounter);
+        jpaRepositoryFactory.setQueryCoalescer(queryCoalescer);
+        jpaRepositoryFactory.setStatementBudget(statementBudget);
         jpaRepositoryFactory.setEntityPathResolver(entityPathResolver);
         jpaRepositoryFactory.setEscapeCharacter(escapeCharacter);
 
+        if (meterRegistry != null) {
+            jpaRepositoryFactory.setMeterRegistry(meterRegistry);
+        }
+
         if (queryMethodFactory != null) {
             jpaRepositoryFactory.setQueryMethodFactory(queryMethodFactory);
         }
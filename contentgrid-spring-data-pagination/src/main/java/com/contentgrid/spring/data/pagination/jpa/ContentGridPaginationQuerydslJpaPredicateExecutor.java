@@ -1,28 +1,108 @@
 package com.contentgrid.spring.data.pagination.jpa;
 
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.data.pagination.ItemCountPage;
 import com.contentgrid.spring.data.pagination.ItemCountPageImpl;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest.Seek.Direction;
+import com.contentgrid.spring.data.pagination.jpa.ConcurrentItemCounter.PendingItemCount;
+import com.contentgrid.spring.data.pagination.jpa.PaginationMetrics.ItemCountObservation;
 import com.contentgrid.spring.data.pagination.jpa.strategy.JpaQuerydslItemCountStrategy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.NullHandling;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.JPQLQuery;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.Builder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.CrudMethodMetadata;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.Querydsl;
 import org.springframework.data.jpa.repository.support.QuerydslJpaPredicateExecutor;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.data.querydsl.EntityPathResolver;
+import org.springframework.data.querydsl.QSort;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 public class ContentGridPaginationQuerydslJpaPredicateExecutor<T> extends QuerydslJpaPredicateExecutor<T> {
 
+    private static final int LAST_ITEM_COUNTS_SIZE = 1_000;
+
     private final EntityPath<T> path;
+    private final PathBuilder<T> builder;
     private final Querydsl querydsl;
+    private final EntityManager entityManager;
+    private final JpaEntityInformation<T, ?> entityInformation;
     private final JpaQuerydslItemCountStrategy countingStrategy;
 
+    /**
+     * Runs counts concurrently with fetching the page; null when counts run after fetching the page. Counts are not
+     * run concurrently when a statement budget applies.
+     */
+    @Nullable
+    private final ConcurrentItemCounter concurrentItemCounter;
+
+    /**
+     * Counts items in the page query; null when items are only counted by the counting strategy
+     */
+    @Nullable
+    private final WindowFunctionCount windowFunctionCount;
+
+    /**
+     * Runs identical page queries that are requested at the same time only once; null when every request runs its own
+     * queries
+     */
+    @Nullable
+    private final QueryCoalescer queryCoalescer;
+
+    private final PaginationMetrics metrics;
+
+    /**
+     * Limits how long the queries for a page can take; null when queries are not limited
+     */
+    @Nullable
+    private final StatementBudget statementBudget;
+
+    /**
+     * Most recent number of items that was determined for a page, per predicate; different filters on the same
+     * repository select very different numbers of items
+     * <p>
+     * Only kept when items are counted with a {@link #windowFunctionCount}.
+     */
+    private final Cache<Predicate, Long> lastItemCounts = Caffeine.newBuilder()
+            .maximumSize(LAST_ITEM_COUNTS_SIZE)
+            .build();
+
+    /**
+     * Unique key that is appended to the sort order for keyset pagination
+     * <p>
+     * This is null when the entity has a composite id, in which case keyset pagination is not used.
+     */
+    @Nullable
+    private final OrderSpecifier<?> idOrderSpecifier;
+
     /**
      * Creates a new {@link ContentGridPaginationQuerydslJpaPredicateExecutor} from the given domain class and {@link EntityManager} and uses
      * the given {@link EntityPathResolver} to translate the domain class into an {@link EntityPath}.
@@ -39,11 +119,65 @@ public class ContentGridPaginationQuerydslJpaPredicateExecutor<T> extends Queryd
             EntityPathResolver resolver,
             CrudMethodMetadata metadata,
             JpaQuerydslItemCountStrategy countingStrategy
+    ) {
+        this(entityInformation, entityManager, resolver, metadata, countingStrategy, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a new {@link ContentGridPaginationQuerydslJpaPredicateExecutor} from the given domain class and {@link EntityManager} and uses
+     * the given {@link EntityPathResolver} to translate the domain class into an {@link EntityPath}.
+     *
+     * @param entityInformation must not be {@literal null}.
+     * @param entityManager must not be {@literal null}.
+     * @param resolver must not be {@literal null}.
+     * @param metadata maybe {@literal null}.
+     * @param countingStrategy The counting strategy to use
+     * @param concurrentItemCounter Runs counts concurrently with fetching the page, maybe {@literal null}.
+     * @param windowFunctionCount Counts items in the page query, maybe {@literal null}.
+     * @param queryCoalescer Runs identical page queries only once, maybe {@literal null}.
+     * @param metrics Records metrics about fetched pages, maybe {@literal null}; metrics are then recorded in the
+     * global registry, tagged with the domain type.
+     * @param statementBudget Limits how long the queries for a page can take, maybe {@literal null}.
+     */
+    @Builder
+    private ContentGridPaginationQuerydslJpaPredicateExecutor(
+            JpaEntityInformation<T, ?> entityInformation,
+            EntityManager entityManager,
+            EntityPathResolver resolver,
+            CrudMethodMetadata metadata,
+            JpaQuerydslItemCountStrategy countingStrategy,
+            @Nullable ConcurrentItemCounter concurrentItemCounter,
+            @Nullable WindowFunctionCount windowFunctionCount,
+            @Nullable QueryCoalescer queryCoalescer,
+            @Nullable PaginationMetrics metrics,
+            @Nullable StatementBudget statementBudget
     ) {
         super(entityInformation, entityManager, resolver, metadata);
+        this.entityManager = entityManager;
+        this.entityInformation = entityInformation;
         this.path = resolver.createPath(entityInformation.getJavaType());
-        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(path.getType(), path.getMetadata()));
+        this.builder = new PathBuilder<>(path.getType(), path.getMetadata());
+        this.querydsl = new Querydsl(entityManager, builder);
         this.countingStrategy = countingStrategy;
+        this.concurrentItemCounter = concurrentItemCounter;
+        this.windowFunctionCount = windowFunctionCount;
+        this.queryCoalescer = queryCoalescer;
+        this.metrics = metrics != null ? metrics
+                : new PaginationMetrics(Metrics.globalRegistry, entityInformation.getJavaType());
+        this.statementBudget = statementBudget;
+        this.idOrderSpecifier = createIdOrderSpecifier(entityInformation, builder);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Nullable
+    private static OrderSpecifier<?> createIdOrderSpecifier(JpaEntityInformation<?, ?> entityInformation,
+            PathBuilder<?> builder) {
+        if (entityInformation.hasCompositeId() || entityInformation.getIdAttribute() == null) {
+            return null;
+        }
+        var idAttribute = entityInformation.getIdAttribute();
+        return new OrderSpecifier<>(Order.ASC,
+                builder.getComparable(idAttribute.getName(), (Class<Comparable>) idAttribute.getJavaType()));
     }
 
     @Override
@@ -55,7 +189,182 @@ public class ContentGridPaginationQuerydslJpaPredicateExecutor<T> extends Queryd
         // Counts there are automatically done based on size of resultset, without
         // an additional count query.
         if (pageable.isUnpaged()) {
-            return super.findAll(predicate, pageable);
+            return withinStatementBudget(() -> super.findAll(predicate, pageable));
+        }
+
+        var observation = new ItemCountObservation();
+        var page = metrics.timePageQuery(() -> {
+            if (queryCoalescer != null && idOrderSpecifier != null) {
+                // Waiting for an identical query is limited by the same budget as running the queries
+                var budget = statementBudget == null ? null
+                        : statementBudget.budgetFor(entityInformation.getJavaType()).orElse(null);
+                return queryCoalescer.coalesce(
+                        new QueryCoalescer.Query(entityInformation.getJavaType(), predicate, pageable, budget),
+                        () -> withinStatementBudget(() -> queryPage(predicate, pageable, observation)),
+                        resultPage -> toSharedPage(resultPage, observation),
+                        sharedPage -> withinStatementBudget(() -> loadSharedPage(predicate, sharedPage, observation))
+                );
+            }
+            return withinStatementBudget(() -> queryPage(predicate, pageable, observation));
+        });
+
+        if (page instanceof ItemCountPage<T> itemCountPage && isItemCountRequested(pageable)) {
+            if (windowFunctionCount != null) {
+                // Only used to decide whether to count items with a window function
+                lastItemCounts.put(predicate, itemCountPage.getTotalItemCount().count());
+            }
+            metrics.recordItemCount(observation);
+        }
+        return page;
+    }
+
+    private <R> R withinStatementBudget(Supplier<R> queries) {
+        if (statementBudget == null) {
+            return queries.get();
+        }
+        return statementBudget.apply(entityManager, entityInformation.getJavaType(), queries);
+    }
+
+    private boolean hasStatementBudget() {
+        return statementBudget != null && statementBudget.budgetFor(entityInformation.getJavaType()).isPresent();
+    }
+
+    private Page<T> queryPage(Predicate predicate, Pageable pageable, ItemCountObservation observation) {
+        if (useWindowFunctionCount(predicate, pageable)) {
+            return findAllWithWindowFunctionCount(predicate, pageable, observation);
+        }
+
+        var itemCount = isItemCountRequested(pageable)
+                ? startCounting(predicate)
+                : ConcurrentItemCounter.inline(Optional::empty);
+        try {
+            return findPage(predicate, pageable, observation.observe(itemCount));
+        } finally {
+            // When the page itself determines the count, a concurrently running count is not needed anymore
+            itemCount.cancel();
+        }
+    }
+
+    /**
+     * The part of a page that is shared with identical queries: the ids of the items instead of the entities, which
+     * belong to the persistence context that loaded them, and how the items were counted
+     */
+    private record SharedPage(List<Object> ids, Pageable pageable, boolean hasNext, ItemCount itemCount,
+            ItemCountObservation itemCountObservation) {
+
+    }
+
+    private SharedPage toSharedPage(Page<T> page, ItemCountObservation observation) {
+        var ids = page.getContent().stream()
+                .<Object>map(entityInformation::getId)
+                .toList();
+        var itemCount = page instanceof ItemCountPage<T> itemCountPage
+                ? itemCountPage.getTotalItemCount()
+                : ItemCount.exact(page.getTotalElements());
+        // The item count is determined when the page is created, so the observation is complete
+        return new SharedPage(ids, page.getPageable(), page.hasNext(), itemCount, observation.copy());
+    }
+
+    /**
+     * Loads the items of a page that was queried by an identical query
+     * <p>
+     * Items are loaded by their ids, and the predicate is applied again, so only items that would have been selected by
+     * this query are returned.
+     */
+    private Page<T> loadSharedPage(Predicate predicate, SharedPage sharedPage, ItemCountObservation observation) {
+        List<T> results = List.of();
+        if (!sharedPage.ids().isEmpty()) {
+            var idPath = Expressions.path(Object.class, builder, entityInformation.getRequiredIdAttribute().getName());
+            var entitiesById = createQuery(predicate, idPath.in(sharedPage.ids()))
+                    .select(path)
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(entityInformation::getId, Function.identity(),
+                            (first, second) -> first));
+            // Preserve the order of the page; items that were removed in the meantime are left out
+            results = sharedPage.ids().stream()
+                    .map(entitiesById::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+
+        var itemCount = sharedPage.itemCount();
+        var page = new ItemCountPageImpl<>(results, sharedPage.pageable(), sharedPage.hasNext(),
+                () -> Optional.of(itemCount));
+        // Nothing was counted for this page; it has the item count of the query that was executed
+        observation.recordSameAs(sharedPage.itemCountObservation());
+        return page;
+    }
+
+    private static boolean isItemCountRequested(Pageable pageable) {
+        return !(pageable instanceof KeysetPageRequest keysetPageRequest) || keysetPageRequest.isItemCountRequested();
+    }
+
+    private boolean useWindowFunctionCount(Predicate predicate, Pageable pageable) {
+        if (windowFunctionCount == null) {
+            return false;
+        }
+        var lastItemCount = lastItemCounts.getIfPresent(predicate);
+        if (lastItemCount != null && lastItemCount > windowFunctionCount.maximumItems()) {
+            return false;
+        }
+        // Keyset pages are counted separately: when seeking, the window function would only count the items after the
+        // keyset
+        return !(pageable instanceof KeysetPageRequest && idOrderSpecifier != null);
+    }
+
+    /**
+     * Fetches a page, and counts all items in the same query with a window function
+     */
+    private Page<T> findAllWithWindowFunctionCount(Predicate predicate, Pageable pageable,
+            ItemCountObservation observation) {
+        var countExpression = Expressions.numberTemplate(Long.class, "count(*) over ()");
+
+        JPQLQuery<Tuple> query = querydsl.applyPagination(pageable,
+                createQuery(predicate).select(path, countExpression));
+
+        // Limit one more than the page size, so we can determine if there is a next page
+        query.limit(pageable.getPageSize() + 1);
+        var queryResult = query.fetch();
+
+        boolean hasNext = queryResult.size() > pageable.getPageSize();
+        var rows = hasNext ? queryResult.subList(0, pageable.getPageSize()) : queryResult;
+        var results = rows.stream()
+                .map(row -> row.get(path))
+                .toList();
+
+        if (queryResult.isEmpty()) {
+            // No rows to read the count from; the page is beyond the last item
+            return new ItemCountPageImpl<>(results, pageable, false, observation.observe(counter(predicate)));
+        }
+
+        var count = queryResult.get(0).get(countExpression);
+        return new ItemCountPageImpl<>(results, pageable, hasNext,
+                observation.observe(() -> Optional.ofNullable(count).map(ItemCount::exact)));
+    }
+
+    private Supplier<Optional<ItemCount>> counter(Predicate predicate) {
+        // createQuery() reads the lock mode and query hints of the repository method, which are only bound to the
+        // calling thread. The query is created here, and every count works on a copy of it, so it can run on another
+        // thread.
+        var query = createQuery(predicate);
+        return () -> countingStrategy.countQuery(() -> query.clone().select(path));
+    }
+
+    private PendingItemCount startCounting(Predicate predicate) {
+        if (concurrentItemCounter == null || hasStatementBudget()) {
+            // A concurrent count runs outside the transaction of the statement budget, so the budget would not apply
+            return ConcurrentItemCounter.inline(counter(predicate));
+        }
+        return concurrentItemCounter.start(counter(predicate));
+    }
+
+    private Page<T> findPage(Predicate predicate, Pageable pageable, Supplier<Optional<ItemCount>> itemCount) {
+        if (pageable instanceof KeysetPageRequest keysetPageRequest && idOrderSpecifier != null) {
+            var keysetOrderSpecifiers = toKeysetOrderSpecifiers(keysetPageRequest.getSort());
+            if (keysetOrderSpecifiers.isPresent()) {
+                return findAllByKeyset(predicate, keysetPageRequest, keysetOrderSpecifiers.get(), itemCount);
+            }
         }
 
         JPQLQuery<T> query = querydsl.applyPagination(pageable, createQuery(predicate).select(path));
@@ -74,11 +383,146 @@ public class ContentGridPaginationQuerydslJpaPredicateExecutor<T> extends Queryd
             results = queryResult;
         }
 
-        return new ItemCountPageImpl<>(
-                results,
-                pageable,
-                hasNext,
-                () -> countingStrategy.countQuery(() -> createQuery(predicate).select(path))
+        return new ItemCountPageImpl<>(results, pageable, hasNext, itemCount);
+    }
+
+    /**
+     * Fetches a page by seeking to the sort key values of a neighbouring item, instead of skipping over all items on
+     * earlier pages.
+     * <p>
+     * The sort key values of every item are selected together with the entity, so the next and previous page can be
+     * located from the first and last item on this page.
+     */
+    private Page<T> findAllByKeyset(Predicate predicate, KeysetPageRequest pageable,
+            List<OrderSpecifier<?>> orderSpecifiers, Supplier<Optional<ItemCount>> itemCount) {
+        var reversedOrderSpecifiers = KeysetPredicates.reverse(orderSpecifiers);
+        var seek = pageable.getSeek();
+        // Seeking backwards is seeking forwards in the reversed order
+        var seekPredicate = seek.flatMap(s -> KeysetPredicates.after(
+                s.direction() == Direction.BEFORE ? reversedOrderSpecifiers : orderSpecifiers,
+                s.keyset()
+        ));
+        var backwards = seekPredicate.isPresent() && seek.get().direction() == Direction.BEFORE;
+        var queryOrder = backwards ? reversedOrderSpecifiers : orderSpecifiers;
+
+        var selection = new ArrayList<Expression<?>>(orderSpecifiers.size() + 1);
+        selection.add(path);
+        orderSpecifiers.forEach(orderSpecifier -> selection.add(orderSpecifier.getTarget()));
+
+        var query = createQuery(predicate)
+                .select(selection.toArray(Expression[]::new))
+                .orderBy(queryOrder.toArray(OrderSpecifier[]::new))
+                // Limit one more than the page size, so we can determine if there is a next page
+                .limit(pageable.getPageSize() + 1);
+
+        if (seekPredicate.isPresent()) {
+            query.where(seekPredicate.get());
+        } else {
+            // No (valid) keyset to seek to, fall back to locating the page by its offset
+            query.offset(pageable.getOffset());
+        }
+
+        List<Tuple> queryResult = query.fetch();
+        boolean hasMore = queryResult.size() > pageable.getPageSize();
+        List<Tuple> rows = hasMore ? queryResult.subList(0, pageable.getPageSize()) : queryResult;
+
+        boolean hasNext = hasMore;
+        if (backwards) {
+            if (!hasMore) {
+                // Items before this page have been removed since the cursor was created;
+                // this is now the first page, and it has to be fetched from the start
+                return findPage(predicate, pageable.first(), itemCount);
+            }
+            rows = new ArrayList<>(rows);
+            Collections.reverse(rows);
+            // We came from the page after this one, so it exists
+            hasNext = true;
+        }
+
+        var results = rows.stream()
+                .map(row -> row.get(path))
+                .toList();
+
+        var resultPageable = rows.isEmpty() ? pageable : pageable.withKeysetBounds(
+                extractKeyset(rows.get(0), orderSpecifiers),
+                extractKeyset(rows.get(rows.size() - 1), orderSpecifiers)
         );
+
+        return new ItemCountPageImpl<>(results, resultPageable, hasNext, itemCount);
+    }
+
+    private static List<Object> extractKeyset(Tuple row, List<OrderSpecifier<?>> orderSpecifiers) {
+        var keyset = new ArrayList<>(orderSpecifiers.size());
+        for (int i = 0; i < orderSpecifiers.size(); i++) {
+            // Index 0 is the entity itself
+            keyset.add(row.get(i + 1, Object.class));
+        }
+        return keyset;
+    }
+
+    /**
+     * Converts the sort to a list of QueryDSL order specifiers that ends with a unique key
+     *
+     * @return The order specifiers, or empty if the sort can not be used for keyset pagination
+     */
+    private Optional<List<OrderSpecifier<?>>> toKeysetOrderSpecifiers(Sort sort) {
+        var orderSpecifiers = new ArrayList<OrderSpecifier<?>>();
+
+        if (sort instanceof QSort qSort) {
+            orderSpecifiers.addAll(qSort.getOrderSpecifiers());
+        } else {
+            for (var order : sort) {
+                if (order.isIgnoreCase()) {
+                    // Can not express this with a plain path; let the default sorting deal with it
+                    return Optional.empty();
+                }
+                orderSpecifiers.add(toOrderSpecifier(order));
+            }
+        }
+
+        var hasIdOrder = orderSpecifiers.stream()
+                .anyMatch(orderSpecifier -> Objects.equals(orderSpecifier.getTarget(), idOrderSpecifier.getTarget()));
+
+        if (!hasIdOrder) {
+            // Items with the same sort key values need a tiebreaker, or items would be skipped or repeated
+            orderSpecifiers.add(idOrderSpecifier);
+        }
+
+        return Optional.of(orderSpecifiers);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private OrderSpecifier<?> toOrderSpecifier(Sort.Order order) {
+        PathBuilder<?> propertyBuilder = builder;
+        var properties = order.getProperty().split("\\.");
+        for (int i = 0; i < properties.length - 1; i++) {
+            propertyBuilder = propertyBuilder.get(properties[i]);
+        }
+
+        var nullHandling = switch (order.getNullHandling()) {
+            case NATIVE -> NullHandling.Default;
+            case NULLS_FIRST -> NullHandling.NullsFirst;
+            case NULLS_LAST -> NullHandling.NullsLast;
+        };
+
+        return new OrderSpecifier(
+                order.isAscending() ? Order.ASC : Order.DESC,
+                propertyBuilder.getComparable(properties[properties.length - 1], (Class) resolvePropertyType(order)),
+                nullHandling
+        );
+    }
+
+    /**
+     * Resolves the type of the sorted property, so values decoded from a cursor can be converted back to it
+     */
+    private Class<?> resolvePropertyType(Sort.Order order) {
+        Class<?> type;
+        try {
+            type = PropertyPath.from(order.getProperty(), entityInformation.getJavaType()).getLeafProperty().getType();
+        } catch (PropertyReferenceException e) {
+            return Comparable.class;
+        }
+        type = ClassUtils.resolvePrimitiveIfNecessary(type);
+        return Comparable.class.isAssignableFrom(type) ? type : Comparable.class;
     }
 }
@@ -1,10 +1,17 @@
 package com.contentgrid.spring.data.pagination.jpa;
 
 import com.contentgrid.spring.data.pagination.jpa.strategy.AggregateItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.CachingItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.EstimateGatedItemCountStrategy;
 import com.contentgrid.spring.data.pagination.jpa.strategy.ExplainEstimateItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.ItemCountCache;
 import com.contentgrid.spring.data.pagination.jpa.strategy.JpaQuerydslItemCountStrategy;
 import com.contentgrid.spring.data.pagination.jpa.strategy.TimedDirectCountItemCountStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -15,8 +22,10 @@ public class ContentGridSpringDataPaginationJpaConfiguration {
 
     @Bean
     @Order(0)
-    TimedDirectCountItemCountStrategy timedDirectCountItemCountStrategy() {
-        return new TimedDirectCountItemCountStrategy();
+    TimedDirectCountItemCountStrategy timedDirectCountItemCountStrategy(
+            ObjectProvider<StatementBudget> statementBudget) {
+        // Page queries run in a transaction with a statement budget; a timed out count must not abort it
+        return new TimedDirectCountItemCountStrategy(Duration.ofSeconds(1), statementBudget.getIfAvailable() != null);
     }
 
     @Bean
@@ -27,7 +36,28 @@ public class ContentGridSpringDataPaginationJpaConfiguration {
 
     @Primary
     @Bean
-    JpaQuerydslItemCountStrategy jpaQuerydslItemCountStrategy(List<JpaQuerydslItemCountStrategy> strategies) {
-        return new AggregateItemCountStrategy(strategies);
+    JpaQuerydslItemCountStrategy jpaQuerydslItemCountStrategy(List<JpaQuerydslItemCountStrategy> strategies,
+            ObjectProvider<ItemCountCache> itemCountCache, ObjectProvider<MeterRegistry> meterRegistry) {
+        JpaQuerydslItemCountStrategy strategy = new AggregateItemCountStrategy(withoutWrappedStrategies(strategies),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        var cache = itemCountCache.getIfAvailable();
+        if (cache != null) {
+            strategy = new CachingItemCountStrategy(strategy, cache);
+        }
+        return strategy;
+    }
+
+    /**
+     * Leaves out the strategies that are used by an {@link EstimateGatedItemCountStrategy}; when it could not count,
+     * they already ran and would only repeat the same (possibly timed out) queries.
+     */
+    static List<JpaQuerydslItemCountStrategy> withoutWrappedStrategies(List<JpaQuerydslItemCountStrategy> strategies) {
+        var gatedStrategies = strategies.stream()
+                .filter(EstimateGatedItemCountStrategy.class::isInstance)
+                .map(EstimateGatedItemCountStrategy.class::cast)
+                .toList();
+        return strategies.stream()
+                .filter(strategy -> gatedStrategies.stream().noneMatch(gated -> gated.wraps(strategy)))
+                .toList();
     }
 }
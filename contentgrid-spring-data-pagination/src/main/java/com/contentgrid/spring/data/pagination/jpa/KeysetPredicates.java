@@ -0,0 +1,162 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.NullHandling;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import java.time.DateTimeException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Builds keyset ("seek") conditions for a list of {@link OrderSpecifier}s.
+ * <p>
+ * A keyset condition selects all rows that sort strictly after a certain row. For sort keys {@code k1, k2, ..., kn}
+ * with values {@code v1, v2, ..., vn} this is the expanded form of the row value comparison
+ * {@code (k1, k2, ..., kn) > (v1, v2, ..., vn)}:
+ * {@code k1 > v1 OR (k1 = v1 AND k2 > v2) OR ... OR (k1 = v1 AND ... AND kn > vn)}. The expanded form is used because
+ * it also works when sort directions are mixed and when sort keys are nullable.
+ */
+@UtilityClass
+class KeysetPredicates {
+
+    private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    /**
+     * Reverses the sort order, including the position of null values
+     */
+    static List<OrderSpecifier<?>> reverse(List<OrderSpecifier<?>> orderSpecifiers) {
+        return orderSpecifiers.stream()
+                .<OrderSpecifier<?>>map(KeysetPredicates::reversed)
+                .toList();
+    }
+
+    private static <T extends Comparable> OrderSpecifier<T> reversed(OrderSpecifier<T> orderSpecifier) {
+        var order = orderSpecifier.isAscending() ? Order.DESC : Order.ASC;
+        var nullHandling = switch (orderSpecifier.getNullHandling()) {
+            // Default null handling already flips position together with the direction
+            case Default -> NullHandling.Default;
+            case NullsFirst -> NullHandling.NullsLast;
+            case NullsLast -> NullHandling.NullsFirst;
+        };
+        return new OrderSpecifier<>(order, orderSpecifier.getTarget(), nullHandling);
+    }
+
+    /**
+     * Creates a predicate that matches all rows that sort strictly after the row with the given sort key values
+     *
+     * @param orderSpecifiers The sort order, must end with a unique key
+     * @param keyset Values of the sort keys of the row; values are converted to the type of their sort expression
+     * @return The predicate, or empty when the keyset does not match the sort order
+     */
+    static Optional<Predicate> after(List<OrderSpecifier<?>> orderSpecifiers, List<?> keyset) {
+        if (orderSpecifiers.size() != keyset.size()) {
+            return Optional.empty();
+        }
+
+        List<Object> values = new ArrayList<>(keyset.size());
+        try {
+            for (int i = 0; i < keyset.size(); i++) {
+                values.add(convert(keyset.get(i), orderSpecifiers.get(i).getTarget().getType()));
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+
+        for (int i = 0; i < orderSpecifiers.size(); i++) {
+            var orderSpecifier = orderSpecifiers.get(i);
+            var value = values.get(i);
+            var target = orderSpecifier.getTarget();
+
+            var after = sortsAfter(orderSpecifier, value);
+            if (after != null) {
+                var conditions = new ArrayList<>(equalPrefix);
+                conditions.add(after);
+                alternatives.add(ExpressionUtils.allOf(conditions));
+            }
+
+            if (value == null) {
+                equalPrefix.add(Expressions.predicate(Ops.IS_NULL, target));
+            } else {
+                equalPrefix.add(Expressions.predicate(Ops.EQ, target, Expressions.constant(value)));
+            }
+        }
+
+        return Optional.ofNullable(ExpressionUtils.anyOf(alternatives));
+    }
+
+    /**
+     * Creates a predicate that matches rows where the sort key sorts strictly after the value
+     *
+     * @return The predicate, or null when no row can sort after the value
+     */
+    @Nullable
+    private static Predicate sortsAfter(OrderSpecifier<?> orderSpecifier, @Nullable Object value) {
+        var target = orderSpecifier.getTarget();
+        var nullsLast = nullsSortLast(orderSpecifier);
+
+        if (value == null) {
+            return nullsLast ? null : Expressions.predicate(Ops.IS_NOT_NULL, target);
+        }
+
+        var comparison = Expressions.predicate(orderSpecifier.isAscending() ? Ops.GT : Ops.LT, target,
+                Expressions.constant(value));
+
+        if (nullsLast) {
+            return ExpressionUtils.or(comparison, Expressions.predicate(Ops.IS_NULL, target));
+        }
+        return comparison;
+    }
+
+    private static boolean nullsSortLast(OrderSpecifier<?> orderSpecifier) {
+        return switch (orderSpecifier.getNullHandling()) {
+            // PostgreSQL considers null larger than any value: nulls come last in ascending order, first in descending order
+            case Default -> orderSpecifier.isAscending();
+            case NullsFirst -> false;
+            case NullsLast -> true;
+        };
+    }
+
+    /**
+     * Converts a value decoded from a cursor back to the type of its sort expression
+     *
+     * @throws IllegalArgumentException when the value can not be converted
+     */
+    @Nullable
+    private static Object convert(@Nullable Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        try {
+            if (value instanceof String stringValue && TemporalAccessor.class.isAssignableFrom(type)) {
+                // All java.time types can be parsed back from their toString() representation
+                var parseMethod = ClassUtils.getStaticMethod(type, "parse", CharSequence.class);
+                if (parseMethod != null) {
+                    return ReflectionUtils.invokeMethod(parseMethod, null, stringValue);
+                }
+            }
+            if (conversionService.canConvert(value.getClass(), type)) {
+                return conversionService.convert(value, type);
+            }
+        } catch (ConversionException | DateTimeException e) {
+            throw new IllegalArgumentException("Can not convert '%s' to %s".formatted(value, type), e);
+        }
+        throw new IllegalArgumentException("Can not convert '%s' to %s".formatted(value, type));
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Metrics about the pages of a domain type that are fetched from its repository
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #PAGE_QUERY_METRIC}: time taken to fetch a page, including counting its items, tagged by
+ *     {@code domain_type} and {@code outcome} ({@code success} or {@code error})</li>
+ *     <li>{@value #ITEM_COUNT_METRIC}: number of pages, tagged by {@code domain_type} and by {@code result}, which is
+ *     {@code derived} when the number of items follows from the page itself, so no count was needed; otherwise it is
+ *     the quality of the count: {@code exact}, {@code estimated} or {@code unknown}. A page that reused the result of
+ *     an identical query is recorded with the result of that query.</li>
+ * </ul>
+ * Pages for which no item count is requested are timed, but not counted in {@value #ITEM_COUNT_METRIC}.
+ * <p>
+ * Metrics are only tagged by domain type, never by filters or their values, so the number of time series is bounded
+ * by the number of domain types.
+ */
+public class PaginationMetrics {
+
+    static final String PAGE_QUERY_METRIC = "contentgrid.pagination.page.query";
+    static final String ITEM_COUNT_METRIC = "contentgrid.pagination.item-count";
+
+    private final Timer pageQuerySuccess;
+    private final Timer pageQueryError;
+
+    private final Counter itemCountDerived;
+    private final Counter itemCountExact;
+    private final Counter itemCountEstimated;
+    private final Counter itemCountUnknown;
+
+    /**
+     * @param meterRegistry registry for the metrics
+     * @param domainType the domain type of the repository, used as tag for the metrics
+     */
+    public PaginationMetrics(@NonNull MeterRegistry meterRegistry, @NonNull Class<?> domainType) {
+        var domainTypeName = domainType.getSimpleName();
+        this.pageQuerySuccess = pageQueryTimer(meterRegistry, domainTypeName, "success");
+        this.pageQueryError = pageQueryTimer(meterRegistry, domainTypeName, "error");
+        this.itemCountDerived = itemCountCounter(meterRegistry, domainTypeName, "derived");
+        this.itemCountExact = itemCountCounter(meterRegistry, domainTypeName, "exact");
+        this.itemCountEstimated = itemCountCounter(meterRegistry, domainTypeName, "estimated");
+        this.itemCountUnknown = itemCountCounter(meterRegistry, domainTypeName, "unknown");
+    }
+
+    private static Timer pageQueryTimer(MeterRegistry meterRegistry, String domainType, String outcome) {
+        return Timer.builder(PAGE_QUERY_METRIC)
+                .description("Time taken to fetch a page and count its items")
+                .tag("domain_type", domainType)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter itemCountCounter(MeterRegistry meterRegistry, String domainType, String result) {
+        return Counter.builder(ITEM_COUNT_METRIC)
+                .description("Number of pages, by the way the number of items was determined")
+                .tag("domain_type", domainType)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches a page and records how long it took
+     */
+    <P> P timePageQuery(Supplier<P> pageQuery) {
+        var sample = Timer.start();
+        try {
+            var page = pageQuery.get();
+            sample.stop(pageQuerySuccess);
+            return page;
+        } catch (RuntimeException | Error e) {
+            sample.stop(pageQueryError);
+            throw e;
+        }
+    }
+
+    /**
+     * Records how the number of items of a page was determined
+     */
+    void recordItemCount(ItemCountObservation observation) {
+        if (!observation.counted) {
+            itemCountDerived.increment();
+        } else if (observation.result == null || observation.result.equals(ItemCount.unknown())) {
+            itemCountUnknown.increment();
+        } else if (observation.result.isEstimated()) {
+            itemCountEstimated.increment();
+        } else {
+            itemCountExact.increment();
+        }
+    }
+
+    /**
+     * Keeps track of whether the items of a page were counted, and with what result
+     * <p>
+     * A page only asks for its item count when it can not derive the number of items from its own content.
+     */
+    static class ItemCountObservation {
+
+        private boolean counted;
+
+        @Nullable
+        private ItemCount result;
+
+        /**
+         * @return A counter that performs the count and records it in this observation
+         */
+        Supplier<Optional<ItemCount>> observe(Supplier<Optional<ItemCount>> counter) {
+            return () -> {
+                var itemCount = counter.get();
+                counted = true;
+                result = itemCount.orElse(null);
+                return itemCount;
+            };
+        }
+
+        /**
+         * @return A copy of this observation, which can be shared with other threads
+         */
+        ItemCountObservation copy() {
+            var copy = new ItemCountObservation();
+            copy.counted = counted;
+            copy.result = result;
+            return copy;
+        }
+
+        /**
+         * Records the same result as another observation, for a page that reused the item count of that observation
+         */
+        void recordSameAs(ItemCountObservation other) {
+            counted = other.counted;
+            result = other.result;
+        }
+    }
+}
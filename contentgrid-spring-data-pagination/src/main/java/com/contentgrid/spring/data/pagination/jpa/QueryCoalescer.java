@@ -0,0 +1,161 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import com.contentgrid.spring.data.pagination.StatementBudgetExceededException;
+import com.querydsl.core.types.Predicate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs identical page queries only once when they are requested at the same time.
+ * <p>
+ * The first request for a query executes it; requests for the same query that arrive while it is running wait for it
+ * and reuse its result. Queries are identical when they are for the same domain type, with the same predicate and the
+ * same page (offset or keyset, page size and sort), and with the same statement budget. The predicate is the complete
+ * predicate that is sent to the database, including the restrictions that access control adds for the current user, so
+ * users are never served a result that was selected with other restrictions than their own.
+ * <p>
+ * A request waits for an identical query no longer than its statement budget, and fails with a
+ * {@link StatementBudgetExceededException} when the query does not complete in time. When the query itself exceeds the
+ * budget, the waiting requests fail the same way instead of running the query again. When the query fails for another
+ * reason, the waiting requests run it themselves, so the failure is reported for them as well.
+ * <p>
+ * Only what is needed to reproduce the result is shared; every waiting request still loads the entities on the page in
+ * its own persistence context. Entities are never shared between threads.
+ * <p>
+ * A query that runs in a transaction that is not read-only is never coalesced: the transaction might have made changes
+ * that are not visible to other requests.
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #QUERIES_METRIC}: number of queries, tagged by {@code domain_type} and by {@code result}, which is
+ *     {@code executed} for queries that were executed, and {@code coalesced} for queries that reused the result of a
+ *     query that was already running. The coalescing ratio is {@code coalesced / (executed + coalesced)}.</li>
+ *     <li>{@value #IN_FLIGHT_METRIC}: number of queries that are currently running and can be joined</li>
+ * </ul>
+ */
+public class QueryCoalescer {
+
+    static final String QUERIES_METRIC = "contentgrid.pagination.query.coalescing";
+    static final String IN_FLIGHT_METRIC = "contentgrid.pagination.query.coalescing.in-flight";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Query, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    public QueryCoalescer(@NonNull MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, Map::size)
+                .description("Number of running page queries that can be joined by identical queries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes the query, or reuses the result of an identical query that is already running
+     *
+     * @param query identifies the query
+     * @param execute executes the query
+     * @param share extracts the part of the result that is shared with identical queries
+     * @param reuse creates the result for an identical query from the shared part of a result
+     * @return The result of the query
+     * @param <R> Type of the result
+     * @param <S> Type of the shared part of the result; must be safe to use from other threads
+     */
+    @SuppressWarnings("unchecked")
+    <R, S> R coalesce(Query query, Supplier<R> execute, Function<R, S> share, Function<S, R> reuse) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return execute.get();
+        }
+
+        var pending = new CompletableFuture<Object>();
+        var running = inFlight.putIfAbsent(query, pending);
+
+        if (running != null) {
+            try {
+                var shared = (S) await(query, running);
+                coalescedCounter(query).increment();
+                return reuse.apply(shared);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException e) {
+                coalescedCounter(query).increment();
+                throw new StatementBudgetExceededException(query.domainType(), query.budget(), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof StatementBudgetExceededException exceeded) {
+                    // Running the query again would take as long, and exceed the budget as well
+                    coalescedCounter(query).increment();
+                    throw new StatementBudgetExceededException(query.domainType(), exceeded.getBudget(), exceeded);
+                }
+                // The query failed for the request that executed it; execute it again, so the failure is reported
+                // for this request as well
+            }
+            executedCounter(query).increment();
+            return execute.get();
+        }
+
+        executedCounter(query).increment();
+        try {
+            var result = execute.get();
+            pending.complete(share.apply(result));
+            return result;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(query, pending);
+        }
+    }
+
+    private static Object await(Query query, CompletableFuture<Object> running)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (query.budget() == null) {
+            return running.get();
+        }
+        return running.get(query.budget().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private Counter executedCounter(Query query) {
+        return executedCounters.computeIfAbsent(query.domainType(), domainType -> counter(domainType, "executed"));
+    }
+
+    private Counter coalescedCounter(Query query) {
+        return coalescedCounters.computeIfAbsent(query.domainType(), domainType -> counter(domainType, "coalesced"));
+    }
+
+    private Counter counter(Class<?> domainType, String result) {
+        return Counter.builder(QUERIES_METRIC)
+                .description("Number of page queries, by whether they were executed or reused a running query")
+                .tag("domain_type", domainType.getSimpleName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies a page query
+     *
+     * @param domainType the domain type that is queried
+     * @param predicate the complete predicate of the query
+     * @param pageable the requested page
+     * @param budget the statement budget of the query, or {@literal null} when the query is not limited
+     */
+    record Query(Class<?> domainType, Predicate predicate, Pageable pageable, @Nullable Duration budget) {
+
+    }
+}
@@ -0,0 +1,167 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import com.contentgrid.spring.data.pagination.StatementBudgetExceededException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.Builder;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Limits how long the queries for a page of items can take, so pathological filter combinations can not hold a
+ * database connection for a long time.
+ * <p>
+ * The budget is applied with the PostgreSQL {@code statement_timeout} setting, scoped to the current transaction like
+ * {@code SET LOCAL}, so it has millisecond precision. When no transaction is active, the page is fetched in a read-only
+ * transaction, which resets the setting when it ends. Within an existing transaction, the previous setting is restored
+ * after the page is fetched. The budget applies to every statement separately.
+ * <p>
+ * Budgets are configured per domain type, with a default for the other domain types. A request can lower its budget
+ * (but never raise it) with a request header that contains the budget in milliseconds.
+ * <p>
+ * A query that exceeds its budget is cancelled by the database, and results in a
+ * {@link StatementBudgetExceededException}.
+ */
+public class StatementBudget {
+
+    /**
+     * SQLState of a statement that was cancelled, by a statement timeout or on request
+     */
+    private static final String QUERY_CANCELED = "57014";
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Nullable
+    private final Duration defaultBudget;
+
+    private final Map<String, Duration> domainTypeBudgets;
+
+    @Nullable
+    private final String requestHeader;
+
+    /**
+     * @param transactionManager starts a read-only transaction when no transaction is active
+     * @param defaultBudget budget for domain types without their own budget, maybe {@literal null} for no budget
+     * @param domainTypeBudgets budgets by the simple or fully qualified name of the domain type, maybe {@literal null};
+     * a budget of zero removes the default budget for a domain type
+     * @param requestHeader name of the header that lowers the budget for a request, maybe {@literal null} to ignore
+     * the budget requested by a client
+     */
+    @Builder
+    StatementBudget(
+            @NonNull PlatformTransactionManager transactionManager,
+            @Nullable Duration defaultBudget,
+            @Nullable Map<String, Duration> domainTypeBudgets,
+            @Nullable String requestHeader
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.defaultBudget = defaultBudget;
+        this.domainTypeBudgets = domainTypeBudgets == null ? Map.of() : Map.copyOf(domainTypeBudgets);
+        this.requestHeader = requestHeader;
+    }
+
+    /**
+     * Runs queries for a page of items within the budget for the domain type
+     *
+     * @param entityManager the entity manager that runs the queries
+     * @param domainType the type of the items
+     * @param queries runs the queries
+     * @return The result of the queries
+     * @throws StatementBudgetExceededException when a query did not complete within the budget
+     */
+    <R> R apply(EntityManager entityManager, Class<?> domainType, Supplier<R> queries) {
+        var budget = budgetFor(domainType).orElse(null);
+        if (budget == null) {
+            return queries.get();
+        }
+
+        var statementTimeout = Math.max(1, budget.toMillis()) + "ms";
+        try {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                var previousTimeout = currentStatementTimeout(entityManager);
+                setStatementTimeout(entityManager, statementTimeout);
+                var result = queries.get();
+                // Not restored when a query failed: the database aborts the transaction in that case anyways
+                setStatementTimeout(entityManager, previousTimeout);
+                return result;
+            }
+            return transactionTemplate.execute(status -> {
+                setStatementTimeout(entityManager, statementTimeout);
+                return queries.get();
+            });
+        } catch (RuntimeException e) {
+            if (isQueryCanceled(e)) {
+                throw new StatementBudgetExceededException(domainType, budget, e);
+            }
+            throw e;
+        }
+    }
+
+    Optional<Duration> budgetFor(Class<?> domainType) {
+        var budget = domainTypeBudgets.get(domainType.getName());
+        if (budget == null) {
+            budget = domainTypeBudgets.getOrDefault(domainType.getSimpleName(), defaultBudget);
+        }
+        if (budget != null && !budget.isPositive()) {
+            budget = null;
+        }
+
+        var requestedBudget = requestedBudget().orElse(null);
+        if (requestedBudget != null && (budget == null || requestedBudget.compareTo(budget) < 0)) {
+            return Optional.of(requestedBudget);
+        }
+        return Optional.ofNullable(budget);
+    }
+
+    private Optional<Duration> requestedBudget() {
+        if (requestHeader == null
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return Optional.empty();
+        }
+        var value = attributes.getRequest().getHeader(requestHeader);
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            var millis = Long.parseLong(value.trim());
+            return millis > 0 ? Optional.of(Duration.ofMillis(millis)) : Optional.empty();
+        } catch (NumberFormatException e) {
+            // Not a valid budget; the configured budget applies
+            return Optional.empty();
+        }
+    }
+
+    private static String currentStatementTimeout(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select current_setting('statement_timeout')")
+                .setFlushMode(FlushModeType.COMMIT)
+                .getSingleResult();
+    }
+
+    private static void setStatementTimeout(EntityManager entityManager, String statementTimeout) {
+        // set_config with is_local = true is the same as SET LOCAL, but takes the value as a parameter
+        entityManager.createNativeQuery("select set_config('statement_timeout', :timeout, true)")
+                .setParameter("timeout", statementTimeout)
+                .setFlushMode(FlushModeType.COMMIT)
+                .getSingleResult();
+    }
+
+    private static boolean isQueryCanceled(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && QUERY_CANCELED.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Counts the items together with fetching the page, by selecting {@code count(*) OVER ()} in the page query.
+ * <p>
+ * The exact number of items is returned with the rows of the page, without a separate count query. Because the
+ * database has to find all matching rows to count them, this is only cheaper than a separate count for small and
+ * medium collections. Once a count above {@link #maximumItems()} is seen for a filter, pages with that filter are
+ * fetched without counting and the configured counting strategies are used instead, until a count at or below the
+ * maximum is seen again. Other filters on the same collection keep being counted with the page.
+ * <p>
+ * Can be placed on a repository interface, or on the domain type of the repository. Pages that are located by keyset
+ * are always counted separately.
+ */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface WindowFunctionCount {
+
+    /**
+     * @return Number of items above which items are counted separately
+     */
+    long maximumItems() default 10_000;
+}
@@ -0,0 +1,110 @@
+package com.contentgrid.spring.data.pagination.jpa.counter;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Keeps the {@link ItemCounters} up to date when entities are inserted or deleted
+ * <p>
+ * Changes are collected per session, and are added to the counters right before the transaction commits, after all
+ * changes have been flushed. The counters are updated in the same transaction as the entities, so rolled back changes
+ * are never counted, and each counter row is only locked for the duration of the commit. Counters are updated in a
+ * fixed order, so concurrent transactions can not deadlock on them.
+ */
+public class ItemCounterEventListener implements PostInsertEventListener, PostDeleteEventListener, InitializingBean {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Changes to the counters by sessions with a running transaction, by domain type
+     */
+    private final Map<SharedSessionContractImplementor, Map<String, Long>> pendingChanges = new ConcurrentHashMap<>();
+
+    public ItemCounterEventListener(@NonNull EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SessionFactoryImpl sessionFactory = entityManagerFactory.unwrap(SessionFactoryImpl.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.getEventListenerGroup(EventType.POST_INSERT).appendListener(this);
+        registry.getEventListenerGroup(EventType.POST_DELETE).appendListener(this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        count(event.getSession(), event.getPersister(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        count(event.getSession(), event.getPersister(), -1);
+    }
+
+    private void count(EventSource session, EntityPersister persister, long change) {
+        if (!ItemCounters.isCounted(persister)) {
+            return;
+        }
+        var changes = pendingChanges.get(session);
+        if (changes == null) {
+            // A session is only used by one thread at a time, so its changes do not need to be thread-safe
+            changes = new HashMap<>();
+            pendingChanges.put(session, changes);
+            var actionQueue = session.getActionQueue();
+            actionQueue.registerProcess((BeforeTransactionCompletionProcess) this::writeChanges);
+            // Also runs after a rollback, when the changes were not written
+            actionQueue.registerProcess((AfterTransactionCompletionProcess) (success, completedSession) ->
+                    pendingChanges.remove(completedSession));
+        }
+        changes.merge(persister.getEntityName(), change, Long::sum);
+    }
+
+    private void writeChanges(SessionImplementor session) {
+        var changes = pendingChanges.remove(session);
+        if (changes == null) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (var statement = connection.prepareStatement(ItemCounters.ADD_TO_COUNTER)) {
+                var hasChanges = false;
+                // Sorted by domain type: transactions that lock the same counters always lock them in the same order
+                for (var entry : new TreeMap<>(changes).entrySet()) {
+                    if (entry.getValue() != 0) {
+                        statement.setLong(1, entry.getValue());
+                        statement.setString(2, entry.getKey());
+                        statement.addBatch();
+                        hasChanges = true;
+                    }
+                }
+                if (hasChanges) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.contentgrid.spring.data.pagination.jpa.counter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Periodically reconciles the {@link ItemCounters} of all counted domain types in the background
+ * <p>
+ * The first reconciliation starts right after the application has started, and creates the counters that do not exist
+ * yet. Every next reconciliation starts the configured interval after the previous one finished. When several
+ * applications share the database, a counter that is already being reconciled by one of them is skipped by the others.
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #DRIFT_METRIC}: absolute difference between a counter and the actual number of items, for every
+ *     reconciled counter, tagged by {@code domain_type}</li>
+ * </ul>
+ */
+@Slf4j
+public class ItemCounterReconciler implements SmartLifecycle {
+
+    static final String DRIFT_METRIC = "contentgrid.pagination.item-counter.drift";
+
+    private final ItemCounters itemCounters;
+    private final Duration interval;
+    private final MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param itemCounters the counters to reconcile
+     * @param interval time between the end of a reconciliation and the start of the next one
+     * @param meterRegistry registry for metrics about the drift of counters
+     */
+    public ItemCounterReconciler(@NonNull ItemCounters itemCounters, @NonNull Duration interval,
+            @NonNull MeterRegistry meterRegistry) {
+        this.itemCounters = itemCounters;
+        this.interval = interval;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reconciles the counters of all counted domain types
+     * <p>
+     * A counter that can not be reconciled does not prevent the others from being reconciled.
+     */
+    public void reconcileAll() {
+        for (var domainType : itemCounters.countedTypes()) {
+            try {
+                var reconciled = itemCounters.reconcile(domainType);
+                if (reconciled.isEmpty()) {
+                    log.debug("Item counter of {} is already being reconciled", domainType.getName());
+                    continue;
+                }
+                var drift = reconciled.getAsLong();
+                DistributionSummary.builder(DRIFT_METRIC)
+                        .description("Difference between an item counter and the actual number of items")
+                        .tag("domain_type", domainType.getSimpleName())
+                        .register(meterRegistry)
+                        .record(Math.abs(drift));
+                if (drift != 0) {
+                    log.info("Corrected item counter of {} by {}", domainType.getName(), -drift);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile item counter of {}", domainType.getName(), e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler == null) {
+            var threadFactory = new CustomizableThreadFactory("contentgrid-item-counter-");
+            threadFactory.setDaemon(true);
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            scheduler.scheduleWithFixedDelay(this::reconcileAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.contentgrid.spring.data.pagination.jpa.counter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import lombok.NonNull;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The number of items of every domain type, kept in a database table, so all items of a domain type can be counted
+ * exactly without counting the rows of its table.
+ * <p>
+ * Counters are incremented and decremented by the {@link ItemCounterEventListener}, in the same transaction that
+ * inserts or deletes the entities. Changes that bypass the persistence context (like bulk deletes or changes by other
+ * applications) are not counted; {@link #reconcile(Class)} corrects the drift that they cause. A counter only exists
+ * after it has been reconciled once.
+ * <p>
+ * Only entities that have their table to themselves are counted, so no entity inheritance. The table is created by a
+ * repeatable Flyway migration in {@value #MIGRATION_LOCATION}, which has to be added to the Flyway locations. Only
+ * PostgreSQL is supported.
+ */
+public class ItemCounters {
+
+    /**
+     * Flyway location of the migration that creates the table with the counters
+     */
+    public static final String MIGRATION_LOCATION = "classpath:db/contentgrid/pagination";
+
+    private static final String READ_COUNTER = """
+            SELECT item_count FROM contentgrid_item_counter WHERE domain_type = ?1
+            """;
+
+    private static final String CREATE_COUNTER = """
+            INSERT INTO contentgrid_item_counter (domain_type, item_count) VALUES (?1, 0)
+            ON CONFLICT (domain_type) DO NOTHING
+            """;
+
+    /**
+     * Only one reconciliation of a counter runs at a time, also across applications that share the database; waiting
+     * for the lock is pointless, the running reconciliation corrects the counter already
+     */
+    private static final String TRY_LOCK_RECONCILIATION = """
+            SELECT pg_try_advisory_xact_lock(hashtext('contentgrid_item_counter'), hashtext(?1))
+            """;
+
+    /**
+     * Adds to a counter; the first parameter is the change, the second one the domain type
+     */
+    static final String ADD_TO_COUNTER = """
+            UPDATE contentgrid_item_counter SET item_count = item_count + ? WHERE domain_type = ?
+            """;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+
+    /**
+     * @param entityManagerFactory factory for the entity manager that reads and reconciles counters
+     * @param transactionManager manages the transactions in which counters are reconciled
+     */
+    public ItemCounters(@NonNull EntityManagerFactory entityManagerFactory,
+            @NonNull PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * @return The number of items of the domain type, or empty when the domain type is not counted, or its counter has
+     * not been reconciled yet
+     */
+    public OptionalLong get(Class<?> domainType) {
+        var persister = countedPersister(domainType);
+        if (persister == null) {
+            return OptionalLong.empty();
+        }
+        var result = entityManager.createNativeQuery(READ_COUNTER)
+                .setParameter(1, persister.getEntityName())
+                .getResultList();
+        if (result.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(((Number) result.get(0)).longValue());
+    }
+
+    /**
+     * @return All domain types that are counted
+     */
+    public List<Class<?>> countedTypes() {
+        var domainTypes = new ArrayList<Class<?>>();
+        sessionFactory().getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (isCounted(persister) && persister.getMappedClass() != null) {
+                domainTypes.add(persister.getMappedClass());
+            }
+        });
+        return domainTypes;
+    }
+
+    /**
+     * Corrects the counter of a domain type by counting the items
+     * <p>
+     * The items and the counter are read from the same snapshot of the database, without locking the counter.
+     * Transactions that insert or delete items change the items and the counter together, so they are either both
+     * visible in the snapshot or both not; the difference between them is the drift. The drift is then subtracted from
+     * the counter in a short transaction, which keeps all changes that were counted since the snapshot. Inserts and
+     * deletes of the domain type are never blocked while the items are being counted.
+     *
+     * @return The difference between the counter and the number of items, positive when the counter was too high; or
+     * empty when the counter is already being reconciled, possibly by another application
+     */
+    public OptionalLong reconcile(Class<?> domainType) {
+        var persister = countedPersister(domainType);
+        if (persister == null) {
+            throw new IllegalArgumentException("Domain type %s is not counted".formatted(domainType.getName()));
+        }
+        var key = persister.getEntityName();
+
+        // The counter has to be committed before the snapshot is taken, so its changes are in the snapshot as well
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(CREATE_COUNTER)
+                .setParameter(1, key)
+                .executeUpdate());
+
+        return transactionTemplate.execute(status -> {
+            var locked = (Boolean) entityManager.createNativeQuery(TRY_LOCK_RECONCILIATION)
+                    .setParameter(1, key)
+                    .getSingleResult();
+            if (!locked) {
+                return OptionalLong.empty();
+            }
+
+            long drift = snapshotTransactionTemplate.execute(snapshot -> {
+                var counter = ((Number) entityManager.createNativeQuery(READ_COUNTER)
+                        .setParameter(1, key)
+                        .getSingleResult()).longValue();
+
+                var criteriaBuilder = entityManager.getCriteriaBuilder();
+                var countQuery = criteriaBuilder.createQuery(Long.class);
+                countQuery.select(criteriaBuilder.count(countQuery.from(domainType)));
+                long itemCount = entityManager.createQuery(countQuery).getSingleResult();
+
+                return counter - itemCount;
+            });
+
+            if (drift != 0) {
+                entityManager.createNativeQuery(ADD_TO_COUNTER)
+                        .setParameter(1, -drift)
+                        .setParameter(2, key)
+                        .executeUpdate();
+            }
+            return OptionalLong.of(drift);
+        });
+    }
+
+    /**
+     * @return Whether items of the entity are counted: only entities that have their table to themselves are counted
+     */
+    static boolean isCounted(EntityPersister persister) {
+        return persister instanceof AbstractEntityPersister entityPersister
+                && !entityPersister.isInherited()
+                && !entityPersister.getEntityMetamodel().hasSubclasses();
+    }
+
+    @Nullable
+    private EntityPersister countedPersister(Class<?> domainType) {
+        var persister = sessionFactory().getMappingMetamodel().findEntityDescriptor(domainType);
+        return persister != null && isCounted(persister) ? persister : null;
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+}
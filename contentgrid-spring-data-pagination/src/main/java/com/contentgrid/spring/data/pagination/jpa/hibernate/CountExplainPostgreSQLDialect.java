@@ -8,12 +8,24 @@ public class CountExplainPostgreSQLDialect extends PostgreSQLDialect {
 
     public static final String COUNT_EXPLAIN_HINT = "count_explain_estimate";
 
+    /**
+     * Counts the rows returned by the query, instead of returning them.
+     * <p>
+     * Unlike a {@code count(*)} in the query itself, this takes the limit of the query into account.
+     */
+    public static final String COUNT_ROWS_HINT = "count_rows";
+
     @Override
     public String getQueryHintString(String query, List<String> hintList) {
         var hints = new ArrayList<>(hintList);
         var countExplain = hints.remove(COUNT_EXPLAIN_HINT);
+        var countRows = hints.remove(COUNT_ROWS_HINT);
         var queryWithHints = super.getQueryHintString(query, hints);
 
+        if (countRows) {
+            queryWithHints = "select count(*) from (" + queryWithHints + ") counted_rows";
+        }
+
         if (countExplain) {
             return "EXPLAIN (FORMAT JSON) " + queryWithHints;
         }
@@ -0,0 +1,52 @@
+package com.contentgrid.spring.data.pagination.jpa.hibernate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Reports how often Hibernate reuses the plan of a query from its query plan cache.
+ * <p>
+ * Queries that differ for every number of filter values do not share a plan, and push other plans out of the cache.
+ * A low hit rate means that queries are planned over and over again.
+ * <p>
+ * This cache is keyed by the JPQL query, which does not change with the number of values of an {@code IN} list: the
+ * list is a single parameter that is only expanded into separate SQL parameters afterward. The hit rate therefore does
+ * not show whether {@code IN} list padding or array parameters keep the SQL statements stable; use
+ * {@link StatementShapeMetrics} for that.
+ * <p>
+ * Hibernate only keeps these statistics when {@code hibernate.generate_statistics} is enabled; otherwise the counters
+ * stay at zero.
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #PLAN_CACHE_METRIC}: number of lookups in the query plan cache, tagged by {@code result}
+ *     ({@code hit} or {@code miss})</li>
+ * </ul>
+ */
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    static final String PLAN_CACHE_METRIC = "contentgrid.pagination.query-plan-cache.requests";
+
+    private final Statistics statistics;
+
+    public QueryPlanCacheMetrics(@NonNull EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder(PLAN_CACHE_METRIC, statistics, Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .description("The number of times a query plan was found in the query plan cache")
+                .register(registry);
+        FunctionCounter.builder(PLAN_CACHE_METRIC, statistics, Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .description("The number of times a query had to be planned because it was not in the query plan cache")
+                .register(registry);
+    }
+}
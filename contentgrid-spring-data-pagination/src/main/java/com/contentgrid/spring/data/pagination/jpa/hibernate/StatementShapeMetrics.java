@@ -0,0 +1,62 @@
+package com.contentgrid.spring.data.pagination.jpa.hibernate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Reports how often the SQL statements that Hibernate sends to the database were already sent before.
+ * <p>
+ * The database plans every distinct SQL statement separately. Filters with a different number of values produce a
+ * different statement when every value is a separate parameter, even though their query is the same for Hibernate. A
+ * low number of repeated statements means that the database plans statements over and over again.
+ * <p>
+ * This inspector has to be registered as {@code hibernate.session_factory.statement_inspector}. Only the most recent
+ * {@value #MAXIMUM_STATEMENTS} distinct statements are remembered; a statement that was forgotten counts as new again.
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #STATEMENTS_METRIC}: number of statements sent to the database, tagged by {@code result}
+ *     ({@code repeated} or {@code new})</li>
+ * </ul>
+ */
+public class StatementShapeMetrics implements StatementInspector, MeterBinder {
+
+    static final String STATEMENTS_METRIC = "contentgrid.pagination.query-plan-cache.statements";
+
+    static final int MAXIMUM_STATEMENTS = 10_000;
+
+    private final Cache<String, Boolean> statements = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_STATEMENTS)
+            .build();
+
+    private final LongAdder repeated = new LongAdder();
+    private final LongAdder distinct = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        if (statements.asMap().putIfAbsent(sql, Boolean.TRUE) == null) {
+            distinct.increment();
+        } else {
+            repeated.increment();
+        }
+        return sql;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder(STATEMENTS_METRIC, repeated, LongAdder::doubleValue)
+                .tag("result", "repeated")
+                .description("The number of SQL statements that were sent to the database before")
+                .register(registry);
+        FunctionCounter.builder(STATEMENTS_METRIC, distinct, LongAdder::doubleValue)
+                .tag("result", "new")
+                .description("The number of SQL statements that were not sent to the database before")
+                .register(registry);
+    }
+}
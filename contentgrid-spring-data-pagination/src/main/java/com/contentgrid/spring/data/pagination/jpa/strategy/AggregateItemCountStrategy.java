@@ -2,15 +2,58 @@ package com.contentgrid.spring.data.pagination.jpa.strategy;
 
 import com.contentgrid.spring.data.pagination.ItemCount;
 import com.querydsl.jpa.JPQLQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
-import lombok.RequiredArgsConstructor;
+import lombok.NonNull;
 
-@RequiredArgsConstructor
+/**
+ * Tries the delegate strategies in order, until one of them is able to count
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #STRATEGY_METRIC}: time taken by every delegate strategy, tagged by {@code strategy} and by
+ *     {@code result}: {@code counted} when the strategy returned a count, {@code skipped} when it did not, and
+ *     {@code failed} when it threw an exception. The success rate of a strategy is the share of {@code counted}.</li>
+ * </ul>
+ */
 public class AggregateItemCountStrategy implements JpaQuerydslItemCountStrategy {
 
-    private final List<JpaQuerydslItemCountStrategy> delegates;
+    static final String STRATEGY_METRIC = "contentgrid.pagination.item-count.strategy";
+
+    private final List<InstrumentedStrategy> delegates;
+
+    public AggregateItemCountStrategy(@NonNull List<JpaQuerydslItemCountStrategy> delegates) {
+        this(delegates, Metrics.globalRegistry);
+    }
+
+    /**
+     * @param delegates strategies to try, in order
+     * @param meterRegistry registry for metrics about the delegate strategies
+     */
+    public AggregateItemCountStrategy(@NonNull List<JpaQuerydslItemCountStrategy> delegates,
+            @NonNull MeterRegistry meterRegistry) {
+        this.delegates = delegates.stream()
+                .map(delegate -> new InstrumentedStrategy(
+                        delegate,
+                        strategyTimer(meterRegistry, delegate, "counted"),
+                        strategyTimer(meterRegistry, delegate, "skipped"),
+                        strategyTimer(meterRegistry, delegate, "failed")
+                ))
+                .toList();
+    }
+
+    private static Timer strategyTimer(MeterRegistry meterRegistry, JpaQuerydslItemCountStrategy strategy,
+            String result) {
+        return Timer.builder(STRATEGY_METRIC)
+                .description("Time taken by an item count strategy, by whether it was able to count")
+                .tag("strategy", strategy.getClass().getSimpleName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     @Override
     public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
@@ -23,4 +66,24 @@ public class AggregateItemCountStrategy implements JpaQuerydslItemCountStrategy
         return Optional.empty();
     }
 
+    private record InstrumentedStrategy(
+            JpaQuerydslItemCountStrategy strategy,
+            Timer counted,
+            Timer skipped,
+            Timer failed
+    ) {
+
+        Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+            var sample = Timer.start();
+            try {
+                var result = strategy.countQuery(jpqlQuery);
+                sample.stop(result.isPresent() ? counted : skipped);
+                return result;
+            } catch (RuntimeException | Error e) {
+                sample.stop(failed);
+                throw e;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,91 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.data.pagination.jpa.hibernate.CountExplainPostgreSQLDialect;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.spi.QueryImplementor;
+
+/**
+ * Counts items up to a maximum: {@code SELECT count(*) FROM (SELECT 1 ... LIMIT n)}.
+ * <p>
+ * The database stops scanning once the maximum is reached, so the cost of the count does not depend on the size of the
+ * table. When there are more items than the maximum, the count is an estimate that is the lower bound of the actual
+ * number of items (one more than the maximum).
+ * <p>
+ * A count that takes longer than a timeout (when only few items match a filter on a large table) is abandoned, in the
+ * same way as with {@link TimedDirectCountItemCountStrategy}.
+ * <p>
+ * Requires the {@link CountExplainPostgreSQLDialect}; no count is performed with other dialects.
+ */
+@Slf4j
+public class BoundedCountItemCountStrategy implements JpaQuerydslItemCountStrategy {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final long maximumCount;
+    private final QueryTimeout timeout;
+
+    /**
+     * @param maximumCount highest number of items to count exactly
+     */
+    public BoundedCountItemCountStrategy(long maximumCount) {
+        this(maximumCount, DEFAULT_TIMEOUT, false);
+    }
+
+    /**
+     * @param maximumCount highest number of items to count exactly
+     * @param timeout how long counting can take
+     * @param statementTimeout whether to apply the timeout with the PostgreSQL {@code statement_timeout} setting
+     * within transactions
+     */
+    public BoundedCountItemCountStrategy(long maximumCount, @NonNull Duration timeout, boolean statementTimeout) {
+        if (maximumCount < 0 || maximumCount >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maximumCount must be between 0 and %d".formatted(Integer.MAX_VALUE - 1));
+        }
+        this.maximumCount = maximumCount;
+        this.timeout = new QueryTimeout(timeout, statementTimeout);
+    }
+
+    @Override
+    public Optional<ItemCount> countQuery(@NonNull Supplier<JPQLQuery<?>> jpqlQuerySupplier) {
+        var jpqlQuery = jpqlQuerySupplier.get();
+        if (jpqlQuery instanceof JPAQuery<?> jpaQuery) {
+            // Select a value that can not be a count, so we can detect when rows are returned instead of counted
+            var query = jpaQuery.select(Expressions.numberTemplate(Long.class, "-1L"))
+                    // Fetch one more than the maximum, so we know whether the maximum is exceeded
+                    .limit(maximumCount + 1)
+                    .createQuery()
+                    .unwrap(QueryImplementor.class);
+            query.addQueryHint(CountExplainPostgreSQLDialect.COUNT_ROWS_HINT);
+
+            // No count when the query timed out
+            return timeout.execute(query, QueryImplementor::getResultList)
+                    .flatMap(this::toItemCount);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ItemCount> toItemCount(List<?> results) {
+        if (results.isEmpty()) {
+            // Nothing is counted when there are no rows
+            return Optional.of(ItemCount.exact(0));
+        }
+        long count = ((Number) results.get(0)).longValue();
+        if (count < 0) {
+            log.warn("Count explain hibernate dialect is not installed. Can not perform a bounded count");
+            return Optional.empty();
+        }
+        if (count > maximumCount) {
+            return Optional.of(ItemCount.estimated(count));
+        }
+        return Optional.of(ItemCount.exact(count));
+    }
+}
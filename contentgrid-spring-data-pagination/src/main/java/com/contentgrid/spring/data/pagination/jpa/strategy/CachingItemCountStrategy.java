@@ -0,0 +1,23 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.querydsl.jpa.JPQLQuery;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves counts from an {@link ItemCountCache}, only counting with the delegate strategy when the count is not cached
+ */
+@RequiredArgsConstructor
+public class CachingItemCountStrategy implements JpaQuerydslItemCountStrategy {
+
+    private final JpaQuerydslItemCountStrategy delegate;
+    private final ItemCountCache cache;
+
+    @Override
+    public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+        return cache.getOrCompute(jpqlQuery.get(), () -> delegate.countQuery(jpqlQuery));
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPQLQuery;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.lang.Nullable;
+
+/**
+ * The domain type and the conditions of the where-clause of a query that is counted
+ * <p>
+ * Conditions are the operands of the top-level conjunction of the where-clause, so the same filters combined in a
+ * different order result in the same set of conditions. The always-true condition that is used when there are no
+ * filters is not included.
+ *
+ * @param domainType The type of the entities that are counted
+ * @param conditions The conditions that the counted entities match
+ */
+record CountQueryConditions(
+        Class<?> domainType,
+        Set<Expression<?>> conditions
+) {
+
+    /**
+     * @return The domain type and conditions of the query, or null when the query is not a simple query over a single
+     * entity
+     */
+    @Nullable
+    static CountQueryConditions of(JPQLQuery<?> query) {
+        var metadata = query.getMetadata();
+        if (metadata.getJoins().size() != 1 || !metadata.getGroupBy().isEmpty() || metadata.getHaving() != null) {
+            // Only simple queries over a single entity are created for counting
+            return null;
+        }
+
+        var conditions = new HashSet<Expression<?>>();
+        collectConditions(metadata.getWhere(), conditions);
+
+        return new CountQueryConditions(metadata.getJoins().get(0).getTarget().getType(), Set.copyOf(conditions));
+    }
+
+    private static void collectConditions(@Nullable Expression<?> expression, Set<Expression<?>> conditions) {
+        if (expression == null) {
+            return;
+        }
+        var condition = ExpressionUtils.extract(expression);
+        if (condition instanceof Operation<?> operation && operation.getOperator() == Ops.AND) {
+            for (var arg : operation.getArgs()) {
+                collectConditions(arg, conditions);
+            }
+        } else if (!condition.equals(ExpressionUtils.extract(Expressions.TRUE))) {
+            conditions.add(condition);
+        }
+    }
+
+    /**
+     * @return Whether all entities of the domain type are counted
+     */
+    boolean isUnfiltered() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * @return The domain type and the types of all entities that are referenced by the conditions
+     */
+    Set<Class<?>> involvedTypes() {
+        var types = new HashSet<Class<?>>();
+        types.add(domainType);
+        for (var condition : conditions) {
+            condition.accept(EntityTypeCollector.INSTANCE, types);
+        }
+        return types;
+    }
+
+    /**
+     * @return The conditions without the values that are compared against; queries that only differ in the values
+     * that are filtered on have the same shape
+     */
+    Shape shape() {
+        var shapes = new HashSet<String>();
+        for (var condition : conditions) {
+            var builder = new StringBuilder();
+            condition.accept(ShapeWriter.INSTANCE, builder);
+            shapes.add(builder.toString());
+        }
+        return new Shape(domainType, Set.copyOf(shapes));
+    }
+
+    record Shape(Class<?> domainType, Set<String> conditions) {
+
+    }
+
+    /**
+     * Collects the types of all entities that are referenced by an expression
+     */
+    private enum EntityTypeCollector implements Visitor<Void, Set<Class<?>>> {
+        INSTANCE;
+
+        @Override
+        public Void visit(Constant<?> expr, Set<Class<?>> types) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Set<Class<?>> types) {
+            expr.getArgs().forEach(arg -> arg.accept(this, types));
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Set<Class<?>> types) {
+            expr.getArgs().forEach(arg -> arg.accept(this, types));
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Set<Class<?>> types) {
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Set<Class<?>> types) {
+            if (expr instanceof EntityPath<?>) {
+                types.add(expr.getType());
+            }
+            var parent = expr.getMetadata().getParent();
+            if (parent != null) {
+                parent.accept(this, types);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Set<Class<?>> types) {
+            var metadata = expr.getMetadata();
+            metadata.getJoins().forEach(join -> join.getTarget().accept(this, types));
+            if (metadata.getWhere() != null) {
+                metadata.getWhere().accept(this, types);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Set<Class<?>> types) {
+            for (var arg : expr.getArgs()) {
+                if (arg instanceof Expression<?> expression) {
+                    expression.accept(this, types);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes an expression with all values replaced by placeholders
+     */
+    private enum ShapeWriter implements Visitor<Void, StringBuilder> {
+        INSTANCE;
+
+        private static final String PLACEHOLDER = "?";
+
+        @Override
+        public Void visit(Constant<?> expr, StringBuilder builder) {
+            builder.append(PLACEHOLDER);
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, StringBuilder builder) {
+            builder.append(expr.getType().getName());
+            writeArgs(expr.getArgs(), builder);
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, StringBuilder builder) {
+            builder.append(expr.getOperator().name());
+            writeArgs(expr.getArgs(), builder);
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, StringBuilder builder) {
+            builder.append(PLACEHOLDER);
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, StringBuilder builder) {
+            builder.append(expr);
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, StringBuilder builder) {
+            var metadata = expr.getMetadata();
+            builder.append("subquery");
+            writeArgs(metadata.getJoins().stream().<Expression<?>>map(join -> join.getTarget()).toList(), builder);
+            if (metadata.getWhere() != null) {
+                builder.append(" where ");
+                metadata.getWhere().accept(this, builder);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, StringBuilder builder) {
+            builder.append(expr.getTemplate()).append('(');
+            var args = expr.getArgs();
+            for (int i = 0; i < args.size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                if (args.get(i) instanceof Expression<?> expression) {
+                    expression.accept(this, builder);
+                } else {
+                    builder.append(PLACEHOLDER);
+                }
+            }
+            builder.append(')');
+            return null;
+        }
+
+        private void writeArgs(Iterable<? extends Expression<?>> args, StringBuilder builder) {
+            builder.append('(');
+            var first = true;
+            for (var arg : args) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                arg.accept(this, builder);
+                first = false;
+            }
+            builder.append(')');
+        }
+    }
+}
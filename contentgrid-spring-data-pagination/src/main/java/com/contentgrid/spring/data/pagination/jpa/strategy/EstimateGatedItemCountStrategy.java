@@ -0,0 +1,145 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.data.pagination.jpa.strategy.CountQueryConditions.Shape;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.querydsl.jpa.JPQLQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.Builder;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Only counts exactly when an estimate shows that the count is small enough to be cheap.
+ * <p>
+ * The estimate is requested first. When it is above the threshold, it is returned as-is; otherwise an exact count is
+ * performed. When the exact count fails (typically because it times out), the estimate is returned instead, and the
+ * shape of the filter (the domain type and filter conditions without their values) is remembered for a while. Queries
+ * with the same shape skip the exact count and are only estimated.
+ * <p>
+ * When no estimate can be made, an exact count is always attempted.
+ * <p>
+ * When both strategies were not able to count, there is no point in trying them again: they should be left out of an
+ * {@link AggregateItemCountStrategy} that contains this strategy (see {@link #wraps(JpaQuerydslItemCountStrategy)}).
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@value #PATH_METRIC}: how often each path is taken, tagged by {@code path}</li>
+ *     <li>{@value #DRIFT_METRIC}: relative difference between the estimate and the exact count, when both are known</li>
+ * </ul>
+ */
+public class EstimateGatedItemCountStrategy implements JpaQuerydslItemCountStrategy {
+
+    static final String PATH_METRIC = "contentgrid.pagination.item-count.gated";
+    static final String DRIFT_METRIC = "contentgrid.pagination.item-count.estimate.drift";
+
+    private final JpaQuerydslItemCountStrategy estimateStrategy;
+    private final JpaQuerydslItemCountStrategy exactStrategy;
+    private final long exactCountThreshold;
+
+    /**
+     * Filter shapes for which an exact count failed recently
+     */
+    private final Cache<Shape, Boolean> slowShapes;
+
+    private final Counter estimatedAboveThreshold;
+    private final Counter estimatedKnownSlow;
+    private final Counter exact;
+    private final Counter exactFailed;
+    private final DistributionSummary drift;
+
+    /**
+     * @param estimateStrategy strategy that cheaply estimates the count
+     * @param exactStrategy strategy that counts exactly; should give up when counting takes too long
+     * @param exactCountThreshold highest estimate for which an exact count is performed
+     * @param slowShapeMemory how long an exact count is skipped for a filter shape after an exact count failed
+     * @param meterRegistry registry for metrics about the paths taken
+     * @param ticker time source for {@code slowShapeMemory}, maybe {@literal null}
+     */
+    @Builder
+    EstimateGatedItemCountStrategy(
+            @NonNull JpaQuerydslItemCountStrategy estimateStrategy,
+            @NonNull JpaQuerydslItemCountStrategy exactStrategy,
+            long exactCountThreshold,
+            @NonNull Duration slowShapeMemory,
+            @NonNull MeterRegistry meterRegistry,
+            @Nullable Ticker ticker
+    ) {
+        this.estimateStrategy = estimateStrategy;
+        this.exactStrategy = exactStrategy;
+        this.exactCountThreshold = exactCountThreshold;
+        this.slowShapes = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(slowShapeMemory)
+                .ticker(ticker == null ? Ticker.systemTicker() : ticker)
+                .build();
+
+        this.estimatedAboveThreshold = pathCounter(meterRegistry, "estimate-above-threshold");
+        this.estimatedKnownSlow = pathCounter(meterRegistry, "estimate-known-slow");
+        this.exact = pathCounter(meterRegistry, "exact");
+        this.exactFailed = pathCounter(meterRegistry, "exact-failed");
+        this.drift = DistributionSummary.builder(DRIFT_METRIC)
+                .description("Relative difference between the estimated and the exact item count")
+                .register(meterRegistry);
+    }
+
+    private static Counter pathCounter(MeterRegistry meterRegistry, String path) {
+        return Counter.builder(PATH_METRIC)
+                .description("Number of item counts, by the way the count was determined")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+        var countQuery = CountQueryConditions.of(jpqlQuery.get());
+        var shape = countQuery == null ? null : countQuery.shape();
+
+        var estimate = estimateStrategy.countQuery(jpqlQuery);
+
+        if (estimate.isPresent()) {
+            if (estimate.get().count() > exactCountThreshold) {
+                estimatedAboveThreshold.increment();
+                return estimate;
+            }
+            if (shape != null && slowShapes.getIfPresent(shape) != null) {
+                estimatedKnownSlow.increment();
+                return estimate;
+            }
+        }
+
+        var exactCount = exactStrategy.countQuery(jpqlQuery);
+        if (exactCount.isEmpty()) {
+            exactFailed.increment();
+            if (shape != null) {
+                slowShapes.put(shape, Boolean.TRUE);
+            }
+            return estimate;
+        }
+
+        exact.increment();
+        estimate.ifPresent(estimated -> recordDrift(estimated, exactCount.get()));
+        return exactCount;
+    }
+
+    /**
+     * @param strategy strategy to check
+     * @return whether the strategy is used by this strategy, to estimate or to count exactly
+     */
+    public boolean wraps(JpaQuerydslItemCountStrategy strategy) {
+        return strategy == estimateStrategy || strategy == exactStrategy;
+    }
+
+    private void recordDrift(ItemCount estimated, ItemCount exactCount) {
+        var difference = Math.abs(estimated.count() - exactCount.count());
+        drift.record((double) difference / Math.max(exactCount.count(), 1));
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.querydsl.jpa.JPQLQuery;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Item counts, shared between all repositories and requests.
+ * <p>
+ * Counts are keyed by the domain type and by the set of conditions in the where-clause, so the order in which filters
+ * are combined does not matter.
+ * <p>
+ * A cached count is returned unchanged until it is older than the soft time-to-live. After that, one request
+ * recomputes the count while all other requests for the same count receive the old count as an estimate, instead of
+ * all waiting for (and all running) the same count query. Cached counts are removed completely once they are older
+ * than the time-to-live.
+ * <p>
+ * Changes to entities make cached counts unreachable, so they are never returned again:
+ * <ul>
+ *     <li>{@link #invalidateCounts(Class)} when entities are created or deleted: all counts that involve the type</li>
+ *     <li>{@link #invalidateFilteredCounts(Class)} when entities are updated: all counts where the type is involved in
+ *     a filter; the total number of items of the type can not change by an update</li>
+ * </ul>
+ * Unreachable counts are not removed eagerly, they are evicted like other unused counts.
+ * <p>
+ * Inside a transaction, invalidation is deferred until the transaction completes. Until then, other transactions can
+ * not see the changes yet, and a count that they cache must not outlive the change.
+ */
+public class ItemCountCache implements MeterBinder {
+
+    static final String CACHE_NAME = "contentgrid.pagination.item-count";
+
+    private final Cache<Key, CachedItemCount> cache;
+    private final Map<Class<?>, Generation> generations = new ConcurrentHashMap<>();
+    private final Ticker ticker;
+    private final long softTtlNanos;
+
+    private final LongAdder degradedCount = new LongAdder();
+
+    /**
+     * @param maximumSize maximum number of cached counts
+     * @param softTtl age after which a cached count is only used as an estimate while it is being recomputed
+     * @param ttl age after which a cached count is removed
+     */
+    public ItemCountCache(long maximumSize, @NonNull Duration softTtl, @NonNull Duration ttl) {
+        this(maximumSize, softTtl, ttl, Ticker.systemTicker());
+    }
+
+    ItemCountCache(long maximumSize, @NonNull Duration softTtl, @NonNull Duration ttl, @NonNull Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.ticker = ticker;
+        this.softTtlNanos = softTtl.toNanos();
+    }
+
+    /**
+     * Looks up the count for a query, computing it when it is not cached yet
+     *
+     * @param query the query to count; only used to determine the cache key
+     * @param counter computes the count when it is not cached, or when it has to be refreshed
+     * @return The count, which can be an estimate when the count is being refreshed by another request
+     */
+    public Optional<ItemCount> getOrCompute(JPQLQuery<?> query, Supplier<Optional<ItemCount>> counter) {
+        var key = keyFor(query);
+        if (key == null) {
+            return counter.get();
+        }
+
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (ticker.read() - cached.computedAt() < softTtlNanos) {
+                return Optional.of(cached.itemCount());
+            }
+            if (!cached.refreshing().compareAndSet(false, true)) {
+                // Another request is already refreshing this count
+                degradedCount.increment();
+                return Optional.of(cached.asEstimate());
+            }
+        }
+
+        try {
+            var result = counter.get();
+            result.ifPresent(itemCount -> cache.put(key, new CachedItemCount(itemCount, ticker.read())));
+            if (result.isEmpty() && cached != null) {
+                // Counting failed, but an older count is still better than nothing
+                return Optional.of(cached.asEstimate());
+            }
+            return result;
+        } finally {
+            if (cached != null) {
+                cached.refreshing().set(false);
+            }
+        }
+    }
+
+    /**
+     * Invalidates all cached counts that involve a domain type, after entities of that type have been created or
+     * deleted
+     */
+    public void invalidateCounts(@NonNull Class<?> domainType) {
+        afterTransaction(() -> forTypeHierarchy(domainType, generation -> {
+            generation.membership().incrementAndGet();
+            generation.content().incrementAndGet();
+        }));
+    }
+
+    /**
+     * Invalidates cached counts that filter on a domain type, after entities of that type have been updated
+     */
+    public void invalidateFilteredCounts(@NonNull Class<?> domainType) {
+        afterTransaction(() -> forTypeHierarchy(domainType, generation -> generation.content().incrementAndGet()));
+    }
+
+    private static void afterTransaction(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Also after a rollback: counts computed inside the transaction could have included its changes
+                invalidation.run();
+            }
+        });
+    }
+
+    private void forTypeHierarchy(Class<?> domainType, Consumer<Generation> action) {
+        // Counts of a supertype include the entities of all its subtypes
+        for (Class<?> type = domainType; type != null && type != Object.class; type = type.getSuperclass()) {
+            action.accept(generations.computeIfAbsent(type, t -> new Generation()));
+        }
+    }
+
+    private long membershipGeneration(Class<?> type) {
+        var generation = generations.get(type);
+        return generation == null ? 0 : generation.membership().get();
+    }
+
+    private long contentGeneration(Class<?> type) {
+        var generation = generations.get(type);
+        return generation == null ? 0 : generation.content().get();
+    }
+
+    @Nullable
+    private Key keyFor(JPQLQuery<?> query) {
+        var countQuery = CountQueryConditions.of(query);
+        if (countQuery == null) {
+            return null;
+        }
+
+        var involvedTypes = new HashMap<Class<?>, Long>();
+        if (countQuery.isUnfiltered()) {
+            // Updates can not change the total number of items
+            involvedTypes.put(countQuery.domainType(), membershipGeneration(countQuery.domainType()));
+        } else {
+            for (var type : countQuery.involvedTypes()) {
+                involvedTypes.put(type, contentGeneration(type));
+            }
+        }
+
+        return new Key(countQuery, Map.copyOf(involvedTypes));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        FunctionCounter.builder("cache.gets.degraded", degradedCount, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .description("The number of times a stale count was returned as an estimate while it was refreshed")
+                .register(registry);
+    }
+
+    private record Key(
+            CountQueryConditions countQuery,
+            Map<Class<?>, Long> generations
+    ) {
+
+    }
+
+    private record CachedItemCount(
+            ItemCount itemCount,
+            long computedAt,
+            AtomicBoolean refreshing
+    ) {
+
+        CachedItemCount(ItemCount itemCount, long computedAt) {
+            this(itemCount, computedAt, new AtomicBoolean());
+        }
+
+        ItemCount asEstimate() {
+            return ItemCount.estimated(itemCount.count());
+        }
+    }
+
+    /**
+     * Change counters for a domain type; cache keys contain the counters of all involved types, so changing a counter
+     * makes all cached counts involving that type unreachable
+     *
+     * @param membership changes every time entities are created or deleted
+     * @param content changes every time entities are created, updated or deleted
+     */
+    private record Generation(AtomicLong membership, AtomicLong content) {
+
+        Generation() {
+            this(new AtomicLong(), new AtomicLong());
+        }
+    }
+}
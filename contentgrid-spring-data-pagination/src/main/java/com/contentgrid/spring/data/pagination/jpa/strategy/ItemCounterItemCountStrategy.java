@@ -0,0 +1,36 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.data.pagination.jpa.counter.ItemCounters;
+import com.querydsl.jpa.JPQLQuery;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Counts all items of a domain type exactly with the {@link ItemCounters}, when all items are counted.
+ * <p>
+ * Only counts without any filter are answered, because the counters are about all items of a domain type. Counters do
+ * not include the changes of transactions that have not committed yet, not even those of the current transaction.
+ */
+@RequiredArgsConstructor
+public class ItemCounterItemCountStrategy implements JpaQuerydslItemCountStrategy {
+
+    @NonNull
+    private final ItemCounters itemCounters;
+
+    @Override
+    public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+        var countQuery = CountQueryConditions.of(jpqlQuery.get());
+        if (countQuery == null || !countQuery.isUnfiltered()) {
+            return Optional.empty();
+        }
+
+        var itemCount = itemCounters.get(countQuery.domainType());
+        if (itemCount.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(ItemCount.exact(itemCount.getAsLong()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import jakarta.persistence.QueryTimeoutException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.spi.QueryImplementor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gives up on a query when it takes longer than a timeout
+ * <p>
+ * By default, the JPA query timeout is used, which Hibernate rounds up to whole seconds.
+ * <p>
+ * When statement timeouts are enabled (a {@link com.contentgrid.spring.data.pagination.jpa.StatementBudget} runs the
+ * page queries in a transaction), the timeout is applied with the PostgreSQL {@code statement_timeout} setting within
+ * a transaction, so it has millisecond precision. The query runs after a savepoint, so the setting is reset afterwards,
+ * and the transaction can still be used when the query timed out. This is only done with PostgreSQL; with other
+ * databases, the JPA query timeout is always used.
+ */
+final class QueryTimeout {
+
+    private final Duration timeout;
+    private final boolean statementTimeout;
+
+    /**
+     * @param timeout how long the query can take
+     * @param statementTimeout whether to apply the timeout with the PostgreSQL {@code statement_timeout} setting
+     * within transactions
+     */
+    QueryTimeout(@NonNull Duration timeout, boolean statementTimeout) {
+        this.timeout = timeout;
+        this.statementTimeout = statementTimeout;
+    }
+
+    /**
+     * @param query query to run
+     * @param execution runs the query and returns its result
+     * @return the result of the query, or empty when the query timed out
+     */
+    <R> Optional<R> execute(QueryImplementor<?> query, Function<QueryImplementor<?>, R> execution) {
+        try {
+            if (useStatementTimeout(query)) {
+                return Optional.of(executeWithStatementTimeout(query, execution));
+            }
+            // timeout in seconds; hibernate rounds the JPA timeout hint to seconds anyways
+            query.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+            return Optional.of(execution.apply(query));
+        } catch (QueryTimeoutException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private boolean useStatementTimeout(QueryImplementor<?> query) {
+        return statementTimeout
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && query.getSession().getFactory().getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    private <R> R executeWithStatementTimeout(QueryImplementor<?> query, Function<QueryImplementor<?>, R> execution) {
+        var session = query.getSession();
+        if (session instanceof Session hibernateSession
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Pending changes have to be written before the savepoint, rolling back to it would undo them otherwise
+            hibernateSession.flush();
+        }
+
+        var savepoint = session.doReturningWork(connection -> {
+            var newSavepoint = connection.setSavepoint();
+            try (var statement = connection.prepareStatement("select set_config('statement_timeout', ?, true)")) {
+                statement.setString(1, Math.max(1, timeout.toMillis()) + "ms");
+                statement.execute();
+            } catch (SQLException e) {
+                connection.rollback(newSavepoint);
+                throw e;
+            }
+            return newSavepoint;
+        });
+
+        try {
+            return execution.apply(query);
+        } finally {
+            // Nothing was written since the savepoint; rolling back to it only resets the statement timeout, and
+            // recovers the transaction when the query timed out
+            session.doWork(connection -> {
+                connection.rollback(savepoint);
+                connection.releaseSavepoint(savepoint);
+            });
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.jpa.JPQLQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+/**
+ * Estimates the number of items from the table statistics of the database, when all items are counted.
+ * <p>
+ * Only counts without any filter are estimated, because the statistics are about all rows in the table. The number
+ * of live rows tracked by the statistics collector is used. When the statistics collector has no live rows for the
+ * table, no estimate is made: the table is either empty or has no statistics yet, and in both cases another strategy
+ * counts it cheaper than a wrong estimate. Estimates are cached for a short time, per domain type.
+ * <p>
+ * Entities that share their table with other entities (entity inheritance) are not estimated. Only PostgreSQL is
+ * supported; with other databases, no estimates are made.
+ */
+@Slf4j
+public class TableStatisticsItemCountStrategy implements JpaQuerydslItemCountStrategy {
+
+    private static final String TABLE_STATISTICS_QUERY = """
+            SELECT NULLIF(s.n_live_tup, 0)
+            FROM pg_stat_user_tables s
+            WHERE s.relid = to_regclass(?1)
+            """;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final Cache<Class<?>, OptionalLong> estimates;
+
+    private volatile Boolean supported;
+
+    /**
+     * @param entityManagerFactory factory for the entity manager that is used to read statistics
+     * @param ttl how long an estimate is reused
+     */
+    public TableStatisticsItemCountStrategy(@NonNull EntityManagerFactory entityManagerFactory,
+            @NonNull Duration ttl) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.estimates = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+        var countQuery = CountQueryConditions.of(jpqlQuery.get());
+        if (countQuery == null || !countQuery.isUnfiltered() || !isSupported()) {
+            return Optional.empty();
+        }
+
+        var estimate = estimates.get(countQuery.domainType(), this::readTableStatistics);
+        if (estimate.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(ItemCount.estimated(estimate.getAsLong()));
+    }
+
+    private boolean isSupported() {
+        var isSupported = supported;
+        if (isSupported == null) {
+            var dialect = sessionFactory().getJdbcServices().getDialect();
+            isSupported = dialect instanceof PostgreSQLDialect;
+            if (!isSupported) {
+                log.debug("Table statistics are not supported for dialect {}", dialect);
+            }
+            supported = isSupported;
+        }
+        return isSupported;
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    private OptionalLong readTableStatistics(Class<?> domainType) {
+        var entityDescriptor = sessionFactory().getMappingMetamodel().findEntityDescriptor(domainType);
+        if (!(entityDescriptor instanceof AbstractEntityPersister persister)) {
+            return OptionalLong.empty();
+        }
+        if (persister.isInherited() || persister.getEntityMetamodel().hasSubclasses()) {
+            // The table contains rows of other entity types as well
+            return OptionalLong.empty();
+        }
+
+        var result = entityManager.createNativeQuery(TABLE_STATISTICS_QUERY)
+                .setParameter(1, persister.getTableName())
+                .getResultList();
+
+        if (result.isEmpty() || result.get(0) == null) {
+            // Table not found, or it has no live rows in its statistics
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(((Number) result.get(0)).longValue());
+    }
+}
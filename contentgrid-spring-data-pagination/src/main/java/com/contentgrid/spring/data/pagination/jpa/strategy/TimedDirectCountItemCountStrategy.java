@@ -4,29 +4,60 @@ import com.contentgrid.spring.data.pagination.ItemCount;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
-import jakarta.persistence.QueryTimeoutException;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Supplier;
-import org.hibernate.query.Query;
+import lombok.NonNull;
+import org.hibernate.query.spi.QueryImplementor;
 
+/**
+ * Counts all items exactly, but gives up when counting takes longer than a timeout
+ * <p>
+ * By default, the JPA query timeout is used, which Hibernate rounds up to whole seconds.
+ * <p>
+ * When statement timeouts are enabled (a {@link com.contentgrid.spring.data.pagination.jpa.StatementBudget} runs the
+ * page queries in a transaction), the timeout is applied with the PostgreSQL {@code statement_timeout} setting within
+ * a transaction, so it has millisecond precision. The count runs after a savepoint, so the setting is reset afterwards,
+ * and the transaction can still be used when the count timed out. This is only done with PostgreSQL; with other
+ * databases, the JPA query timeout is always used.
+ */
 public class TimedDirectCountItemCountStrategy implements JpaQuerydslItemCountStrategy {
 
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final QueryTimeout timeout;
+
+    public TimedDirectCountItemCountStrategy() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param timeout how long counting can take
+     */
+    public TimedDirectCountItemCountStrategy(@NonNull Duration timeout) {
+        this(timeout, false);
+    }
+
+    /**
+     * @param timeout how long counting can take
+     * @param statementTimeout whether to apply the timeout with the PostgreSQL {@code statement_timeout} setting
+     * within transactions
+     */
+    public TimedDirectCountItemCountStrategy(@NonNull Duration timeout, boolean statementTimeout) {
+        this.timeout = new QueryTimeout(timeout, statementTimeout);
+    }
+
     @Override
     public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuerySupplier) {
         var jpqlQuery = jpqlQuerySupplier.get();
         if (jpqlQuery instanceof JPAQuery<?> jpaQuery) {
             var query = jpaQuery.select(Expressions.numberTemplate(Long.class, "count(*)"))
                     .createQuery()
-                    .unwrap(Query.class);
-            query.setTimeout(1); // timeout in seconds; hibernate rounds the JPA timeout hint to seconds anyways
-
-            try {
-                long count = (long) query.getSingleResult();
-                return Optional.of(ItemCount.exact(count));
-            } catch (QueryTimeoutException ex) {
-                // Query timed out; no count (return below)
-            }
+                    .unwrap(QueryImplementor.class);
 
+            // No count when the query timed out
+            return timeout.execute(query, countQuery -> (long) countQuery.getSingleResult())
+                    .map(ItemCount::exact);
         }
         return Optional.empty();
     }
@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS contentgrid_item_counter (
+    domain_type varchar(255) PRIMARY KEY,
+    item_count bigint NOT NULL
+);
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +40,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponents;
@@ -74,10 +76,15 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         return ServletUriComponentsBuilder.fromRequest(webRequest.getNativeRequest(HttpServletRequest.class)).build();
     }
 
+    private static RequestFingerprint fingerprintOf(ServletWebRequest webRequest) {
+        var uriComponents = createFromRequest(webRequest);
+        return Mockito.argThat(fingerprint -> fingerprint.getUriComponents().equals(uriComponents));
+    }
+
     @BeforeEach
     void setUp() throws CursorDecodeException {
         cursorCodec = Mockito.mock(CursorCodec.class);
-        Mockito.when(cursorCodec.decodeCursor(Mockito.any(), Mockito.any()))
+        Mockito.when(cursorCodec.decodeCursor(Mockito.any(), Mockito.any(RequestFingerprint.class)))
                 .thenAnswer(answerFromCursor(ctx -> PageRequest.ofSize(ctx.pageSize())
                         .withSort(ctx.sort())
                 ));
@@ -93,7 +100,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         resolver.resolveArgument(Sample.SUPPORTED_METHOD, null, request, null);
 
         Mockito.verify(cursorCodec)
-                .decodeCursor(new CursorContext(null, 20, Sort.unsorted()), createFromRequest(request));
+                .decodeCursor(Mockito.eq(new CursorContext(null, 20, Sort.unsorted())), fingerprintOf(request));
         Mockito.verifyNoMoreInteractions(cursorCodec);
     }
 
@@ -107,7 +114,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         resolver.resolveArgument(Sample.SUPPORTED_METHOD, null, request, null);
 
         Mockito.verify(cursorCodec)
-                .decodeCursor(new CursorContext(null, 50, Sort.unsorted()), createFromRequest(request));
+                .decodeCursor(Mockito.eq(new CursorContext(null, 50, Sort.unsorted())), fingerprintOf(request));
         Mockito.verifyNoMoreInteractions(cursorCodec);
     }
 
@@ -123,7 +130,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         resolver.resolveArgument(Sample.SUPPORTED_METHOD, null, request, null);
 
         Mockito.verify(cursorCodec)
-                .decodeCursor(new CursorContext(null, 100, Sort.unsorted()), createFromRequest(request));
+                .decodeCursor(Mockito.eq(new CursorContext(null, 100, Sort.unsorted())), fingerprintOf(request));
         Mockito.verifyNoMoreInteractions(cursorCodec);
 
     }
@@ -138,8 +145,8 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         resolver.resolveArgument(Sample.SUPPORTED_METHOD, null, request, null);
 
         Mockito.verify(cursorCodec)
-                .decodeCursor(new CursorContext(null, 20, Sort.by(Order.desc("xyz"), Order.asc("abc"))),
-                        createFromRequest(request));
+                .decodeCursor(Mockito.eq(new CursorContext(null, 20, Sort.by(Order.desc("xyz"), Order.asc("abc")))),
+                        fingerprintOf(request));
         Mockito.verifyNoMoreInteractions(cursorCodec);
     }
 
@@ -153,7 +160,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         resolver.resolveArgument(Sample.SUPPORTED_METHOD, null, request, null);
 
         Mockito.verify(cursorCodec)
-                .decodeCursor(new CursorContext("my-value", 20, Sort.unsorted()), createFromRequest(request));
+                .decodeCursor(Mockito.eq(new CursorContext("my-value", 20, Sort.unsorted())), fingerprintOf(request));
         Mockito.verifyNoMoreInteractions(cursorCodec);
     }
 
@@ -167,10 +174,46 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
         resolver.resolveArgument(Sample.DEFAULT_PAGEABLE, null, request, null);
 
         Mockito.verify(cursorCodec)
-                .decodeCursor(new CursorContext("my-value", 10, Sort.unsorted()), createFromRequest(request));
+                .decodeCursor(Mockito.eq(new CursorContext("my-value", 10, Sort.unsorted())), fingerprintOf(request));
         Mockito.verifyNoMoreInteractions(cursorCodec);
     }
 
+    @Test
+    void encodesCursorsWithFingerprintOfRequest() throws CursorDecodeException {
+        var resolver = createHandlerMethodArgumentResolver();
+        var pageRequest = PageRequest.of(1, 20);
+        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any(RequestFingerprint.class)))
+                .thenReturn(new CursorContext("encoded-cursor", 20, Sort.unsorted()));
+
+        var request = createRequest(req -> {
+            req.setQueryString("a=b&page=my-value");
+            req.addParameter("a", "b");
+            req.addParameter("page", "my-value");
+        });
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            resolver.resolveArgument(Sample.SUPPORTED_METHOD, null, request, null);
+            var requestFingerprint = ArgumentCaptor.forClass(RequestFingerprint.class);
+            Mockito.verify(cursorCodec).decodeCursor(Mockito.any(), requestFingerprint.capture());
+
+            assertThat(resolver.encodeCursor(pageRequest, "http://localhost/test-request?a=b&page=other&size=5"))
+                    .isEqualTo("encoded-cursor");
+            assertThat(resolver.encodeCursor(pageRequest, "http://localhost/test-request?a=c"))
+                    .isEqualTo("encoded-cursor");
+
+            var encodeFingerprints = ArgumentCaptor.forClass(RequestFingerprint.class);
+            Mockito.verify(cursorCodec, Mockito.times(2))
+                    .encodeCursor(Mockito.eq(pageRequest), encodeFingerprints.capture());
+            assertThat(encodeFingerprints.getAllValues()).satisfiesExactly(
+                    // Same collection and filters as the request
+                    fingerprint -> assertThat(fingerprint).isSameAs(requestFingerprint.getValue()),
+                    fingerprint -> assertThat(fingerprint.getUriComponents().getQuery()).isEqualTo("a=c")
+            );
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     void pageableUnparsableSize() {
         var resolver = createHandlerMethodArgumentResolver();
@@ -205,7 +248,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
     @Test
     void pageableCursorException() throws CursorDecodeException {
         Mockito.doThrow(new CursorDecodeException("failed to decode")).when(cursorCodec)
-                .decodeCursor(Mockito.any(), Mockito.any());
+                .decodeCursor(Mockito.any(), Mockito.any(RequestFingerprint.class));
 
         var resolver = createHandlerMethodArgumentResolver();
 
@@ -222,7 +265,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
     @Test
     void fillsTemplateParameters() {
         var pageRequest = PageRequest.of(1, 13, Sort.by("abc"));
-        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any()))
+        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any(RequestFingerprint.class)))
                 .thenReturn(new CursorContext("encoded-cursor", 15, Sort.unsorted()));
 
         var resolver = createHandlerMethodArgumentResolver();
@@ -239,7 +282,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
     @Test
     void fillsTemplateParametersForNullCursor_fails() {
         var pageRequest = PageRequest.of(0, 13, Sort.by("abc"));
-        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any()))
+        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any(RequestFingerprint.class)))
                 .thenReturn(new CursorContext(null, 15, Sort.unsorted()));
 
         var resolver = createHandlerMethodArgumentResolver();
@@ -255,7 +298,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
     @Test
     void fillsTemplateParametersForDefaultSize() {
         var pageRequest = PageRequest.of(1, 13, Sort.by("abc"));
-        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any()))
+        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any(RequestFingerprint.class)))
                 .thenReturn(new CursorContext("encoded-cursor", 10, Sort.unsorted()));
 
         var resolver = createHandlerMethodArgumentResolver();
@@ -272,7 +315,7 @@ class HateoasPageableCursorHandlerMethodArgumentResolverTest {
     @Test
     void fillsTemplateParametersWithSort() {
         var pageRequest = PageRequest.of(1, 13, Sort.by("abc"));
-        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any()))
+        Mockito.when(cursorCodec.encodeCursor(Mockito.eq(pageRequest), Mockito.any(RequestFingerprint.class)))
                 .thenReturn(new CursorContext("encoded-cursor", 15, Sort.by("abc")));
 
         var resolver = createHandlerMethodArgumentResolver();
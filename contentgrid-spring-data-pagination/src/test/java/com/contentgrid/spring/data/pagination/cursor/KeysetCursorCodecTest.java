@@ -0,0 +1,124 @@
+package com.contentgrid.spring.data.pagination.cursor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.spring.data.pagination.KeysetPageRequest;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest.Seek;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest.Seek.Direction;
+import com.contentgrid.spring.data.pagination.cursor.CursorCodec.CursorContext;
+import com.contentgrid.spring.data.pagination.cursor.CursorCodec.CursorDecodeException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+class KeysetCursorCodecTest {
+
+    CursorCodec codec = new KeysetCursorCodec();
+
+    private static final Sort SORT = Sort.by(Order.asc("abc"), Order.desc("def"));
+    private static final UriComponents URI_COMPONENTS = UriComponentsBuilder.newInstance().build();
+
+    @Test
+    void decodeCursorFromNull() throws CursorDecodeException {
+        var pageable = codec.decodeCursor(CursorContext.builder().cursor(null).pageSize(15).sort(SORT).build(),
+                URI_COMPONENTS);
+
+        assertThat(pageable).isInstanceOfSatisfying(KeysetPageRequest.class, keysetPageRequest -> {
+            assertThat(keysetPageRequest.getPageNumber()).isEqualTo(0);
+            assertThat(keysetPageRequest.getPageSize()).isEqualTo(15);
+            assertThat(keysetPageRequest.getSort()).isEqualTo(SORT);
+            assertThat(keysetPageRequest.getSeek()).isEmpty();
+        });
+    }
+
+    @Test
+    void decodeCursorFromPageNumber() throws CursorDecodeException {
+        // Cursors from the page-based codec keep working, they are located by offset
+        var pageable = codec.decodeCursor(CursorContext.builder().cursor("5").pageSize(15).sort(SORT).build(),
+                URI_COMPONENTS);
+
+        assertThat(pageable).isInstanceOfSatisfying(KeysetPageRequest.class, keysetPageRequest -> {
+            assertThat(keysetPageRequest.getPageNumber()).isEqualTo(5);
+            assertThat(keysetPageRequest.getPageSize()).isEqualTo(15);
+            assertThat(keysetPageRequest.getSeek()).isEmpty();
+        });
+    }
+
+    @Test
+    void encodeCursorWithoutKeyset() {
+        var cursor = codec.encodeCursor(PageRequest.of(12, 34).withSort(SORT), URI_COMPONENTS);
+
+        assertThat(cursor.cursor()).isEqualTo("12");
+        assertThat(cursor.pageSize()).isEqualTo(34);
+        assertThat(cursor.sort()).isEqualTo(SORT);
+    }
+
+    @Test
+    void encodeAndDecodeNextPage() throws CursorDecodeException {
+        var id = UUID.randomUUID();
+        var instant = Instant.parse("2024-03-05T10:15:30Z");
+        var page = KeysetPageRequest.of(3, 20, SORT)
+                .withKeysetBounds(Arrays.asList("first", null, UUID.randomUUID()), Arrays.asList(instant, null, id));
+
+        var context = codec.encodeCursor(page.next(), URI_COMPONENTS);
+
+        assertThat(context.cursor()).startsWith("4.a.");
+        assertThat(context.pageSize()).isEqualTo(20);
+        assertThat(context.sort()).isEqualTo(SORT);
+
+        var decoded = codec.decodeCursor(context, URI_COMPONENTS);
+
+        assertThat(decoded).isInstanceOfSatisfying(KeysetPageRequest.class, keysetPageRequest -> {
+            assertThat(keysetPageRequest.getPageNumber()).isEqualTo(4);
+            assertThat(keysetPageRequest.getSeek()).hasValue(
+                    new Seek(Direction.AFTER, Arrays.asList(instant.toString(), null, id.toString())));
+        });
+    }
+
+    @Test
+    void encodeAndDecodePreviousPage() throws CursorDecodeException {
+        var page = KeysetPageRequest.of(3, 20, SORT)
+                .withKeysetBounds(List.of("first", 1), List.of("last", 2));
+
+        var context = codec.encodeCursor(page.previous(), URI_COMPONENTS);
+
+        assertThat(context.cursor()).startsWith("2.b.");
+
+        var decoded = codec.decodeCursor(context, URI_COMPONENTS);
+
+        assertThat(decoded).isInstanceOfSatisfying(KeysetPageRequest.class, keysetPageRequest -> {
+            assertThat(keysetPageRequest.getPageNumber()).isEqualTo(2);
+            assertThat(keysetPageRequest.getSeek()).hasValue(new Seek(Direction.BEFORE, List.of("first", "1")));
+        });
+    }
+
+    @Test
+    void previousOfSecondPageIsFirstPage() {
+        var page = KeysetPageRequest.of(1, 20, SORT)
+                .withKeysetBounds(List.of("first"), List.of("last"));
+
+        var context = codec.encodeCursor(page.previous(), URI_COMPONENTS);
+
+        assertThat(context.cursor()).isEqualTo("0");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-8", "blabla", "5.a", "5.x.WyJhIl0", "5.a.not-base64!", "5.a.bm90LWpzb24", "5.a.WyJhIl0.x"})
+    void decodeInvalidCursor(String cursor) {
+        assertThatThrownBy(() -> {
+            codec.decodeCursor(CursorContext.builder().cursor(cursor).pageSize(15).sort(SORT).build(),
+                    URI_COMPONENTS);
+        }).isInstanceOf(CursorDecodeException.class);
+    }
+
+}
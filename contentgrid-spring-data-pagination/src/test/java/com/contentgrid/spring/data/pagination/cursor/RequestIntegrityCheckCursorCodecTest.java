@@ -214,4 +214,52 @@ class RequestIntegrityCheckCursorCodecTest {
                 .startsWith("0");
 
     }
-}
\ No newline at end of file
+
+    private static CursorCodec fixedCursorCodec() {
+        return new RequestIntegrityCheckCursorCodec(new CursorCodec() {
+            @Override
+            public Pageable decodeCursor(CursorContext context, UriComponents uriComponents) {
+                return PageRequest.of(1, context.pageSize(), context.sort());
+            }
+
+            @Override
+            public CursorContext encodeCursor(Pageable pageable, UriComponents uriComponents) {
+                return new CursorContext("abc", pageable.getPageSize(), pageable.getSort());
+            }
+        });
+    }
+
+    @Test
+    void cursorValueIsStable() {
+        var codec = fixedCursorCodec();
+        var uriComponents = UriComponentsBuilder.fromUriString("http://localhost/customers?vat=1").build();
+
+        // Cursors created by earlier versions must remain valid, so this value may never change
+        assertThat(codec.encodeCursor(PageRequest.of(1, 20, Sort.by("name")), uriComponents).cursor())
+                .isEqualTo("0x2v7t9abc");
+    }
+
+    @Test
+    void cursorValueIsStable_withFingerprint() throws CursorDecodeException {
+        var codec = fixedCursorCodec();
+        var pageable = PageRequest.of(1, 20, Sort.by("name"));
+        var requestUriComponents = UriComponentsBuilder.fromUriString("http://localhost/customers?vat=1").build();
+        var fingerprint = RequestFingerprint.of(requestUriComponents);
+
+        var decoded = codec.decodeCursor(new CursorContext("0x2v7t9abc", 20, Sort.by("name")), fingerprint);
+        assertThat(decoded).isEqualTo(pageable);
+
+        // Previous and next page reuse the fingerprint of the request
+        assertThat(codec.encodeCursor(pageable.previousOrFirst(), fingerprint).cursor()).isEqualTo("0x2v7t9abc");
+        assertThat(codec.encodeCursor(pageable.next(), fingerprint).cursor()).isEqualTo("0x2v7t9abc");
+
+        // A different page size or sort is not mixed up with the page size and sort encoded last
+        assertThat(codec.encodeCursor(PageRequest.of(1, 21, Sort.by("name")), fingerprint).cursor())
+                .isNotEqualTo("0x2v7t9abc");
+        assertThat(codec.encodeCursor(PageRequest.of(1, 20, Sort.by("vat")), fingerprint).cursor())
+                .isNotEqualTo("0x2v7t9abc");
+
+        assertThat(codec.encodeCursor(pageable, fingerprint).cursor()).isEqualTo("0x2v7t9abc");
+        assertThat(codec.encodeCursor(pageable, requestUriComponents).cursor()).isEqualTo("0x2v7t9abc");
+    }
+}
@@ -0,0 +1,65 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Counts run on another thread than the repository method, which is where the metadata of the repository method is
+ * bound to
+ */
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.pagination.concurrent-count.enabled=true"
+})
+class ConcurrentItemCountRepositoryTest {
+
+    @Autowired
+    CustomerRepository customers;
+
+    // Only to make sure that counts are configured to run concurrently
+    @Autowired
+    ConcurrentItemCounter concurrentItemCounter;
+
+    @BeforeEach
+    void setupTestData() {
+        customers.save(new Customer("Alice", "BE0000000001"));
+        customers.save(new Customer("Bob", "BE0000000002"));
+        customers.save(new Customer("Charlie", "BE0000000003"));
+    }
+
+    @AfterEach
+    void cleanupTestData() {
+        customers.deleteAll();
+    }
+
+    @Test
+    void countsConcurrently() {
+        var page = customers.findAll(QCustomer.customer.vat.startsWith("BE"),
+                PageRequest.of(0, 1, Sort.by("vat")));
+
+        assertThat(page.getContent()).singleElement()
+                .extracting(Customer::getVat)
+                .isEqualTo("BE0000000001");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void countsConcurrentlyRepeatedly() {
+        for (int i = 0; i < 10; i++) {
+            var page = customers.findAll(QCustomer.customer.vat.startsWith("BE"), PageRequest.of(1, 1));
+
+            assertThat(page.getContent()).hasSize(1);
+            assertThat(page.getTotalElements()).isEqualTo(3);
+        }
+    }
+}
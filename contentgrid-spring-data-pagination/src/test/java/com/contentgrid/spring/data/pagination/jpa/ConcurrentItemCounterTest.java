@@ -0,0 +1,109 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentItemCounterTest {
+
+    @Test
+    void countsOnExecutorThread() throws InterruptedException {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var countingThread = new AtomicReference<Thread>();
+            var counter = new ConcurrentItemCounter(executor);
+
+            var pending = counter.start(() -> {
+                countingThread.set(Thread.currentThread());
+                return Optional.of(ItemCount.exact(5));
+            });
+
+            assertThat(pending.get()).hasValue(ItemCount.exact(5));
+            assertThat(countingThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void queuedCountRunsOnCallingThread() {
+        var queue = new ArrayList<Runnable>();
+        var counter = new ConcurrentItemCounter(queue::add);
+        var countingThread = new AtomicReference<Thread>();
+
+        var pending = counter.start(() -> {
+            countingThread.set(Thread.currentThread());
+            return Optional.of(ItemCount.exact(5));
+        });
+
+        assertThat(pending.get()).hasValue(ItemCount.exact(5));
+        assertThat(countingThread.get()).isSameAs(Thread.currentThread());
+
+        // When the executor gets around to the queued count, it does not count again
+        countingThread.set(null);
+        queue.forEach(Runnable::run);
+        assertThat(countingThread.get()).isNull();
+    }
+
+    @Test
+    void rejectedCountRunsOnCallingThread() {
+        var counter = new ConcurrentItemCounter(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        var pending = counter.start(() -> Optional.of(ItemCount.exact(5)));
+
+        assertThat(pending.get()).hasValue(ItemCount.exact(5));
+    }
+
+    @Test
+    void cancelledCountDoesNotStart() {
+        var queue = new ArrayList<Runnable>();
+        var counter = new ConcurrentItemCounter(queue::add);
+        var counted = new ArrayList<ItemCount>();
+
+        var pending = counter.start(() -> {
+            var itemCount = ItemCount.exact(5);
+            counted.add(itemCount);
+            return Optional.of(itemCount);
+        });
+
+        pending.cancel();
+        queue.forEach(Runnable::run);
+
+        assertThat(counted).isEmpty();
+    }
+
+    @Test
+    void failedCountIsRethrown() throws InterruptedException {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var started = new CountDownLatch(1);
+            var counter = new ConcurrentItemCounter(executor);
+
+            var pending = counter.start(() -> {
+                started.countDown();
+                throw new IllegalArgumentException("Count failed");
+            });
+            started.await(1, TimeUnit.SECONDS);
+
+            assertThatThrownBy(pending::get)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Count failed");
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+}
@@ -4,12 +4,26 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.contentgrid.spring.data.pagination.ItemCount;
 import com.contentgrid.spring.data.pagination.ItemCountPage;
+import com.contentgrid.spring.data.pagination.KeysetPageRequest;
+import com.contentgrid.spring.data.pagination.cursor.CursorCodec.CursorDecodeException;
+import com.contentgrid.spring.data.pagination.cursor.KeysetCursorCodec;
+import com.contentgrid.spring.data.pagination.jpa.ContentGridPaginationQuerydslJpaPredicateExecutor.ContentGridPaginationQuerydslJpaPredicateExecutorBuilder;
 import com.contentgrid.spring.data.pagination.jpa.strategy.JpaQuerydslItemCountStrategy;
 import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
 import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
 import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
 import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +33,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.data.querydsl.QSort;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @SpringBootTest(classes = InvoicingApplication.class)
 class ContentGridPaginationQuerydslJpaPredicateExecutorTest {
@@ -30,6 +50,9 @@ class ContentGridPaginationQuerydslJpaPredicateExecutorTest {
     @MockBean
     JpaQuerydslItemCountStrategy mockCountingStrategy;
 
+    @Autowired
+    EntityManager entityManager;
+
     @BeforeEach
     void seedCustomers() {
         customerRepository.saveAllAndFlush(
@@ -127,4 +150,293 @@ class ContentGridPaginationQuerydslJpaPredicateExecutorTest {
         });
     }
 
+    @Test
+    void keysetWalkForwardsAndBackwards() {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.empty());
+
+        var predicate = QCustomer.customer.vat.startsWith("VAT");
+        Pageable pageable = KeysetPageRequest.of(0, 10, new QSort(QCustomer.customer.name.desc()));
+
+        List<Page<Customer>> pages = new ArrayList<>();
+        Page<Customer> page;
+        do {
+            page = customerRepository.findAll(predicate, pageable);
+            pages.add(page);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+
+        assertThat(pages).hasSize(3);
+        assertThat(pages.get(1).getPageable()).isInstanceOfSatisfying(KeysetPageRequest.class, request -> {
+            assertThat(request.getSeek()).isPresent();
+        });
+
+        var names = pages.stream()
+                .flatMap(p -> p.getContent().stream())
+                .map(Customer::getName)
+                .toList();
+
+        assertThat(names)
+                .hasSize(25)
+                .doesNotHaveDuplicates()
+                .isSortedAccordingTo(Comparator.reverseOrder());
+
+        assertThat(pages.get(2)).isInstanceOfSatisfying(ItemCountPage.class, lastPage -> {
+            assertThat(lastPage.getTotalItemCount()).isEqualTo(ItemCount.exact(25));
+        });
+
+        // Walk back from the last page
+        var middlePage = customerRepository.findAll(predicate, pages.get(2).previousPageable());
+        assertThat(middlePage.getContent()).map(Customer::getName)
+                .containsExactlyElementsOf(pages.get(1).getContent().stream().map(Customer::getName).toList());
+        assertThat(middlePage.hasNext()).isTrue();
+        assertThat(middlePage.hasPrevious()).isTrue();
+
+        var firstPage = customerRepository.findAll(predicate, middlePage.previousPageable());
+        assertThat(firstPage.getContent()).map(Customer::getName)
+                .containsExactlyElementsOf(pages.get(0).getContent().stream().map(Customer::getName).toList());
+        assertThat(firstPage.hasPrevious()).isFalse();
+    }
+
+    @Test
+    void keysetWithDuplicateSortKeys() {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.empty());
+
+        // All customers have the same gender (null); the id tiebreaker must keep the pages stable
+        Pageable pageable = KeysetPageRequest.of(0, 7, new QSort(QCustomer.customer.gender.asc()));
+
+        List<Customer> customers = new ArrayList<>();
+        Page<Customer> page;
+        do {
+            page = customerRepository.findAll(QCustomer.customer.vat.startsWith("VAT"), pageable);
+            customers.addAll(page.getContent());
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+
+        assertThat(customers)
+                .map(Customer::getVat)
+                .hasSize(25)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void keysetCursorRoundTripOnInstantAndUuid() throws CursorDecodeException {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.empty());
+
+        var customers = customerRepository.findAll();
+        for (int i = 0; i < customers.size(); i++) {
+            // Only 5 different birthdays, so the id is needed to order customers with the same birthday
+            customers.get(i).setBirthday(Instant.parse("2000-01-01T00:00:00Z").plus(i % 5, ChronoUnit.DAYS));
+        }
+        customerRepository.saveAllAndFlush(customers);
+
+        var codec = new KeysetCursorCodec();
+        var uriComponents = UriComponentsBuilder.newInstance().build();
+        var predicate = QCustomer.customer.vat.startsWith("VAT");
+        // A plain Sort, like the one that is decoded from the request
+        Pageable pageable = KeysetPageRequest.of(0, 10, Sort.by(Sort.Order.asc("birthday"), Sort.Order.asc("id")));
+
+        List<Customer> results = new ArrayList<>();
+        Page<Customer> page;
+        do {
+            page = customerRepository.findAll(predicate, pageable);
+            results.addAll(page.getContent());
+            if (page.hasNext()) {
+                // Cursor values are strings after decoding; they have to be converted back to Instant and UUID
+                pageable = codec.decodeCursor(codec.encodeCursor(page.nextPageable(), uriComponents), uriComponents);
+                assertThat(pageable).isInstanceOfSatisfying(KeysetPageRequest.class, request -> {
+                    assertThat(request.getSeek()).hasValueSatisfying(seek -> {
+                        assertThat(seek.keyset()).allSatisfy(value -> assertThat(value).isInstanceOf(String.class));
+                    });
+                });
+            }
+        } while (page.hasNext());
+
+        assertThat(results)
+                .hasSize(25)
+                .doesNotHaveDuplicates()
+                // Java orders UUIDs differently than PostgreSQL, so only the birthday order is checked
+                .isSortedAccordingTo(Comparator.comparing(Customer::getBirthday));
+    }
+
+    @Test
+    void keysetWithoutItemCount() {
+        Pageable pageable = KeysetPageRequest.of(0, 10, new QSort(QCustomer.customer.name.asc())).withoutItemCount();
+
+        List<Customer> customers = new ArrayList<>();
+        Page<Customer> page;
+        do {
+            page = customerRepository.findAll(QCustomer.customer.vat.startsWith("VAT"), pageable);
+            customers.addAll(page.getContent());
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+
+        assertThat(customers).hasSize(25);
+        assertThat(pageable).isInstanceOfSatisfying(KeysetPageRequest.class, request -> {
+            assertThat(request.isItemCountRequested()).isFalse();
+        });
+        Mockito.verifyNoInteractions(mockCountingStrategy);
+    }
+
+    private ContentGridPaginationQuerydslJpaPredicateExecutorBuilder<Customer> executorBuilder() {
+        return ContentGridPaginationQuerydslJpaPredicateExecutor.<Customer>builder()
+                .entityInformation(JpaEntityInformationSupport.getEntityInformation(Customer.class, entityManager))
+                .entityManager(entityManager)
+                .resolver(SimpleEntityPathResolver.INSTANCE)
+                .countingStrategy(mockCountingStrategy);
+    }
+
+    @WindowFunctionCount(maximumItems = 20)
+    private static class WindowFunctionCounted {
+
+    }
+
+    private ContentGridPaginationQuerydslJpaPredicateExecutor<Customer> windowFunctionCountingExecutor() {
+        return executorBuilder()
+                .windowFunctionCount(WindowFunctionCounted.class.getAnnotation(WindowFunctionCount.class))
+                .build();
+    }
+
+    @Test
+    void windowFunctionCount() {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.empty());
+
+        var executor = windowFunctionCountingExecutor();
+
+        var result = executor.findAll(QCustomer.customer.vat.startsWith("VAT1"), Pageable.ofSize(5));
+
+        assertThat(result).isInstanceOfSatisfying(ItemCountPage.class, page -> {
+            assertThat(page.getContent()).hasSize(5);
+            assertThat(page.hasNext()).isTrue();
+            assertThat(page.getTotalItemCount()).isEqualTo(ItemCount.exact(11));
+        });
+        Mockito.verify(mockCountingStrategy, Mockito.never()).countQuery(Mockito.any());
+    }
+
+    @Test
+    void windowFunctionCount_aboveMaximum() {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.of(ItemCount.estimated(15)));
+
+        var executor = windowFunctionCountingExecutor();
+        var predicate = QCustomer.customer.vat.startsWith("VAT");
+
+        var first = executor.findAll(predicate, Pageable.ofSize(10));
+        assertThat(first).isInstanceOfSatisfying(ItemCountPage.class, page -> {
+            assertThat(page.getTotalItemCount()).isEqualTo(ItemCount.exact(25));
+        });
+        Mockito.verify(mockCountingStrategy, Mockito.never()).countQuery(Mockito.any());
+
+        // More items than the maximum; falls back to the counting strategy
+        var second = executor.findAll(predicate, Pageable.ofSize(10));
+        assertThat(second).isInstanceOfSatisfying(ItemCountPage.class, page -> {
+            assertThat(page.getTotalItemCount()).isEqualTo(ItemCount.estimated(15));
+        });
+        Mockito.verify(mockCountingStrategy).countQuery(Mockito.any());
+
+        // The count from the counting strategy is below the maximum again
+        executor.findAll(predicate, Pageable.ofSize(10));
+        Mockito.verify(mockCountingStrategy, Mockito.times(1)).countQuery(Mockito.any());
+    }
+
+    @Test
+    void windowFunctionCount_aboveMaximumForOtherPredicate() {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.of(ItemCount.estimated(25)));
+
+        var executor = windowFunctionCountingExecutor();
+        var allCustomers = QCustomer.customer.vat.startsWith("VAT");
+        var someCustomers = QCustomer.customer.vat.startsWith("VAT1");
+
+        executor.findAll(allCustomers, Pageable.ofSize(10));
+        executor.findAll(allCustomers, Pageable.ofSize(10));
+        Mockito.verify(mockCountingStrategy).countQuery(Mockito.any());
+
+        // A large count for one filter does not stop small filtered collections from being counted with the page
+        var result = executor.findAll(someCustomers, Pageable.ofSize(5));
+        assertThat(result).isInstanceOfSatisfying(ItemCountPage.class, page -> {
+            assertThat(page.getTotalItemCount()).isEqualTo(ItemCount.exact(11));
+        });
+        Mockito.verify(mockCountingStrategy, Mockito.times(1)).countQuery(Mockito.any());
+    }
+
+    @Test
+    void pageMetrics() {
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any()))
+                .thenReturn(Optional.of(ItemCount.estimated(30)));
+
+        var meterRegistry = new SimpleMeterRegistry();
+        var executor = executorBuilder()
+                .metrics(new PaginationMetrics(meterRegistry, Customer.class))
+                .build();
+        var predicate = QCustomer.customer.vat.startsWith("VAT");
+
+        // Has a next page, so items are counted
+        executor.findAll(predicate, Pageable.ofSize(10));
+        // The last page, so the number of items follows from the page itself
+        executor.findAll(predicate, PageRequest.of(2, 10));
+        // No item count requested
+        executor.findAll(predicate, KeysetPageRequest.of(0, 10, Sort.unsorted()).withoutItemCount());
+
+        assertThat(meterRegistry.get(PaginationMetrics.PAGE_QUERY_METRIC)
+                .tag("domain_type", "Customer")
+                .tag("outcome", "success")
+                .timer()
+                .count()).isEqualTo(3);
+
+        assertThat(itemCountResults(meterRegistry, "estimated")).isEqualTo(1.0);
+        assertThat(itemCountResults(meterRegistry, "derived")).isEqualTo(1.0);
+        assertThat(itemCountResults(meterRegistry, "exact")).isZero();
+        assertThat(itemCountResults(meterRegistry, "unknown")).isZero();
+    }
+
+    @Test
+    void pageMetrics_coalescedPageHasResultOfExecutedQuery() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Mockito.when(mockCountingStrategy.countQuery(Mockito.any())).thenAnswer(invocation -> {
+            started.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return Optional.empty();
+        });
+
+        var meterRegistry = new SimpleMeterRegistry();
+        var executor = executorBuilder()
+                .queryCoalescer(new QueryCoalescer(meterRegistry))
+                .metrics(new PaginationMetrics(meterRegistry, Customer.class))
+                .build();
+        var predicate = QCustomer.customer.vat.startsWith("VAT");
+
+        var leader = CompletableFuture.runAsync(() -> executor.findAll(predicate, Pageable.ofSize(10)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var follower = new Thread(() -> executor.findAll(predicate, Pageable.ofSize(10)));
+        follower.start();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (follower.getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        follower.join(5_000);
+
+        Mockito.verify(mockCountingStrategy).countQuery(Mockito.any());
+        // The follower reused an item count that was adjusted to an estimate, but the count itself had no result
+        assertThat(itemCountResults(meterRegistry, "unknown")).isEqualTo(2.0);
+        assertThat(itemCountResults(meterRegistry, "estimated")).isZero();
+    }
+
+    private static double itemCountResults(SimpleMeterRegistry meterRegistry, String result) {
+        return meterRegistry.get(PaginationMetrics.ITEM_COUNT_METRIC)
+                .tag("domain_type", "Customer")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
 }
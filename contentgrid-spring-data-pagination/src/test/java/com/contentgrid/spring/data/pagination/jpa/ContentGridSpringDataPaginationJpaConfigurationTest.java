@@ -0,0 +1,43 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.pagination.jpa.strategy.BoundedCountItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.EstimateGatedItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.ExplainEstimateItemCountStrategy;
+import com.contentgrid.spring.data.pagination.jpa.strategy.TimedDirectCountItemCountStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ContentGridSpringDataPaginationJpaConfigurationTest {
+
+    @Test
+    void strategiesWrappedByEstimateGatedStrategyAreLeftOut() {
+        var timedDirectCount = new TimedDirectCountItemCountStrategy();
+        var explainEstimate = new ExplainEstimateItemCountStrategy();
+        var boundedCount = new BoundedCountItemCountStrategy(100);
+        var estimateGated = EstimateGatedItemCountStrategy.builder()
+                .estimateStrategy(explainEstimate)
+                .exactStrategy(timedDirectCount)
+                .exactCountThreshold(1000)
+                .slowShapeMemory(Duration.ofMinutes(1))
+                .meterRegistry(new SimpleMeterRegistry())
+                .build();
+
+        assertThat(ContentGridSpringDataPaginationJpaConfiguration.withoutWrappedStrategies(
+                List.of(estimateGated, boundedCount, timedDirectCount, explainEstimate)))
+                .containsExactly(estimateGated, boundedCount);
+    }
+
+    @Test
+    void strategiesAreKeptWithoutEstimateGatedStrategy() {
+        var timedDirectCount = new TimedDirectCountItemCountStrategy();
+        var explainEstimate = new ExplainEstimateItemCountStrategy();
+
+        assertThat(ContentGridSpringDataPaginationJpaConfiguration.withoutWrappedStrategies(
+                List.of(timedDirectCount, explainEstimate)))
+                .containsExactly(timedDirectCount, explainEstimate);
+    }
+}
@@ -0,0 +1,263 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.spring.data.pagination.StatementBudgetExceededException;
+import com.contentgrid.spring.data.pagination.jpa.QueryCoalescer.Query;
+import com.querydsl.core.types.dsl.Expressions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+class QueryCoalescerTest {
+
+    private static final Query QUERY = new Query(Object.class, Expressions.stringPath("name").eq("a"),
+            PageRequest.of(0, 20), null);
+
+    private static final Query BUDGETED_QUERY = new Query(Object.class, Expressions.stringPath("name").eq("a"),
+            PageRequest.of(0, 20), Duration.ofMillis(100));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryCoalescer coalescer = new QueryCoalescer(meterRegistry);
+
+    @Test
+    void identicalRunningQueryIsReused() throws Exception {
+        var executions = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.coalesce(QUERY, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }, result -> "shared " + result, Function.identity()));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var follower = new FollowerThread(new Query(Object.class, Expressions.stringPath("name").eq("a"),
+                PageRequest.of(0, 20), null), () -> {
+            executions.incrementAndGet();
+            return "result";
+        });
+        follower.start();
+        follower.awaitWaiting();
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        follower.join(5_000);
+        // The follower reuses what the leader shared
+        assertThat(follower.result).isEqualTo("shared result");
+        assertThat(executions).hasValue(1);
+
+        assertThat(count("executed")).isEqualTo(1.0);
+        assertThat(count("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    void differentQueriesAreNotCoalesced() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.coalesce(QUERY, () -> {
+            started.countDown();
+            await(release);
+            return "result";
+        }, Function.identity(), Function.identity()));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            var otherPredicate = new Query(Object.class, Expressions.stringPath("name").eq("b"),
+                    PageRequest.of(0, 20), null);
+            assertThat(coalescer.coalesce(otherPredicate, () -> "other predicate", Function.identity(),
+                    Function.identity())).isEqualTo("other predicate");
+
+            var otherPage = new Query(Object.class, Expressions.stringPath("name").eq("a"), PageRequest.of(1, 20),
+                    null);
+            assertThat(coalescer.coalesce(otherPage, () -> "other page", Function.identity(),
+                    Function.identity())).isEqualTo("other page");
+
+            assertThat(coalescer.coalesce(BUDGETED_QUERY, () -> "other budget", Function.identity(),
+                    Function.identity())).isEqualTo("other budget");
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(count("executed")).isEqualTo(4.0);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void completedQueryIsNotReused() {
+        var executions = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.coalesce(QUERY, executions::incrementAndGet, Function.identity(), Function.identity());
+        }
+
+        assertThat(executions).hasValue(3);
+        assertThat(count("executed")).isEqualTo(3.0);
+    }
+
+    @Test
+    void failedQueryIsExecutedAgainByWaiters() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.runAsync(() -> coalescer.coalesce(QUERY, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("query failed");
+        }, Function.identity(), Function.identity()));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var follower = new FollowerThread(QUERY, () -> "own result");
+        follower.start();
+        follower.awaitWaiting();
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        follower.join(5_000);
+        assertThat(follower.result).isEqualTo("own result");
+
+        assertThat(count("executed")).isEqualTo(2.0);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void waitingIsLimitedByTheBudget() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.coalesce(BUDGETED_QUERY, () -> {
+            started.countDown();
+            await(release);
+            return "result";
+        }, Function.identity(), Function.identity()));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            var start = System.nanoTime();
+            assertThatThrownBy(() -> coalescer.coalesce(BUDGETED_QUERY, () -> "own result", Function.identity(),
+                    Function.identity()))
+                    .isInstanceOfSatisfying(StatementBudgetExceededException.class, exception -> {
+                        assertThat(exception.getBudget()).isEqualTo(Duration.ofMillis(100));
+                    });
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(count("executed")).isEqualTo(1.0);
+        assertThat(count("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    void exceededBudgetIsNotExecutedAgainByWaiters() throws Exception {
+        var executions = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.runAsync(() -> coalescer.coalesce(QUERY, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            throw new StatementBudgetExceededException(Object.class, Duration.ofSeconds(5),
+                    new IllegalStateException("canceled"));
+        }, Function.identity(), Function.identity()));
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var follower = new FollowerThread(QUERY, () -> {
+            executions.incrementAndGet();
+            return "own result";
+        });
+        follower.start();
+        follower.awaitWaiting();
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StatementBudgetExceededException.class);
+        follower.join(5_000);
+        assertThat(follower.failure).isInstanceOf(StatementBudgetExceededException.class);
+        assertThat(executions).hasValue(1);
+
+        assertThat(count("executed")).isEqualTo(1.0);
+        assertThat(count("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    void countersAreRegisteredOnce() {
+        for (int i = 0; i < 3; i++) {
+            coalescer.coalesce(QUERY, () -> "result", Function.identity(), Function.identity());
+        }
+
+        assertThat(meterRegistry.find(QueryCoalescer.QUERIES_METRIC).counters()).hasSize(1);
+        assertThat(count("executed")).isEqualTo(3.0);
+    }
+
+    private double count(String result) {
+        var counter = meterRegistry.find(QueryCoalescer.QUERIES_METRIC)
+                .tag("result", result)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class FollowerThread extends Thread {
+
+        private final Query query;
+        private final Supplier<String> execute;
+        private volatile String result;
+        private volatile RuntimeException failure;
+
+        FollowerThread(Query query, Supplier<String> execute) {
+            this.query = query;
+            this.execute = execute;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result = coalescer.coalesce(query, execute, Function.identity(), Function.identity());
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Waits until the thread is blocked waiting for the running query
+         */
+        void awaitWaiting() throws InterruptedException {
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (getState() != State.WAITING && getState() != State.TIMED_WAITING) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.contentgrid.spring.data.pagination.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.spring.data.pagination.StatementBudgetExceededException;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@SpringBootTest(classes = InvoicingApplication.class)
+class StatementBudgetTest {
+
+    private static final String REQUEST_HEADER = "Statement-Budget";
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private StatementBudget statementBudget(Duration defaultBudget, Map<String, Duration> domainTypeBudgets) {
+        return StatementBudget.builder()
+                .transactionManager(transactionManager)
+                .defaultBudget(defaultBudget)
+                .domainTypeBudgets(domainTypeBudgets)
+                .requestHeader(REQUEST_HEADER)
+                .build();
+    }
+
+    private Object sleep(Duration duration) {
+        return entityManager.createNativeQuery("select 1 from pg_sleep(:seconds)")
+                .setParameter("seconds", duration.toMillis() / 1000.0)
+                .getSingleResult();
+    }
+
+    private String currentStatementTimeout() {
+        return (String) entityManager.createNativeQuery("select current_setting('statement_timeout')")
+                .getSingleResult();
+    }
+
+    private static void requestWithBudget(String budget) {
+        var request = new MockHttpServletRequest("GET", "/customers");
+        request.addHeader(REQUEST_HEADER, budget);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    void withinBudget() {
+        var statementBudget = statementBudget(Duration.ofSeconds(5), Map.of());
+
+        var result = statementBudget.apply(entityManager, Customer.class, () -> sleep(Duration.ofMillis(10)));
+
+        assertThat(result).isNotNull();
+    }
+
+    @Test
+    void budgetExceeded() {
+        var statementBudget = statementBudget(Duration.ofMillis(100), Map.of());
+
+        assertThatThrownBy(() -> statementBudget.apply(entityManager, Customer.class,
+                () -> sleep(Duration.ofSeconds(2))))
+                .isInstanceOfSatisfying(StatementBudgetExceededException.class, exception -> {
+                    assertThat(exception.getDomainType()).isEqualTo(Customer.class);
+                    assertThat(exception.getBudget()).isEqualTo(Duration.ofMillis(100));
+                });
+    }
+
+    @Test
+    void domainTypeBudget() {
+        var statementBudget = statementBudget(Duration.ofSeconds(5), Map.of("Customer", Duration.ofMillis(100)));
+
+        assertThat(statementBudget.budgetFor(Customer.class)).hasValue(Duration.ofMillis(100));
+        assertThat(statementBudget.budgetFor(Object.class)).hasValue(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> statementBudget.apply(entityManager, Customer.class,
+                () -> sleep(Duration.ofSeconds(2))))
+                .isInstanceOf(StatementBudgetExceededException.class);
+    }
+
+    @Test
+    void domainTypeWithoutBudget() {
+        var statementBudget = statementBudget(Duration.ofMillis(100),
+                Map.of(Customer.class.getName(), Duration.ZERO));
+
+        assertThat(statementBudget.budgetFor(Customer.class)).isEmpty();
+    }
+
+    @Test
+    void requestLowersBudget() {
+        var statementBudget = statementBudget(Duration.ofSeconds(5), Map.of());
+        requestWithBudget("100");
+
+        assertThat(statementBudget.budgetFor(Customer.class)).hasValue(Duration.ofMillis(100));
+        assertThatThrownBy(() -> statementBudget.apply(entityManager, Customer.class,
+                () -> sleep(Duration.ofSeconds(2))))
+                .isInstanceOf(StatementBudgetExceededException.class);
+    }
+
+    @Test
+    void requestCanNotRaiseBudget() {
+        var statementBudget = statementBudget(Duration.ofMillis(100), Map.of());
+
+        requestWithBudget("60000");
+        assertThat(statementBudget.budgetFor(Customer.class)).hasValue(Duration.ofMillis(100));
+
+        requestWithBudget("not-a-number");
+        assertThat(statementBudget.budgetFor(Customer.class)).hasValue(Duration.ofMillis(100));
+    }
+
+    @Test
+    void statementTimeoutIsRestoredWithinTransaction() {
+        var statementBudget = statementBudget(Duration.ofSeconds(5), Map.of());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var before = currentStatementTimeout();
+
+            var during = statementBudget.apply(entityManager, Customer.class, this::currentStatementTimeout);
+
+            assertThat(during).isEqualTo("5s");
+            assertThat(currentStatementTimeout()).isEqualTo(before);
+        });
+    }
+}
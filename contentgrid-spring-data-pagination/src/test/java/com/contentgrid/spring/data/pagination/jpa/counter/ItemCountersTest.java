@@ -0,0 +1,137 @@
+package com.contentgrid.spring.data.pagination.jpa.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.data.pagination.jpa.strategy.ItemCounterItemCountStrategy;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.pagination.item-counter.enabled=true"
+})
+class ItemCountersTest {
+
+    @Autowired
+    ItemCounters itemCounters;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    @BeforeEach
+    void reconcile() {
+        // Applications run the migration with Flyway
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/contentgrid/pagination/R__contentgrid_item_counter.sql")
+        ).execute(dataSource);
+        itemCounters.reconcile(Customer.class);
+    }
+
+    @AfterEach
+    void destroyCustomers() {
+        customerRepository.deleteAll();
+    }
+
+    private Customer createCustomer() {
+        var customer = new Customer();
+        customer.setVat("vat-" + UUID.randomUUID());
+        return customer;
+    }
+
+    @Test
+    void countsInsertsAndDeletes() {
+        var customers = customerRepository.saveAll(List.of(createCustomer(), createCustomer(), createCustomer()));
+        assertThat(itemCounters.get(Customer.class)).hasValue(customerRepository.count());
+
+        customerRepository.delete(customers.get(0));
+        assertThat(itemCounters.get(Customer.class)).hasValue(customerRepository.count());
+    }
+
+    @Test
+    void rolledBackInsertsAreNotCounted() {
+        var before = itemCounters.get(Customer.class).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customerRepository.saveAndFlush(createCustomer());
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemCounters.get(Customer.class)).hasValue(before);
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        customerRepository.save(createCustomer());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createNativeQuery("""
+                        UPDATE contentgrid_item_counter SET item_count = item_count + 5 WHERE domain_type = ?1
+                        """)
+                .setParameter(1, Customer.class.getName())
+                .executeUpdate());
+
+        assertThat(itemCounters.reconcile(Customer.class)).hasValue(5);
+        assertThat(itemCounters.get(Customer.class)).hasValue(customerRepository.count());
+        assertThat(itemCounters.reconcile(Customer.class)).hasValue(0);
+    }
+
+    @Test
+    void reconcileIsSkippedWhileAlreadyReconciling() throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (var statement = connection.prepareStatement(
+                    "SELECT pg_advisory_xact_lock(hashtext('contentgrid_item_counter'), hashtext(?))")) {
+                statement.setString(1, Customer.class.getName());
+                statement.execute();
+            }
+
+            assertThat(itemCounters.reconcile(Customer.class)).isEmpty();
+
+            connection.rollback();
+        }
+
+        assertThat(itemCounters.reconcile(Customer.class)).hasValue(0);
+    }
+
+    @Test
+    void countsUnfilteredCollectionsOnly() {
+        customerRepository.save(createCustomer());
+        var strategy = new ItemCounterItemCountStrategy(itemCounters);
+
+        var unfiltered = strategy.countQuery(() -> new JPAQuery<>(entityManager)
+                .from(QCustomer.customer)
+                .where(Expressions.TRUE));
+        var filtered = strategy.countQuery(() -> new JPAQuery<>(entityManager)
+                .from(QCustomer.customer)
+                .where(QCustomer.customer.vat.startsWith("vat-")));
+
+        assertThat(unfiltered).hasValue(ItemCount.exact(customerRepository.count()));
+        assertThat(filtered).isEmpty();
+    }
+}
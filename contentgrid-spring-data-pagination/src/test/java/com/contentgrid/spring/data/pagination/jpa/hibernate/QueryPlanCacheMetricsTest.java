@@ -0,0 +1,84 @@
+package com.contentgrid.spring.data.pagination.jpa.hibernate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.pagination.query-plan-cache.metrics=true",
+        "contentgrid.pagination.query-plan-cache.parameter-padding=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.contentgrid.spring.data.pagination.jpa.hibernate.QueryPlanCacheMetricsTest"
+                + "$RecordingStatementInspector"
+})
+class QueryPlanCacheMetricsTest {
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    QueryPlanCacheMetrics queryPlanCacheMetrics;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private double count(String result) {
+        return meterRegistry.get(QueryPlanCacheMetrics.PLAN_CACHE_METRIC)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    void filtersWithDifferentNumberOfValuesReuseThePlan() {
+        queryPlanCacheMetrics.bindTo(meterRegistry);
+
+        customerRepository.findAll(QCustomer.customer.vat.in("vat-1", "vat-2"));
+        var hits = count("hit");
+        var misses = count("miss");
+
+        customerRepository.findAll(QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3"));
+
+        assertThat(count("hit")).isGreaterThan(hits);
+        assertThat(count("miss")).isEqualTo(misses);
+    }
+
+    @Test
+    void filtersWithDifferentNumberOfValuesSendTheSameStatement() {
+        var three = placeholders(() -> customerRepository.findAll(
+                QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3")));
+        var four = placeholders(() -> customerRepository.findAll(
+                QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3", "vat-4")));
+        var five = placeholders(() -> customerRepository.findAll(
+                QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3", "vat-4", "vat-5")));
+
+        assertThat(three).isEqualTo(four).isEqualTo(4);
+        assertThat(five).isEqualTo(8);
+    }
+
+    private static long placeholders(Runnable query) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        query.run();
+        assertThat(RecordingStatementInspector.STATEMENTS).hasSize(1);
+        return RecordingStatementInspector.STATEMENTS.element().chars().filter(c -> c == '?').count();
+    }
+}
@@ -0,0 +1,74 @@
+package com.contentgrid.spring.data.pagination.jpa.hibernate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.pagination.query-plan-cache.metrics=true",
+        "contentgrid.pagination.query-plan-cache.parameter-padding=true"
+})
+class StatementShapeMetricsTest {
+
+    @Autowired
+    StatementShapeMetrics statementShapeMetrics;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void bindMetrics() {
+        statementShapeMetrics.bindTo(meterRegistry);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(StatementShapeMetrics.STATEMENTS_METRIC)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    void paddedFiltersRepeatTheStatement() {
+        customerRepository.findAll(QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3"));
+        var repeated = count("repeated");
+        var distinct = count("new");
+
+        // Padded to the same number of parameters as 3 values
+        customerRepository.findAll(QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3", "vat-4"));
+
+        assertThat(count("repeated")).isEqualTo(repeated + 1);
+        assertThat(count("new")).isEqualTo(distinct);
+
+        // Padded to the next power of two
+        customerRepository.findAll(QCustomer.customer.vat.in("vat-1", "vat-2", "vat-3", "vat-4", "vat-5"));
+
+        assertThat(count("repeated")).isEqualTo(repeated + 1);
+        assertThat(count("new")).isEqualTo(distinct + 1);
+    }
+
+    @Test
+    void statementIsOnlyNewOnce() {
+        var metrics = new StatementShapeMetrics();
+        var registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        metrics.inspect("select 1");
+        metrics.inspect("select 1");
+        metrics.inspect("select 2");
+
+        assertThat(registry.get(StatementShapeMetrics.STATEMENTS_METRIC).tag("result", "new")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get(StatementShapeMetrics.STATEMENTS_METRIC).tag("result", "repeated")
+                .functionCounter().count()).isEqualTo(1);
+    }
+}
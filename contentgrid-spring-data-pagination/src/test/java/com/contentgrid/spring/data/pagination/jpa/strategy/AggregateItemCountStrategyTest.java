@@ -0,0 +1,87 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.querydsl.jpa.JPQLQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class AggregateItemCountStrategyTest {
+
+    private static final Supplier<JPQLQuery<?>> QUERY = () -> {
+        throw new UnsupportedOperationException("Query is not used by the test strategies");
+    };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    static class SkippingStrategy implements JpaQuerydslItemCountStrategy {
+
+        @Override
+        public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+            return Optional.empty();
+        }
+    }
+
+    static class CountingStrategy implements JpaQuerydslItemCountStrategy {
+
+        @Override
+        public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+            return Optional.of(ItemCount.exact(5));
+        }
+    }
+
+    static class FailingStrategy implements JpaQuerydslItemCountStrategy {
+
+        @Override
+        public Optional<ItemCount> countQuery(Supplier<JPQLQuery<?>> jpqlQuery) {
+            throw new IllegalStateException("Counting failed");
+        }
+    }
+
+    @Test
+    void firstCountIsUsed() {
+        var strategy = new AggregateItemCountStrategy(
+                List.of(new SkippingStrategy(), new CountingStrategy(), new FailingStrategy()), meterRegistry);
+
+        assertThat(strategy.countQuery(QUERY)).hasValue(ItemCount.exact(5));
+
+        assertThat(timerCount("SkippingStrategy", "skipped")).isEqualTo(1);
+        assertThat(timerCount("CountingStrategy", "counted")).isEqualTo(1);
+        // Not reached
+        assertThat(timerCount("FailingStrategy", "failed")).isZero();
+    }
+
+    @Test
+    void noCount() {
+        var strategy = new AggregateItemCountStrategy(List.of(new SkippingStrategy()), meterRegistry);
+
+        assertThat(strategy.countQuery(QUERY)).isEmpty();
+
+        assertThat(timerCount("SkippingStrategy", "skipped")).isEqualTo(1);
+        assertThat(timerCount("SkippingStrategy", "counted")).isZero();
+    }
+
+    @Test
+    void failedCount() {
+        var strategy = new AggregateItemCountStrategy(List.of(new FailingStrategy(), new CountingStrategy()),
+                meterRegistry);
+
+        assertThatThrownBy(() -> strategy.countQuery(QUERY)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timerCount("FailingStrategy", "failed")).isEqualTo(1);
+        assertThat(timerCount("CountingStrategy", "counted")).isZero();
+    }
+
+    private long timerCount(String strategy, String result) {
+        return meterRegistry.get(AggregateItemCountStrategy.STRATEGY_METRIC)
+                .tag("strategy", strategy)
+                .tag("result", result)
+                .timer()
+                .count();
+    }
+}
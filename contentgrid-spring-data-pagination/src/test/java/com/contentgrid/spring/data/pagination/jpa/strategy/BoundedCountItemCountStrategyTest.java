@@ -0,0 +1,142 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(
+        classes = InvoicingApplication.class,
+        properties = {
+                "spring.datasource.hikari.connection-init-sql=set search_path=intercept,public"
+        })
+class BoundedCountItemCountStrategyTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seedCustomers() {
+        customerRepository.saveAllAndFlush(
+                IntStream.range(0, 25)
+                        .mapToObj(number -> {
+                            var customer = new Customer();
+                            customer.setName("Customer %d".formatted(number));
+                            customer.setVat("VAT%d".formatted(number));
+                            return customer;
+                        })
+                        .toList()
+        );
+    }
+
+    @AfterEach
+    void destroyCustomers() throws SQLException {
+        // Ensure that interception schema is cleaned up, outside of a transaction used for tests
+        try (var conn = dataSource.getConnection()) {
+            try (var statement = conn.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS intercept CASCADE;");
+            }
+        }
+
+        customerRepository.deleteAll();
+    }
+
+    private Supplier<JPQLQuery<?>> query(Predicate predicate) {
+        return () -> new JPAQuery<>(entityManager)
+                .from(QCustomer.customer)
+                .where(predicate)
+                .select(QCustomer.customer);
+    }
+
+    @Test
+    // Test needs to run in a transaction to have an open entity manager to perform queries
+    @Transactional
+    void countBelowMaximum_isExact() {
+        var strategy = new BoundedCountItemCountStrategy(100);
+
+        assertThat(strategy.countQuery(query(null))).hasValue(ItemCount.exact(25));
+        assertThat(strategy.countQuery(query(QCustomer.customer.vat.startsWith("VAT1"))))
+                .hasValue(ItemCount.exact(11));
+        assertThat(strategy.countQuery(query(QCustomer.customer.vat.eq("nope"))))
+                .hasValue(ItemCount.exact(0));
+    }
+
+    @Test
+    @Transactional
+    void countAtMaximum_isExact() {
+        var strategy = new BoundedCountItemCountStrategy(25);
+
+        assertThat(strategy.countQuery(query(null))).hasValue(ItemCount.exact(25));
+    }
+
+    @Test
+    @Transactional
+    void countAboveMaximum_isEstimatedLowerBound() {
+        var strategy = new BoundedCountItemCountStrategy(10);
+
+        assertThat(strategy.countQuery(query(null))).hasValue(ItemCount.estimated(11));
+    }
+
+    @Test
+    void countOutOfTime_withStatementTimeout() throws SQLException {
+        createSlowCustomerView();
+
+        var strategy = new BoundedCountItemCountStrategy(100, Duration.ofMillis(500), true);
+
+        var tx = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            assertThat(strategy.countQuery(query(null))).isEmpty();
+
+            // The timed out count did not abort the transaction
+            assertThat(entityManager.createNativeQuery("select 1").getSingleResult()).isEqualTo(1);
+        } finally {
+            transactionManager.commit(tx);
+        }
+    }
+
+    private void createSlowCustomerView() throws SQLException {
+        try (var conn = dataSource.getConnection()) {
+            try (var statement = conn.createStatement()) {
+                statement.addBatch("CREATE SCHEMA intercept;");
+                statement.addBatch("""
+                        CREATE VIEW intercept.customer AS
+                            SELECT customer.*
+                            FROM public.customer
+                            CROSS JOIN LATERAL pg_sleep(2);
+                        """);
+
+                statement.executeBatch();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class EstimateGatedItemCountStrategyTest {
+
+    private static final QCustomer customer = QCustomer.customer;
+
+    private final AtomicLong time = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicReference<Optional<ItemCount>> estimate = new AtomicReference<>(Optional.empty());
+    private final AtomicReference<Optional<ItemCount>> exact = new AtomicReference<>(Optional.empty());
+    private final AtomicInteger exactCounts = new AtomicInteger();
+
+    private final EstimateGatedItemCountStrategy strategy = EstimateGatedItemCountStrategy.builder()
+            .estimateStrategy(query -> estimate.get())
+            .exactStrategy(query -> {
+                exactCounts.incrementAndGet();
+                return exact.get();
+            })
+            .exactCountThreshold(1000)
+            .slowShapeMemory(Duration.ofMinutes(1))
+            .meterRegistry(meterRegistry)
+            .ticker(time::get)
+            .build();
+
+    private static Supplier<JPQLQuery<?>> query(Predicate predicate) {
+        return () -> new JPAQuery<>().from(customer).where(predicate);
+    }
+
+    private double pathCount(String path) {
+        return meterRegistry.get(EstimateGatedItemCountStrategy.PATH_METRIC).tag("path", path).counter().count();
+    }
+
+    @Test
+    void largeEstimateSkipsExactCount() {
+        estimate.set(Optional.of(ItemCount.estimated(5000)));
+        exact.set(Optional.of(ItemCount.exact(4000)));
+
+        assertThat(strategy.countQuery(query(customer.name.eq("abc")))).hasValue(ItemCount.estimated(5000));
+        assertThat(exactCounts).hasValue(0);
+        assertThat(pathCount("estimate-above-threshold")).isEqualTo(1);
+    }
+
+    @Test
+    void smallEstimateCountsExactly() {
+        estimate.set(Optional.of(ItemCount.estimated(50)));
+        exact.set(Optional.of(ItemCount.exact(40)));
+
+        assertThat(strategy.countQuery(query(customer.name.eq("abc")))).hasValue(ItemCount.exact(40));
+        assertThat(pathCount("exact")).isEqualTo(1);
+
+        var drift = meterRegistry.get(EstimateGatedItemCountStrategy.DRIFT_METRIC).summary();
+        assertThat(drift.count()).isEqualTo(1);
+        assertThat(drift.totalAmount()).isEqualTo(0.25);
+    }
+
+    @Test
+    void missingEstimateCountsExactly() {
+        exact.set(Optional.of(ItemCount.exact(40)));
+
+        assertThat(strategy.countQuery(query(customer.name.eq("abc")))).hasValue(ItemCount.exact(40));
+        assertThat(meterRegistry.get(EstimateGatedItemCountStrategy.DRIFT_METRIC).summary().count()).isZero();
+    }
+
+    @Test
+    void failedExactCountSkipsExactCountForSameFilterShape() {
+        estimate.set(Optional.of(ItemCount.estimated(50)));
+
+        assertThat(strategy.countQuery(query(customer.name.eq("abc")))).hasValue(ItemCount.estimated(50));
+        assertThat(pathCount("exact-failed")).isEqualTo(1);
+        assertThat(exactCounts).hasValue(1);
+
+        // Same filter with another value is skipped
+        assertThat(strategy.countQuery(query(customer.name.eq("def")))).hasValue(ItemCount.estimated(50));
+        assertThat(pathCount("estimate-known-slow")).isEqualTo(1);
+        assertThat(exactCounts).hasValue(1);
+
+        // Another filter is still counted exactly
+        exact.set(Optional.of(ItemCount.exact(40)));
+        assertThat(strategy.countQuery(query(customer.vat.eq("def")))).hasValue(ItemCount.exact(40));
+        assertThat(exactCounts).hasValue(2);
+
+        // After a while, the filter is tried again
+        time.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThat(strategy.countQuery(query(customer.name.eq("abc")))).hasValue(ItemCount.exact(40));
+        assertThat(exactCounts).hasValue(3);
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.Invoice;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class ItemCountCacheTest {
+
+    private static final QCustomer customer = QCustomer.customer;
+
+    private final AtomicLong time = new AtomicLong();
+    private final ItemCountCache cache = new ItemCountCache(100, Duration.ofSeconds(10), Duration.ofMinutes(1),
+            time::get);
+
+    private final AtomicInteger counted = new AtomicInteger();
+
+    private static JPQLQuery<?> query(Predicate... predicates) {
+        return new JPAQuery<>().from(customer).where(predicates);
+    }
+
+    private Optional<ItemCount> count(JPQLQuery<?> query) {
+        return cache.getOrCompute(query, () -> Optional.of(ItemCount.exact(counted.incrementAndGet())));
+    }
+
+    @Test
+    void sameFiltersInDifferentOrderShareCount() {
+        var byName = customer.name.eq("abc");
+        var byVat = customer.vat.eq("BE123");
+
+        assertThat(count(query(byName, byVat))).hasValue(ItemCount.exact(1));
+        assertThat(count(query(byVat, byName))).hasValue(ItemCount.exact(1));
+        assertThat(count(query(Expressions.TRUE, byName, byVat))).hasValue(ItemCount.exact(1));
+
+        assertThat(count(query(byName, customer.vat.eq("BE456")))).hasValue(ItemCount.exact(2));
+        assertThat(counted).hasValue(2);
+    }
+
+    @Test
+    void unfilteredQueryIgnoresDefaultPredicate() {
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+        assertThat(count(query(Expressions.TRUE))).hasValue(ItemCount.exact(1));
+    }
+
+    @Test
+    void failedCountsAreNotCached() {
+        assertThat(cache.getOrCompute(query(), Optional::empty)).isEmpty();
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+    }
+
+    @Test
+    void staleCountIsEstimateWhileRefreshing() {
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+
+        time.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        // While the first request refreshes the count, a concurrent request gets the stale count as an estimate
+        var duringRefresh = new AtomicLong(-1);
+        var refreshed = cache.getOrCompute(query(), () -> {
+            var concurrent = count(query());
+            assertThat(concurrent).hasValueSatisfying(itemCount -> assertThat(itemCount.isEstimated()).isTrue());
+            duringRefresh.set(concurrent.orElseThrow().count());
+            return Optional.of(ItemCount.exact(5));
+        });
+
+        assertThat(duringRefresh).hasValue(1);
+        assertThat(refreshed).hasValue(ItemCount.exact(5));
+        assertThat(count(query())).hasValue(ItemCount.exact(5));
+    }
+
+    @Test
+    void expiredCountIsRecomputed() {
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+
+        time.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(count(query())).hasValue(ItemCount.exact(2));
+    }
+
+    @Test
+    void createOrDeleteInvalidatesAllCounts() {
+        var filtered = customer.name.eq("abc");
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+        assertThat(count(query(filtered))).hasValue(ItemCount.exact(2));
+
+        cache.invalidateCounts(Customer.class);
+
+        assertThat(count(query())).hasValue(ItemCount.exact(3));
+        assertThat(count(query(filtered))).hasValue(ItemCount.exact(4));
+    }
+
+    @Test
+    void updateInvalidatesFilteredCounts() {
+        var filtered = customer.name.eq("abc");
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+        assertThat(count(query(filtered))).hasValue(ItemCount.exact(2));
+
+        cache.invalidateFilteredCounts(Customer.class);
+
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+        assertThat(count(query(filtered))).hasValue(ItemCount.exact(3));
+    }
+
+    @Test
+    void changeToAssociatedTypeInvalidatesCountsFilteringOnIt() {
+        var byInvoice = customer.invoices.any().number.eq("I-1");
+        var byName = customer.name.eq("abc");
+        assertThat(count(query(byInvoice))).hasValue(ItemCount.exact(1));
+        assertThat(count(query(byName))).hasValue(ItemCount.exact(2));
+
+        cache.invalidateFilteredCounts(Invoice.class);
+
+        assertThat(count(query(byInvoice))).hasValue(ItemCount.exact(3));
+        assertThat(count(query(byName))).hasValue(ItemCount.exact(2));
+    }
+
+    @Test
+    void countDuringUncommittedInsertIsNotCachedPastCommit() throws Exception {
+        assertThat(count(query())).hasValue(ItemCount.exact(1));
+
+        // The inserting transaction publishes its change event before it commits
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateCounts(Customer.class);
+
+            // A concurrent request does not see the uncommitted insert, and keeps getting the count without it
+            var concurrent = CompletableFuture.supplyAsync(() -> count(query())).get();
+            assertThat(concurrent).hasValue(ItemCount.exact(1));
+            assertThat(counted).hasValue(1);
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // After the commit, the count includes the insert
+        assertThat(count(query())).hasValue(ItemCount.exact(2));
+    }
+
+    @Test
+    void countInsideRolledBackTransactionIsNotCachedPastRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateCounts(Customer.class);
+
+            // The inserting transaction itself sees its uncommitted insert
+            assertThat(count(query())).hasValue(ItemCount.exact(1));
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(count(query())).hasValue(ItemCount.exact(2));
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.contentgrid.spring.data.pagination.jpa.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.pagination.ItemCount;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = InvoicingApplication.class)
+class TableStatisticsItemCountStrategyTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @BeforeEach
+    void seedCustomers() throws SQLException {
+        customerRepository.saveAllAndFlush(
+                IntStream.range(0, 25)
+                        .mapToObj(number -> {
+                            var customer = new Customer();
+                            customer.setName("Customer %d".formatted(number));
+                            customer.setVat("VAT%d".formatted(number));
+                            return customer;
+                        })
+                        .toList()
+        );
+
+        analyzeCustomers();
+    }
+
+    private void analyzeCustomers() throws SQLException {
+        // Make sure statistics are up-to-date
+        try (var conn = dataSource.getConnection()) {
+            try (var statement = conn.createStatement()) {
+                statement.execute("ANALYZE customer");
+            }
+        }
+    }
+
+    @AfterEach
+    void destroyCustomers() {
+        customerRepository.deleteAll();
+    }
+
+    private Supplier<JPQLQuery<?>> query(Predicate predicate) {
+        return () -> new JPAQuery<>(entityManager)
+                .from(QCustomer.customer)
+                .where(predicate)
+                .select(QCustomer.customer);
+    }
+
+    @Test
+    void unfilteredCount_isEstimated() {
+        var strategy = new TableStatisticsItemCountStrategy(entityManagerFactory, Duration.ofSeconds(10));
+
+        assertThat(strategy.countQuery(query(Expressions.TRUE))).hasValue(ItemCount.estimated(25));
+        assertThat(strategy.countQuery(query(null))).hasValue(ItemCount.estimated(25));
+    }
+
+    @Test
+    void filteredCount_isNotEstimated() {
+        var strategy = new TableStatisticsItemCountStrategy(entityManagerFactory, Duration.ofSeconds(10));
+
+        assertThat(strategy.countQuery(query(QCustomer.customer.name.eq("Customer 1")))).isEmpty();
+    }
+
+    @Test
+    void emptyTable_isNotEstimated() throws SQLException {
+        customerRepository.deleteAll();
+        analyzeCustomers();
+
+        var strategy = new TableStatisticsItemCountStrategy(entityManagerFactory, Duration.ofSeconds(10));
+
+        // Zero live rows can not be told apart from missing statistics; another strategy has to count
+        assertThat(strategy.countQuery(query(Expressions.TRUE))).isEmpty();
+    }
+
+}
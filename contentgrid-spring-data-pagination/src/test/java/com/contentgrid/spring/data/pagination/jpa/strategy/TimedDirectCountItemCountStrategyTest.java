@@ -10,6 +10,7 @@ import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import jakarta.persistence.EntityManager;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import javax.sql.DataSource;
@@ -93,19 +94,7 @@ class TimedDirectCountItemCountStrategyTest {
 
     @Test
     void performCount_outOfTime() throws SQLException {
-        try (var conn = dataSource.getConnection()) {
-            try (var statement = conn.createStatement()) {
-                statement.addBatch("CREATE SCHEMA intercept;");
-                statement.addBatch("""
-                        CREATE VIEW intercept.customer AS
-                            SELECT customer.*
-                            FROM public.customer
-                            CROSS JOIN LATERAL pg_sleep(2);
-                        """);
-
-                statement.executeBatch();
-            }
-        }
+        createSlowCustomerView();
 
         // Test needs to run in a transaction to have an open entity manager to perform queries
         var tx = transactionManager.getTransaction(TransactionDefinition.withDefaults());
@@ -122,4 +111,41 @@ class TimedDirectCountItemCountStrategyTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void performCount_outOfTime_withStatementTimeout() throws SQLException {
+        createSlowCustomerView();
+
+        var strategy = new TimedDirectCountItemCountStrategy(Duration.ofMillis(500), true);
+
+        var tx = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            Supplier<JPQLQuery<?>> querySupplier = () -> new JPAQuery<>(entityManager)
+                    .from(QCustomer.customer)
+                    .select(QCustomer.customer);
+
+            assertThat(strategy.countQuery(querySupplier)).isEmpty();
+
+            // The timed out count did not abort the transaction
+            assertThat(entityManager.createNativeQuery("select 1").getSingleResult()).isEqualTo(1);
+        } finally {
+            transactionManager.commit(tx);
+        }
+    }
+
+    private void createSlowCustomerView() throws SQLException {
+        try (var conn = dataSource.getConnection()) {
+            try (var statement = conn.createStatement()) {
+                statement.addBatch("CREATE SCHEMA intercept;");
+                statement.addBatch("""
+                        CREATE VIEW intercept.customer AS
+                            SELECT customer.*
+                            FROM public.customer
+                            CROSS JOIN LATERAL pg_sleep(2);
+                        """);
+
+                statement.executeBatch();
+            }
+        }
+    }
+
+}
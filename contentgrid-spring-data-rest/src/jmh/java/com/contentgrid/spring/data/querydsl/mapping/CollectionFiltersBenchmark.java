@@ -0,0 +1,213 @@
+package com.contentgrid.spring.data.querydsl.mapping;
+
+import com.contentgrid.spring.data.querydsl.paths.PathNavigator;
+import com.contentgrid.spring.data.rest.mapping.Container;
+import com.contentgrid.spring.data.rest.mapping.Property;
+import com.contentgrid.spring.data.rest.mapping.typeinfo.TypeInformationProperty;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilters;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Path;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.util.TypeInformation;
+
+/**
+ * Looks up collection filters in a synthetic domain model of 50 entities. Every entity has 20 filtered attributes and
+ * 8 filtered associations to other entities, and associations are followed up to depth 3, like
+ * {@link com.contentgrid.spring.data.rest.mapping.persistent.ThroughAssociationsContainer} does. That is 1460 filters
+ * for every entity.
+ * <p>
+ * The entities and their Q-classes are distinct types, generated by the {@code generateSyntheticEntities} task.
+ * <p>
+ * {@code firstLookup} is the first request for an entity, which only creates the levels that lead to the filter;
+ * {@code allFilters} is what creating the filters of an entity costs when all of them are needed. The other benchmarks
+ * use the filters after they have been created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionFiltersBenchmark {
+
+    private static final int ENTITIES = 50;
+    private static final int MAX_DEPTH = 3;
+
+    private static final String NESTED_FILTER_NAME = "association3.association5.attribute17";
+
+    private EntityPath<?>[] entityPaths;
+    private CollectionFilters[] collectionFilters;
+    private Path<?>[] nestedPaths;
+    private int entity;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        entityPaths = new EntityPath<?>[ENTITIES];
+        collectionFilters = new CollectionFilters[ENTITIES];
+        nestedPaths = new Path<?>[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            entityPaths[i] = createEntityPath(i);
+            collectionFilters[i] = createFilters(i);
+            collectionFilters[i].filters().count();
+            nestedPaths[i] = new PathNavigator(entityPaths[i])
+                    .get("association3")
+                    .get("association5")
+                    .get("attribute17")
+                    .getPath();
+        }
+    }
+
+    private static EntityPath<?> createEntityPath(int entity) throws ReflectiveOperationException {
+        var qClass = Class.forName(CollectionFiltersBenchmark.class.getPackageName() + ".QSyntheticEntity" + entity);
+        return (EntityPath<?>) qClass.getConstructor(String.class).newInstance("syntheticEntity" + entity);
+    }
+
+    private CollectionFilters createFilters(int entity) {
+        var entityPath = entityPaths[entity];
+        return new CollectionFiltersFactory(
+                new DirectPredicateFactoryInstantiator(),
+                "",
+                new SyntheticContainer(entityPath.getType(), MAX_DEPTH),
+                new PathNavigator(entityPath)
+        ).createFilters();
+    }
+
+    private int nextEntity() {
+        entity = (entity + 1) % ENTITIES;
+        return entity;
+    }
+
+    @Benchmark
+    public void firstLookup(Blackhole blackhole) {
+        blackhole.consume(createFilters(nextEntity()).named(NESTED_FILTER_NAME));
+    }
+
+    @Benchmark
+    public void allFilters(Blackhole blackhole) {
+        blackhole.consume(createFilters(nextEntity()).filters().count());
+    }
+
+    @Benchmark
+    public void named(Blackhole blackhole) {
+        blackhole.consume(collectionFilters[nextEntity()].named(NESTED_FILTER_NAME));
+    }
+
+    @Benchmark
+    public void sortingNamed(Blackhole blackhole) {
+        blackhole.consume(collectionFilters[nextEntity()].forSorting().named("attribute7"));
+    }
+
+    @Benchmark
+    public void forPath(Blackhole blackhole) {
+        var next = nextEntity();
+        blackhole.consume(collectionFilters[next].forPath(nestedPaths[next]).filters().findFirst());
+    }
+
+    /**
+     * Properties of one of the synthetic entities
+     */
+    private record SyntheticContainer(Class<?> type, int maxDepth) implements Container {
+
+        @Override
+        public TypeInformation<?> getTypeInformation() {
+            return TypeInformation.of(type);
+        }
+
+        @Override
+        public void doWithProperties(Consumer<Property> handler) {
+            doWithFields(field -> field.getType() == String.class, handler);
+        }
+
+        @Override
+        public void doWithAssociations(Consumer<Property> handler) {
+            doWithFields(field -> field.getType() != String.class, handler);
+        }
+
+        private void doWithFields(Predicate<Field> filter, Consumer<Property> handler) {
+            if (maxDepth <= 0) {
+                return;
+            }
+            var typeInformation = getTypeInformation();
+            for (Field field : type.getDeclaredFields()) {
+                if (!filter.test(field)) {
+                    continue;
+                }
+                var property = new TypeInformationProperty(field,
+                        typeInformation.getRequiredProperty(field.getName()));
+                if (field.getType() != String.class) {
+                    handler.accept(new SyntheticAssociation(property,
+                            new SyntheticContainer(field.getType(), maxDepth - 1)));
+                } else {
+                    handler.accept(property);
+                }
+            }
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationClass) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Association to another synthetic entity
+     */
+    private record SyntheticAssociation(Property delegate, Container target) implements Property {
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public TypeInformation<?> getTypeInformation() {
+            return delegate.getTypeInformation();
+        }
+
+        @Override
+        public boolean isIgnored() {
+            return false;
+        }
+
+        @Override
+        public boolean isRequired() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnique() {
+            return false;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+        @Override
+        public Optional<Container> nestedContainer() {
+            return Optional.of(target);
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationClass) {
+            return delegate.findAnnotation(annotationClass);
+        }
+    }
+}
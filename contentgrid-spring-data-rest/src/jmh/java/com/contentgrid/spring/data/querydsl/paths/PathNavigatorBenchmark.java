@@ -0,0 +1,52 @@
+package com.contentgrid.spring.data.querydsl.paths;
+
+import com.contentgrid.spring.data.querydsl.mapping.QSyntheticEntity0;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Navigates the paths of a Q-class with 20 attributes and 8 associations. Associations are not initialized by the
+ * Q-class, so every association step creates a new path, like navigating deeper than the path inits of a generated
+ * Q-class. Every association leads to a Q-class of another synthetic entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathNavigatorBenchmark {
+
+    private final PathNavigator navigator = new PathNavigator(new QSyntheticEntity0("syntheticEntity0"));
+
+    @Benchmark
+    public void attribute(Blackhole blackhole) {
+        blackhole.consume(navigator.get("attribute17").getPath());
+    }
+
+    @Benchmark
+    public void association(Blackhole blackhole) {
+        blackhole.consume(navigator.get("association7").getPath());
+    }
+
+    @Benchmark
+    public void deepAttribute(Blackhole blackhole) {
+        blackhole.consume(navigator
+                .get("association3")
+                .get("association5")
+                .get("association1")
+                .get("association7")
+                .get("association0")
+                .get("attribute19")
+                .getPath());
+    }
+}
@@ -0,0 +1,198 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathType;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.data.repository.support.Repositories;
+
+/**
+ * Finds the indexes that the {@link CollectionFilter}s of all domain types need, but that are missing in the database
+ * <p>
+ * Every filter declares which indexes it can use with {@link CollectionFilter#getIndexes()}. Those are mapped to the
+ * tables and columns of the entities, and compared to the existing indexes in {@code pg_indexes}.
+ * <p>
+ * Only indexes on columns of the entity that the filtered property belongs to are checked. Filters on
+ * {@link jakarta.persistence.ElementCollection}s or that can only be answered from a join table are not considered.
+ */
+@Slf4j
+public class CollectionFilterIndexAdvisor {
+
+    private final Repositories repositories;
+    private final CollectionFiltersMapping collectionFiltersMapping;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MappingMetamodel mappingMetamodel;
+
+    public CollectionFilterIndexAdvisor(
+            @NonNull Repositories repositories,
+            @NonNull CollectionFiltersMapping collectionFiltersMapping,
+            @NonNull EntityManagerFactory entityManagerFactory
+    ) {
+        this.repositories = repositories;
+        this.collectionFiltersMapping = collectionFiltersMapping;
+        this.entityManagerFactory = entityManagerFactory;
+        this.mappingMetamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+    }
+
+    /**
+     * Compares the indexes that all collection filters need with the indexes in the database
+     *
+     * @return Indexes that are needed by at least one collection filter, but that do not exist
+     */
+    public List<MissingIndex> findMissingIndexes() {
+        var neededIndexes = new LinkedHashMap<NeededIndex, List<String>>();
+        for (var domainType : repositories) {
+            collectionFiltersMapping.forDomainType(domainType).filters().forEach(filter -> {
+                filter.getIndexes().forEach(index -> {
+                    resolve(index).ifPresent(neededIndex -> neededIndexes
+                            .computeIfAbsent(neededIndex, key -> new ArrayList<>())
+                            .add(domainType.getSimpleName() + "#" + filter.getFilterName()));
+                });
+            });
+        }
+
+        var existingIndexes = new HashMap<String, List<PostgresIndexDefinition>>();
+        var missingIndexes = new ArrayList<MissingIndex>();
+        neededIndexes.forEach((neededIndex, filters) -> {
+            var tableIndexes = existingIndexes.computeIfAbsent(neededIndex.table(), this::loadIndexes);
+            var expression = neededIndex.index().toSql(MissingIndex.unquote(neededIndex.column()));
+            var covered = tableIndexes.stream().anyMatch(existing -> existing.covers(
+                    expression,
+                    neededIndex.index().getMethod(),
+                    neededIndex.index().getOperatorClass()
+            ));
+            if (!covered) {
+                missingIndexes.add(new MissingIndex(
+                        neededIndex.table(),
+                        neededIndex.column(),
+                        neededIndex.index().toSql(neededIndex.column()),
+                        neededIndex.index().getMethod(),
+                        neededIndex.index().getOperatorClass(),
+                        List.copyOf(filters)
+                ));
+            }
+        });
+        return missingIndexes;
+    }
+
+    private Optional<NeededIndex> resolve(CollectionFilterIndex index) {
+        return resolveColumn(index.getPath())
+                .map(tableColumn -> new NeededIndex(tableColumn.table(), tableColumn.column(), index));
+    }
+
+    /**
+     * Maps a path to the table and column of the property, on the nearest entity that the property belongs to
+     */
+    private Optional<TableColumn> resolveColumn(Path<?> path) {
+        var properties = new LinkedList<String>();
+        Path<?> current = path;
+        AbstractEntityPersister persister;
+        do {
+            var metadata = current.getMetadata();
+            if (metadata.getPathType() != PathType.PROPERTY || metadata.getParent() == null) {
+                log.debug("Path {} is not a property of an entity", path);
+                return Optional.empty();
+            }
+            properties.addFirst(metadata.getName());
+            current = metadata.getParent();
+            persister = findPersister(current.getType());
+        } while (persister == null);
+
+        var propertyPath = String.join(".", properties);
+        if (propertyPath.equals(persister.getIdentifierPropertyName())
+                && current.getMetadata().getPathType() == PathType.PROPERTY) {
+            // The id of a to-one association is stored in the foreign key column of the entity that owns the
+            // association
+            return resolveColumn(current);
+        }
+
+        try {
+            var columns = persister.getPropertyColumnNames(propertyPath);
+            if (columns == null || columns.length != 1) {
+                log.debug("Property {} of {} does not map to a single column", propertyPath, persister.getEntityName());
+                return Optional.empty();
+            }
+            return Optional.of(new TableColumn(persister.getTableName(), columns[0]));
+        } catch (RuntimeException e) {
+            log.debug("Could not map property {} of {} to a column", propertyPath, persister.getEntityName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private AbstractEntityPersister findPersister(Class<?> type) {
+        var descriptor = mappingMetamodel.findEntityDescriptor(type);
+        if (descriptor instanceof AbstractEntityPersister abstractEntityPersister) {
+            return abstractEntityPersister;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PostgresIndexDefinition> loadIndexes(String table) {
+        var separator = table.lastIndexOf('.');
+        var tableName = MissingIndex.unquote(table.substring(separator + 1));
+
+        var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<String> indexDefinitions;
+            if (separator < 0) {
+                indexDefinitions = entityManager.createNativeQuery("""
+                                SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?1
+                                """, String.class)
+                        .setParameter(1, tableName)
+                        .getResultList();
+            } else {
+                indexDefinitions = entityManager.createNativeQuery("""
+                                SELECT indexdef FROM pg_indexes WHERE schemaname = ?1 AND tablename = ?2
+                                """, String.class)
+                        .setParameter(1, MissingIndex.unquote(table.substring(0, separator)))
+                        .setParameter(2, tableName)
+                        .getResultList();
+            }
+            return indexDefinitions.stream()
+                    .flatMap(indexDefinition -> PostgresIndexDefinition.parse(indexDefinition).stream())
+                    .toList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private record TableColumn(String table, String column) {
+
+    }
+
+    /**
+     * An index on a column; filters on different paths to the same column need the same index
+     */
+    private record NeededIndex(String table, String column, CollectionFilterIndex index) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NeededIndex other
+                    && table.equals(other.table)
+                    && column.equals(other.column)
+                    && index.getExpression().equals(other.index.getExpression())
+                    && index.getMethod().equals(other.index.getMethod())
+                    && Objects.equals(index.getOperatorClass(), other.index.getOperatorClass());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(table, column, index.getExpression(), index.getMethod(), index.getOperatorClass());
+        }
+    }
+}
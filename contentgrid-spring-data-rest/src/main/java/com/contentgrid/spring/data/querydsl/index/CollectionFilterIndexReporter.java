@@ -0,0 +1,131 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reports the indexes that collection filters need, but that are missing in the database, when the application starts.
+ * <p>
+ * Every missing index is logged as a warning, together with the statement that creates it. When a migration directory
+ * is configured, a Flyway migration that creates all missing indexes is written to it as well. The migration uses
+ * {@code CREATE INDEX CONCURRENTLY}, which Flyway runs outside of a transaction; it requires the PostgreSQL
+ * transactional lock to be disabled, which is the default in ContentGrid applications.
+ * <p>
+ * The migration is only written to the directory; it is up to the developer to review it and move it to the
+ * migrations of the application.
+ */
+@Slf4j
+public class CollectionFilterIndexReporter implements SmartInitializingSingleton {
+
+    static final String MIGRATION_DESCRIPTION = "contentgrid_collection_filter_indexes";
+
+    private static final DateTimeFormatter VERSION_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final CollectionFilterIndexAdvisor advisor;
+    @Nullable
+    private final Path migrationDirectory;
+    private final Clock clock;
+
+    public CollectionFilterIndexReporter(
+            @NonNull CollectionFilterIndexAdvisor advisor,
+            @Nullable Path migrationDirectory
+    ) {
+        this(advisor, migrationDirectory, Clock.systemUTC());
+    }
+
+    CollectionFilterIndexReporter(
+            @NonNull CollectionFilterIndexAdvisor advisor,
+            @Nullable Path migrationDirectory,
+            @NonNull Clock clock
+    ) {
+        this.advisor = advisor;
+        this.migrationDirectory = migrationDirectory;
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<MissingIndex> missingIndexes;
+        try {
+            missingIndexes = advisor.findMissingIndexes();
+        } catch (RuntimeException e) {
+            log.warn("Could not check the indexes that collection filters need", e);
+            return;
+        }
+
+        if (missingIndexes.isEmpty()) {
+            log.info("All indexes that collection filters need exist");
+            return;
+        }
+
+        for (var missingIndex : missingIndexes) {
+            log.warn("Collection filters {} have no index on {}; create it with: {}",
+                    missingIndex.filters(), missingIndex.table(), missingIndex.createStatement());
+        }
+
+        if (migrationDirectory != null) {
+            try {
+                writeMigration(missingIndexes).ifPresent(migration ->
+                        log.warn("Wrote a migration for the missing collection filter indexes to {}", migration));
+            } catch (UncheckedIOException e) {
+                log.warn("Could not write a migration for the missing collection filter indexes", e);
+            }
+        }
+    }
+
+    /**
+     * Writes a Flyway migration that creates the missing indexes to the migration directory
+     *
+     * @param missingIndexes The indexes to create
+     * @return The migration file, or nothing if an earlier migration with the same statements is still there
+     */
+    Optional<Path> writeMigration(List<MissingIndex> missingIndexes) {
+        var lines = new ArrayList<String>();
+        lines.add("-- Indexes for collection filters that were missing in the database");
+        for (var missingIndex : missingIndexes) {
+            lines.add("");
+            lines.add("-- " + String.join(", ", missingIndex.filters()));
+            lines.add(missingIndex.createStatement());
+        }
+        var content = String.join("\n", lines) + "\n";
+
+        try {
+            Files.createDirectories(migrationDirectory);
+            try (var existing = Files.list(migrationDirectory)) {
+                var alreadyWritten = existing
+                        .filter(file -> file.getFileName().toString().endsWith("__" + MIGRATION_DESCRIPTION + ".sql"))
+                        .anyMatch(file -> hasContent(file, content));
+                if (alreadyWritten) {
+                    return Optional.empty();
+                }
+            }
+
+            var version = VERSION_FORMATTER.format(clock.instant());
+            var migration = migrationDirectory.resolve("V%s__%s.sql".formatted(version, MIGRATION_DESCRIPTION));
+            return Optional.of(Files.writeString(migration, content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean hasContent(Path file, String content) {
+        try {
+            return Files.readString(file).equals(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
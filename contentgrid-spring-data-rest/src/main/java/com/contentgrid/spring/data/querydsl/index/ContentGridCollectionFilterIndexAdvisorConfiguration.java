@@ -0,0 +1,37 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.webmvc.ContentGridRestProperties;
+
+@Configuration(proxyBeanMethods = false)
+public class ContentGridCollectionFilterIndexAdvisorConfiguration {
+
+    @Bean
+    CollectionFilterIndexAdvisor collectionFilterIndexAdvisor(
+            Repositories repositories,
+            CollectionFiltersMapping collectionFiltersMapping,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        return new CollectionFilterIndexAdvisor(repositories, collectionFiltersMapping, entityManagerFactory);
+    }
+
+    @Bean
+    CollectionFilterIndexReporter collectionFilterIndexReporter(
+            CollectionFilterIndexAdvisor collectionFilterIndexAdvisor,
+            ObjectProvider<ContentGridRestProperties> contentGridRestProperties
+    ) {
+        var indexAdvisorProperties = contentGridRestProperties.getIfAvailable(ContentGridRestProperties::new)
+                .getIndexAdvisor();
+        var migrationDirectory = Optional.ofNullable(indexAdvisorProperties.getMigrationDirectory())
+                .map(Path::of)
+                .orElse(null);
+        return new CollectionFilterIndexReporter(collectionFilterIndexAdvisor, migrationDirectory);
+    }
+}
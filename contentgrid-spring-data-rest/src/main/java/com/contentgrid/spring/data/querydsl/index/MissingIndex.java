@@ -0,0 +1,68 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import java.util.List;
+import java.util.Locale;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * An index that collection filters need, but that does not exist in the database
+ *
+ * @param table SQL name of the table that needs the index
+ * @param column SQL name of the column that is indexed
+ * @param expression SQL of the indexed expression
+ * @param method Access method of the index, like {@code btree} or {@code gin}
+ * @param operatorClass Operator class of the index, or {@code null} for the default operator class
+ * @param filters Names of the collection filters that need the index, prefixed with the name of their domain type
+ */
+public record MissingIndex(
+        @NonNull String table,
+        @NonNull String column,
+        @NonNull String expression,
+        @NonNull String method,
+        @Nullable String operatorClass,
+        @NonNull List<String> filters
+) {
+
+    /**
+     * PostgreSQL truncates identifiers that are longer than this
+     */
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private static final String DEFAULT_METHOD = "btree";
+
+    /**
+     * Name for the index, derived from the table, the column and the indexed expression
+     */
+    public String indexName() {
+        var suffix = "_idx";
+        if (!expression.equals(column) || !DEFAULT_METHOD.equals(method) || operatorClass != null) {
+            var hash = (expression + " " + method + " " + operatorClass).hashCode();
+            suffix = "_%08x_idx".formatted(hash);
+        }
+        var prefix = unquote(table.substring(table.lastIndexOf('.') + 1)) + "_" + unquote(column);
+        return prefix.substring(0, Math.min(prefix.length(), MAX_IDENTIFIER_LENGTH - suffix.length())) + suffix;
+    }
+
+    /**
+     * Statement that creates the index
+     * <p>
+     * The index is created {@code CONCURRENTLY}, so writes to the table are not blocked while the index is built.
+     * Such a statement can not run inside a transaction.
+     */
+    public String createStatement() {
+        var key = expression.equals(column) ? column : "(" + expression + ")";
+        if (operatorClass != null) {
+            key += " " + operatorClass;
+        }
+        var using = DEFAULT_METHOD.equals(method) ? "" : " USING " + method;
+        return "CREATE INDEX CONCURRENTLY IF NOT EXISTS \"%s\" ON %s%s (%s);".formatted(indexName(), table, using, key);
+    }
+
+    static String unquote(String identifier) {
+        if (identifier.length() >= 2 && identifier.startsWith("\"") && identifier.endsWith("\"")) {
+            return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+        }
+        return identifier.toLowerCase(Locale.ROOT);
+    }
+}
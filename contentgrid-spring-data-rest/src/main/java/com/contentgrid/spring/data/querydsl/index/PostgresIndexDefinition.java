@@ -0,0 +1,168 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * The leading key of an existing index, as reported by {@code pg_indexes.indexdef}
+ * <p>
+ * Only the leading key of an index is relevant: a filter on a single column or expression can only use an index that
+ * starts with that column or expression.
+ *
+ * @param method Index access method, like {@code btree}
+ * @param expression Normalized SQL of the leading key (see {@link #normalize(String)})
+ * @param operatorClass Operator class of the leading key, or {@code null} for the default operator class
+ * @param collation Collation of the leading key, or {@code null} for the collation of the column
+ * @param partial Whether the index only covers rows that match a {@code WHERE} condition
+ */
+record PostgresIndexDefinition(
+        @NonNull String method,
+        @NonNull String expression,
+        @Nullable String operatorClass,
+        @Nullable String collation,
+        boolean partial
+) {
+
+    private static final Pattern CAST = Pattern.compile("::(?:character varying|[a-z_][a-z0-9_]*)(?:\\(\\d+\\))?");
+    private static final Pattern SCHEMA_QUALIFIER = Pattern.compile("[a-z_][a-z0-9_]*\\.(?=[a-z_][a-z0-9_]*\\()");
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\s()\"]");
+    private static final Pattern SORT_ORDER = Pattern.compile("\\s+(?:ASC|DESC|NULLS FIRST|NULLS LAST)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern COLLATE = Pattern.compile("\\s+COLLATE\\s+(\"[^\"]+\"|\\S+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern OPERATOR_CLASS = Pattern.compile(
+            "\\s+((?:[a-z_][a-z0-9_]*\\.)?[a-z_][a-z0-9_]*_ops)$");
+
+    private static final Set<String> PATTERN_OPERATOR_CLASSES = Set.of(
+            "text_pattern_ops",
+            "varchar_pattern_ops",
+            "bpchar_pattern_ops"
+    );
+
+    private static final Set<String> BYTEWISE_COLLATIONS = Set.of("c", "posix", "ucs_basic");
+
+    /**
+     * Parses the definition of an index
+     *
+     * @param indexDefinition The {@code CREATE INDEX} statement of an index, as rendered by {@code pg_get_indexdef}
+     * @return The leading key of the index, or nothing if the definition could not be parsed
+     */
+    static Optional<PostgresIndexDefinition> parse(@NonNull String indexDefinition) {
+        var using = indexDefinition.indexOf(" USING ");
+        if (using < 0) {
+            return Optional.empty();
+        }
+        var open = indexDefinition.indexOf('(', using);
+        if (open < 0) {
+            return Optional.empty();
+        }
+        var method = indexDefinition.substring(using + " USING ".length(), open).trim().toLowerCase(Locale.ROOT);
+
+        var keys = new ArrayList<String>();
+        var close = splitKeys(indexDefinition, open, keys);
+        if (close < 0 || keys.isEmpty()) {
+            return Optional.empty();
+        }
+        var partial = indexDefinition.substring(close + 1).contains(" WHERE ");
+
+        var leadingKey = SORT_ORDER.matcher(keys.get(0).trim()).replaceAll("");
+
+        String collation = null;
+        var collateMatcher = COLLATE.matcher(leadingKey);
+        if (collateMatcher.find()) {
+            collation = collateMatcher.group(1).replace("\"", "").toLowerCase(Locale.ROOT);
+            leadingKey = collateMatcher.replaceAll("");
+        }
+
+        String operatorClass = null;
+        var operatorClassMatcher = OPERATOR_CLASS.matcher(leadingKey);
+        if (operatorClassMatcher.find()) {
+            operatorClass = operatorClassMatcher.group(1);
+            operatorClass = operatorClass.substring(operatorClass.lastIndexOf('.') + 1);
+            leadingKey = leadingKey.substring(0, operatorClassMatcher.start());
+        }
+
+        return Optional.of(new PostgresIndexDefinition(method, normalize(leadingKey), operatorClass, collation,
+                partial));
+    }
+
+    /**
+     * Splits the key list of an index definition at its top-level commas
+     *
+     * @return position of the parenthesis that closes the key list, or -1 if it is not closed
+     */
+    private static int splitKeys(String indexDefinition, int open, List<String> keys) {
+        int depth = 0;
+        int start = open + 1;
+        char quote = 0;
+        for (int i = open; i < indexDefinition.length(); i++) {
+            char c = indexDefinition.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    keys.add(indexDefinition.substring(start, i));
+                    return i;
+                }
+            } else if (c == ',' && depth == 1) {
+                keys.add(indexDefinition.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Normalizes SQL of an index key, so it can be compared with the way PostgreSQL renders an index key
+     * <p>
+     * PostgreSQL adds casts and parentheses, and only qualifies functions outside the search path with their schema.
+     * Those are all removed, together with quotes, whitespace and case differences.
+     *
+     * @param sql SQL of an index key
+     * @return The normalized form of the SQL
+     */
+    static String normalize(@NonNull String sql) {
+        var normalized = sql.toLowerCase(Locale.ROOT);
+        normalized = CAST.matcher(normalized).replaceAll("");
+        normalized = SCHEMA_QUALIFIER.matcher(normalized).replaceAll("");
+        return IGNORED_CHARACTERS.matcher(normalized).replaceAll("");
+    }
+
+    /**
+     * Whether this index can be used by the filters that need an index on an expression
+     *
+     * @param expression SQL of the expression that is filtered on
+     * @param requiredMethod Access method that the filter needs
+     * @param requiredOperatorClass Operator class that the filter needs, or {@code null} for the default operator class
+     * @return Whether the index can be used
+     */
+    boolean covers(@NonNull String expression, @NonNull String requiredMethod, @Nullable String requiredOperatorClass) {
+        if (partial || !requiredMethod.equals(method) || !this.expression.equals(normalize(expression))) {
+            return false;
+        }
+        if (requiredOperatorClass == null) {
+            return operatorClass == null;
+        }
+        if (PATTERN_OPERATOR_CLASSES.contains(requiredOperatorClass)) {
+            // Prefix matches can also use the default operator class when the comparison is bytewise
+            if (operatorClass == null) {
+                return collation != null && BYTEWISE_COLLATIONS.contains(collation);
+            }
+            return PATTERN_OPERATOR_CLASSES.contains(operatorClass);
+        }
+        return requiredOperatorClass.equals(operatorClass);
+    }
+}
@@ -2,6 +2,7 @@ package com.contentgrid.spring.data.querydsl.mapping;
 
 import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
 import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
@@ -9,6 +10,7 @@ import com.querydsl.core.types.Predicate;
 import java.lang.reflect.AnnotatedElement;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -51,4 +53,20 @@ class CollectionFilterImpl<T> implements CollectionFilter<T> {
         return predicateFactory.sortExpression(originalPath)
                 .map(expr -> new OrderSpecifier<>(order, expr));
     }
+
+    @Override
+    public Optional<OrderSpecifier<?>> createOrderSpecifier(Order order, Collection<T> parameters) {
+        return predicateFactory.sortExpression(originalPath, parameters)
+                .map(expr -> new OrderSpecifier<>(order, expr));
+    }
+
+    @Override
+    public boolean isSortedByParameters() {
+        return predicateFactory.sortsByValues();
+    }
+
+    @Override
+    public Stream<CollectionFilterIndex> getIndexes() {
+        return predicateFactory.indexes(originalPath);
+    }
 }
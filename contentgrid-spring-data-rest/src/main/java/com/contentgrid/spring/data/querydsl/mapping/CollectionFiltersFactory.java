@@ -9,16 +9,19 @@ import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
 import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
 import com.contentgrid.spring.querydsl.mapping.CollectionFilters;
 import com.querydsl.core.types.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.util.function.SingletonSupplier;
 
 @RequiredArgsConstructor
 class CollectionFiltersFactory {
@@ -35,38 +38,42 @@ class CollectionFiltersFactory {
     private final PathNavigator pathNavigator;
 
     public CollectionFilters createFilters() {
-        var map = filters().collect(Collectors.toMap(
-                CollectionFilter::getFilterName,
-                Function.identity(),
-                (a, b) -> {
-                    throw new IllegalStateException("Duplicate filter name '%s' defined on '%s' and '%s'"
-                            .formatted(a.getFilterName(), a.getAnnotatedElement(), b.getAnnotatedElement()));
-                },
-                // This "factory" supplier ensures that it remains ordered
-                LinkedHashMap::new
-        ));
-
-        // Collections.unmodifiableMap(…) gives a view on the existing map rather than copying, so it remains ordered
-        return new CollectionFiltersImpl(Collections.unmodifiableMap(map));
-
+        return new IndexedCollectionFiltersImpl(createLevel());
     }
 
-    private Stream<CollectionFilter<?>> filters() {
-        var filters = Stream.<CollectionFilter<?>>builder();
+    /**
+     * Creates the filters that are defined on the properties of the container, nested containers are only referenced
+     */
+    private CollectionFiltersLevel createLevel() {
+        var entries = new ArrayList<Supplier<Stream<CollectionFilter<?>>>>();
+        // These maps remain ordered, so lookups are deterministic
+        var filters = new LinkedHashMap<String, CollectionFilter<?>>();
+        var levels = new LinkedHashMap<String, SingletonSupplier<CollectionFiltersLevel>>();
 
         container.doWithAll(property -> {
-            getFilterParams(property)
-                    .flatMap(filterParam -> Stream.concat(
-                            this.createFilter(property, filterParam),
-                            this.createFactory(property, filterParam)
-                                    .flatMap(CollectionFiltersFactory::filters)
-                    ))
-                    .forEachOrdered(filters);
-
+            getFilterParams(property).forEachOrdered(filterParam -> {
+                this.createFilter(property, filterParam).forEachOrdered(filter -> {
+                    var existing = filters.putIfAbsent(filter.getFilterName(), filter);
+                    if (existing != null) {
+                        throw CollectionFiltersLevel.duplicateFilterName(existing, filter);
+                    }
+                    entries.add(() -> Stream.of(filter));
+                });
+
+                this.createFactory(property, filterParam).forEachOrdered(factory -> {
+                    var segment = getName(property, filterParam);
+                    var level = SingletonSupplier.of(factory::createLevel);
+                    if (levels.putIfAbsent(segment, level) != null) {
+                        throw new IllegalStateException("Duplicate filter name prefix '%s' defined on '%s'"
+                                .formatted(factory.prefix, property.getName()));
+                    }
+                    entries.add(() -> level.obtain().filters());
+                });
+            });
         });
 
-        return filters.build();
-
+        return new CollectionFiltersLevel(prefix, List.copyOf(entries), Collections.unmodifiableMap(filters),
+                Collections.unmodifiableMap(levels));
     }
 
     private Stream<CollectionFilter<?>> createFilter(Property property, CollectionFilterParam filterParam) {
@@ -0,0 +1,88 @@
+package com.contentgrid.spring.data.querydsl.mapping;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * One level of the trie of {@link CollectionFilter}s of an entity
+ * <p>
+ * A level holds the filters that are defined on the properties of one container, and the levels for its nested
+ * containers (embedded objects and associations), keyed by the segment of the filter name that leads to them. Nested
+ * levels are only created when a filter in them is first needed.
+ */
+@RequiredArgsConstructor
+class CollectionFiltersLevel {
+
+    /**
+     * Prefix of the names of all filters in this level, including the trailing {@code .}
+     */
+    @NonNull
+    private final String prefix;
+
+    /**
+     * Filters and nested levels, in the order they are defined in
+     */
+    @NonNull
+    private final List<Supplier<Stream<CollectionFilter<?>>>> entries;
+
+    /**
+     * Filters that are defined directly on this level, by their full name
+     */
+    @NonNull
+    private final Map<String, CollectionFilter<?>> filters;
+
+    /**
+     * Nested levels, by the segment of the filter name that leads to them
+     */
+    @NonNull
+    private final Map<String, SingletonSupplier<CollectionFiltersLevel>> levels;
+
+    /**
+     * @return All filters of this level and its nested levels, in the order they are defined in
+     */
+    Stream<CollectionFilter<?>> filters() {
+        return entries.stream().flatMap(Supplier::get);
+    }
+
+    /**
+     * Locates a filter by its full name, only creating the nested levels that lead to it
+     *
+     * @param filterName The full name of the filter
+     * @return The filter with the name, if there is one
+     * @throws IllegalStateException When the name is used by more than one filter
+     */
+    Optional<CollectionFilter<?>> named(String filterName) {
+        if (!filterName.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        CollectionFilter<?> found = filters.get(filterName);
+
+        // Segments can contain a '.' themselves, so every '.' is a candidate for the end of the segment.
+        // All candidates are checked, so a name that is used in more than one level is rejected.
+        for (int dot = filterName.indexOf('.', prefix.length()); dot >= 0; dot = filterName.indexOf('.', dot + 1)) {
+            var level = levels.get(filterName.substring(prefix.length(), dot));
+            if (level != null) {
+                var nestedFilter = level.obtain().named(filterName).orElse(null);
+                if (nestedFilter != null) {
+                    if (found != null) {
+                        throw duplicateFilterName(found, nestedFilter);
+                    }
+                    found = nestedFilter;
+                }
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    static IllegalStateException duplicateFilterName(CollectionFilter<?> existing, CollectionFilter<?> filter) {
+        return new IllegalStateException("Duplicate filter name '%s' defined on '%s' and '%s'"
+                .formatted(filter.getFilterName(), existing.getAnnotatedElement(), filter.getAnnotatedElement()));
+    }
+}
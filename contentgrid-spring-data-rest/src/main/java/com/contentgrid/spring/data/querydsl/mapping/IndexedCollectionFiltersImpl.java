@@ -0,0 +1,87 @@
+package com.contentgrid.spring.data.querydsl.mapping;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilters;
+import com.querydsl.core.types.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * All {@link CollectionFilter}s of an entity, indexed by name, by path and by sortability
+ * <p>
+ * Filters are looked up by name in the trie of {@link CollectionFiltersLevel}s, which only creates the nested levels
+ * that lead to the filter. The indexes by path, for sorting and for documentation need all filters, they are built
+ * the first time they are used.
+ * <p>
+ * Filters in different levels can end up with the same full name, like a filter named {@code a.b} next to a nested
+ * level {@code a} with a filter {@code b}. Such duplicates are rejected when the name is looked up, or when all
+ * filters are first needed.
+ */
+class IndexedCollectionFiltersImpl extends AbstractCollectionFiltersImpl {
+
+    private static final CollectionFilters EMPTY = new CollectionFiltersImpl(Map.of());
+
+    private final CollectionFiltersLevel root;
+
+    private final SingletonSupplier<CollectionFilters> allFilters;
+    private final SingletonSupplier<Map<Path<?>, CollectionFilters>> filtersByPath;
+    private final SingletonSupplier<CollectionFilters> sortingFilters;
+    private final SingletonSupplier<CollectionFilters> documentedFilters;
+
+    IndexedCollectionFiltersImpl(CollectionFiltersLevel root) {
+        this.root = root;
+        this.allFilters = SingletonSupplier.of(() -> index(root.filters()));
+        this.filtersByPath = SingletonSupplier.of(() -> allFilters.obtain().filters()
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(CollectionFilter::getPath, LinkedHashMap::new, Collectors.toList()),
+                        byPath -> {
+                            var index = new LinkedHashMap<Path<?>, CollectionFilters>();
+                            byPath.forEach((path, filters) -> index.put(path, index(filters.stream())));
+                            return index;
+                        }
+                )));
+        this.sortingFilters = SingletonSupplier.of(() -> index(super.forSorting().filters()));
+        this.documentedFilters = SingletonSupplier.of(() -> index(super.documented().filters()));
+    }
+
+    private static CollectionFilters index(Stream<CollectionFilter<?>> filters) {
+        var map = new LinkedHashMap<String, CollectionFilter<?>>();
+        filters.forEachOrdered(filter -> {
+            var existing = map.putIfAbsent(filter.getFilterName(), filter);
+            if (existing != null) {
+                throw CollectionFiltersLevel.duplicateFilterName(existing, filter);
+            }
+        });
+        return new CollectionFiltersImpl(Collections.unmodifiableMap(map));
+    }
+
+    @Override
+    public Stream<CollectionFilter<?>> filters() {
+        return allFilters.obtain().filters();
+    }
+
+    @Override
+    public Optional<CollectionFilter<?>> named(String filterName) {
+        return root.named(filterName);
+    }
+
+    @Override
+    public CollectionFilters forPath(Path<?> path) {
+        return filtersByPath.obtain().getOrDefault(path, EMPTY);
+    }
+
+    @Override
+    public CollectionFilters forSorting() {
+        return sortingFilters.obtain();
+    }
+
+    @Override
+    public CollectionFilters documented() {
+        return documentedFilters.obtain();
+    }
+}
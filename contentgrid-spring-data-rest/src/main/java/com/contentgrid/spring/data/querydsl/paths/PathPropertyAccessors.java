@@ -0,0 +1,166 @@
+package com.contentgrid.spring.data.querydsl.paths;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.BeanPath;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.PathInits;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.ReflectionUtils.FieldFilter;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Accessors for the public {@link Path} fields of a Q-class, indexed by the name of the property they represent
+ * <p>
+ * The accessors are looked up once per Q-class, and are shared by all instances of that Q-class.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class PathPropertyAccessors {
+
+    private static final Map<Class<?>, PathPropertyAccessors> CACHE = new ConcurrentReferenceHashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, PathMetadata.class);
+
+    private final Map<String, PathPropertyAccessor> accessors;
+
+    /**
+     * Obtain the accessors for the Q-class of a path
+     * <p>
+     * The property names of the fields are read from the path when the Q-class is first seen. Fields that are not
+     * initialized on that path are assumed to represent the property with the same name as the field.
+     *
+     * @param qInstance An instance of the Q-class
+     * @return The accessors for the Q-class
+     */
+    static PathPropertyAccessors forPath(Path<?> qInstance) {
+        return CACHE.computeIfAbsent(qInstance.getClass(), type -> create(qInstance));
+    }
+
+    private static PathPropertyAccessors create(Path<?> qInstance) {
+        var lookup = MethodHandles.lookup();
+        var accessors = new HashMap<String, PathPropertyAccessor>();
+        ReflectionUtils.doWithFields(qInstance.getClass(), field -> {
+            var path = (Path<?>) ReflectionUtils.getField(field, qInstance);
+            var propertyName = path == null ? field.getName() : path.getMetadata().getName();
+            if (accessors.containsKey(propertyName)) {
+                return;
+            }
+            ReflectionUtils.makeAccessible(field);
+            var getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            accessors.put(propertyName, new PathPropertyAccessor(field, getter,
+                    SingletonSupplier.of(() -> createConstructor(lookup, field))));
+        }, new ModifiersFieldFilter(Modifier::isPublic, m -> !Modifier.isStatic(m)).and(new TypeFieldFilter(Path.class)));
+
+        return new PathPropertyAccessors(Map.copyOf(accessors));
+    }
+
+    private static MethodHandle createConstructor(MethodHandles.Lookup lookup, Field field) {
+        try {
+            if (EntityPathBase.class.isAssignableFrom(field.getType())) {
+                var constructor = ReflectionUtils.accessibleConstructor(field.getType(), PathMetadata.class,
+                        PathInits.class);
+                return MethodHandles.insertArguments(lookup.unreflectConstructor(constructor), 1, PathInits.DIRECT)
+                        .asType(CONSTRUCTOR_TYPE);
+            } else if (BeanPath.class.isAssignableFrom(field.getType())) {
+                var constructor = ReflectionUtils.accessibleConstructor(field.getType(), PathMetadata.class);
+                return lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+            } else {
+                return null;
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            ReflectionUtils.handleReflectionException(e);
+            return null; // unreachable
+        }
+    }
+
+    /**
+     * Obtain the path of a property from an instance of the Q-class
+     *
+     * @param qInstance An instance of the Q-class that these accessors were created for
+     * @param propertyName The name of the property
+     * @return The path of the property, if the Q-class has a field for it
+     */
+    Optional<Path<?>> get(Path<?> qInstance, String propertyName) {
+        var accessor = accessors.get(propertyName);
+        if (accessor == null) {
+            return Optional.empty();
+        }
+        return Optional.of(accessor.get(qInstance, propertyName));
+    }
+
+    @RequiredArgsConstructor
+    private static class PathPropertyAccessor {
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final SingletonSupplier<MethodHandle> constructor;
+
+        Path<?> get(Path<?> qInstance, String propertyName) {
+            try {
+                Object path = getter.invokeExact((Object) qInstance);
+                if (path == null) {
+                    // This case can happen when going more levels deep than requested by the pathinits set on the initial object.
+                    // Note that in for generated Q-classes, these are always references to another Q-class, so we can instantiate them here from path metadata
+                    path = initializePath(qInstance, propertyName);
+                }
+                return (Path<?>) path;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object initializePath(Path<?> qInstance, String propertyName) throws Throwable {
+            var constructorHandle = constructor.get();
+            if (constructorHandle == null) {
+                throw new IllegalStateException("Path '%s': field '%s' is null and can not be constructed".formatted(qInstance, field));
+            }
+            return constructorHandle.invokeExact(PathMetadataFactory.forProperty(qInstance, propertyName));
+        }
+    }
+
+    private static class ModifiersFieldFilter implements FieldFilter {
+        private final IntPredicate[] filters;
+
+        public ModifiersFieldFilter(IntPredicate... filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean matches(Field field) {
+            var modifiers = field.getModifiers();
+            for (IntPredicate filter : filters) {
+                if(!filter.test(modifiers)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class TypeFieldFilter implements FieldFilter {
+        private final Class<?> type;
+
+        @Override
+        public boolean matches(Field field) {
+            return type.isAssignableFrom(field.getType());
+        }
+    }
+}
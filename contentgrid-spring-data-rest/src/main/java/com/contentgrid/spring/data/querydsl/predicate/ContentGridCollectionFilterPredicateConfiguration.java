@@ -1,7 +1,11 @@
 package com.contentgrid.spring.data.querydsl.predicate;
 
+import com.contentgrid.spring.querydsl.converter.CollectionFilterQuerydslPredicateConverter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.data.repository.support.Repositories;
 
 @Configuration(proxyBeanMethods = false)
@@ -12,4 +16,12 @@ public class ContentGridCollectionFilterPredicateConfiguration {
         return new SpringDataEntityId(repositories);
     }
 
+    @Bean
+    CollectionFilterQuerydslPredicateConverter contentGridCollectionFilterQuerydslPredicateConverter(
+            CollectionFiltersMapping collectionFiltersMapping,
+            @Qualifier("defaultConversionService") ConversionService conversionService
+    ) {
+        return new CollectionFilterQuerydslPredicateConverter(collectionFiltersMapping, conversionService);
+    }
+
 }
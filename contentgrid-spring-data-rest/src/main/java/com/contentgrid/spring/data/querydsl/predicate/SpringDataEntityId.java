@@ -1,6 +1,7 @@
 package com.contentgrid.spring.data.querydsl.predicate;
 
 import com.contentgrid.spring.data.querydsl.paths.PathNavigator;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicatePathTypeException;
 import com.contentgrid.spring.querydsl.predicate.AbstractSimpleQuerydslPredicateFactory;
@@ -12,6 +13,7 @@ import com.querydsl.core.types.dsl.CollectionPathBase;
 import com.querydsl.core.types.dsl.EntityPathBase;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.repository.support.Repositories;
 
@@ -45,6 +47,11 @@ class SpringDataEntityId extends AbstractSimpleQuerydslPredicateFactory<Path<Obj
         return DEFAULT.bind(path, values);
     }
 
+    @Override
+    public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+        return DEFAULT.indexes(coercePath(path));
+    }
+
     @Override
     public String getFilterType() {
         return "exact-match";
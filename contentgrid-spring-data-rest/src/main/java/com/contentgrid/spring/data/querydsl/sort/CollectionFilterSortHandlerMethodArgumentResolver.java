@@ -1,9 +1,13 @@
 package com.contentgrid.spring.data.querydsl.sort;
 
+import com.contentgrid.spring.querydsl.converter.CollectionFilterQuerydslPredicateConverter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
 import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
 import com.querydsl.core.types.OrderSpecifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.springframework.core.MethodParameter;
@@ -28,6 +32,7 @@ public class CollectionFilterSortHandlerMethodArgumentResolver extends
     private final SortArgumentResolver delegate;
     private final CollectionFiltersMapping collectionFiltersMapping;
     private final ResourceMetadataHandlerMethodArgumentResolver resourceMetadataHandlerMethodArgumentResolver;
+    private final CollectionFilterQuerydslPredicateConverter predicateConverter;
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
@@ -52,7 +57,7 @@ public class CollectionFilterSortHandlerMethodArgumentResolver extends
         for (Order order : originalSort) {
             var orderSpecifier = sortFilters
                     .named(order.getProperty())
-                    .flatMap(cf -> cf.createOrderSpecifier(convertDirection(order.getDirection())))
+                    .flatMap(cf -> createOrderSpecifier(cf, convertDirection(order.getDirection()), webRequest))
                     .orElseThrow(() -> new UnsupportedSortPropertyException(order));
 
             orderSpecifiers.add(orderSpecifier);
@@ -83,6 +88,26 @@ public class CollectionFilterSortHandlerMethodArgumentResolver extends
         }
     }
 
+    /**
+     * Creates the order specifier for a filter, taking into account the values the collection is filtered on by the
+     * same filter when the filter sorts by them
+     */
+    private <T> Optional<OrderSpecifier<?>> createOrderSpecifier(CollectionFilter<T> filter,
+            com.querydsl.core.types.Order order, NativeWebRequest webRequest) {
+        if (!filter.isSortedByParameters()) {
+            return filter.createOrderSpecifier(order);
+        }
+
+        var parameterValues = webRequest.getParameterValues(filter.getFilterName());
+        if (parameterValues == null || parameterValues.length == 0) {
+            return filter.createOrderSpecifier(order);
+        }
+
+        // Converted the same way as for the predicate of the filter
+        return filter.createOrderSpecifier(order,
+                predicateConverter.convertParameters(filter, Arrays.asList(parameterValues)));
+    }
+
     private static com.querydsl.core.types.Order convertDirection(Direction direction) {
         return switch (direction) {
             case ASC -> com.querydsl.core.types.Order.ASC;
@@ -1,5 +1,6 @@
 package com.contentgrid.spring.data.querydsl.sort;
 
+import com.contentgrid.spring.querydsl.converter.CollectionFilterQuerydslPredicateConverter;
 import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
 import java.util.ArrayList;
 import java.util.List;
@@ -80,13 +81,14 @@ public class ContentGridCollectionFilterSortConfiguration {
     @Bean
     static BeanPostProcessor postProcessSortHandlerMethodArgumentResolver(
             @org.springframework.context.annotation.Lazy CollectionFiltersMapping collectionFiltersMapping,
-            @org.springframework.context.annotation.Lazy ResourceMetadataHandlerMethodArgumentResolver resourceMetadataHandlerMethodArgumentResolver
+            @org.springframework.context.annotation.Lazy ResourceMetadataHandlerMethodArgumentResolver resourceMetadataHandlerMethodArgumentResolver,
+            @org.springframework.context.annotation.Lazy CollectionFilterQuerydslPredicateConverter predicateConverter
     ) {
         return new BeanPostProcessor() {
             @Override
             public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
                 if(bean instanceof SortArgumentResolver sortArgumentResolver) {
-                    return new CollectionFilterSortHandlerMethodArgumentResolver(sortArgumentResolver, collectionFiltersMapping, resourceMetadataHandlerMethodArgumentResolver);
+                    return new CollectionFilterSortHandlerMethodArgumentResolver(sortArgumentResolver, collectionFiltersMapping, resourceMetadataHandlerMethodArgumentResolver, predicateConverter);
                 }
                 return bean;
             }
@@ -0,0 +1,41 @@
+package com.contentgrid.spring.data.rest.export;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mapping.context.PersistentEntities;
+
+/**
+ * Leaves out associations when serializing entities, so exporting an entity never loads related entities
+ */
+@RequiredArgsConstructor
+class AssociationOmittingSerializerModifier extends BeanSerializerModifier {
+
+    private final PersistentEntities persistentEntities;
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+            List<BeanPropertyWriter> beanProperties) {
+        var persistentEntity = persistentEntities.getPersistentEntity(beanDesc.getBeanClass());
+        if (persistentEntity.isEmpty()) {
+            return beanProperties;
+        }
+
+        var associations = new HashSet<String>();
+        for (var definition : beanDesc.findProperties()) {
+            var property = persistentEntity.get().getPersistentProperty(definition.getInternalName());
+            if (property != null && property.isAssociation()) {
+                associations.add(definition.getName());
+            }
+        }
+
+        var properties = new ArrayList<>(beanProperties);
+        properties.removeIf(writer -> associations.contains(writer.getName()));
+        return properties;
+    }
+}
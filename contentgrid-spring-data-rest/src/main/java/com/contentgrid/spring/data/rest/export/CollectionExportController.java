@@ -0,0 +1,128 @@
+package com.contentgrid.spring.data.rest.export;
+
+import com.contentgrid.spring.data.pagination.KeysetPageRequest;
+import com.contentgrid.spring.data.rest.mapping.DomainTypeMapping;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.data.rest.core.mapping.ResourceType;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.rest.webmvc.RootResourceInformation;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ * Exports all entities of a collection resource as newline-delimited JSON or CSV.
+ * <p>
+ * Entities are read through the same repository invoker as the collection resource, so the same collection filters,
+ * sorting and access restrictions apply. They are fetched in batches of a fixed size, which are located by the sort key
+ * values of the previous batch. After every batch, the entities are written to the response and the persistence
+ * context is cleared, so memory usage does not depend on the number of exported entities. Items are not counted, and
+ * no links are generated for the exported entities.
+ * <p>
+ * Because the response is streamed, an error that happens after the first batch was written can not change the
+ * response status anymore; the response is cut off instead.
+ */
+@RepositoryRestController
+@RequiredArgsConstructor
+public class CollectionExportController {
+
+    static final String EXPORT_MAPPING = "/{repository}/export";
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String CSV_VALUE = "text/csv";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+    private static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+
+    @NonNull
+    private final ObjectMapper objectMapper;
+
+    @NonNull
+    private final DomainTypeMapping domainTypeMapping;
+
+    @NonNull
+    private final ObjectProvider<EntityManager> entityManager;
+
+    private final int batchSize;
+
+    @RequestMapping(value = EXPORT_MAPPING, method = RequestMethod.GET, produces = {NDJSON_VALUE, CSV_VALUE})
+    void export(@QuerydslPredicate RootResourceInformation resourceInformation, Sort sort,
+            HttpServletRequest request, HttpServletResponse response)
+            throws IOException, HttpRequestMethodNotSupportedException {
+        resourceInformation.verifySupportedMethod(HttpMethod.GET, ResourceType.COLLECTION);
+
+        var mediaType = selectMediaType(request);
+        var path = resourceInformation.getResourceMetadata().getPath().toString();
+        var fileName = StringUtils.trimLeadingCharacter(path, '/') + (CSV.equals(mediaType) ? ".csv" : ".ndjson");
+        response.setContentType(mediaType.toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+
+        var invoker = resourceInformation.getInvoker();
+        Pageable pageable = KeysetPageRequest.of(0, batchSize, sort).withoutItemCount();
+
+        try (var writer = createWriter(mediaType, resourceInformation.getDomainType(), response)) {
+            while (true) {
+                var batch = invoker.invokeFindAll(pageable);
+                for (var entity : batch) {
+                    writer.write(entity);
+                }
+                writer.flush();
+                // Exported entities are not needed anymore; don't keep them around until the request is done
+                entityManager.ifUnique(EntityManager::clear);
+
+                if (batch instanceof Slice<?> slice && slice.hasNext()) {
+                    pageable = slice.nextPageable();
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
+    private ExportWriter createWriter(MediaType mediaType, Class<?> domainType, HttpServletResponse response)
+            throws IOException {
+        if (CSV.equals(mediaType)) {
+            return new CsvExportWriter(objectMapper, domainTypeMapping.forDomainType(domainType),
+                    response.getOutputStream());
+        }
+        return new NdjsonExportWriter(objectMapper, response.getOutputStream());
+    }
+
+    /**
+     * @return The most specific export media type that is accepted; newline-delimited JSON when there is no preference
+     */
+    private static MediaType selectMediaType(HttpServletRequest request) {
+        var accepted = new ArrayList<>(new ServletServerHttpRequest(request).getHeaders().getAccept());
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (var mediaType : accepted) {
+            if (mediaType.isCompatibleWith(NDJSON)) {
+                return NDJSON;
+            }
+            if (mediaType.isCompatibleWith(CSV)) {
+                return CSV;
+            }
+        }
+        return NDJSON;
+    }
+}
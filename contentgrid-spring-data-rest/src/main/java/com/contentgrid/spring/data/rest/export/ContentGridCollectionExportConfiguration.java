@@ -0,0 +1,36 @@
+package com.contentgrid.spring.data.rest.export;
+
+import com.contentgrid.spring.data.rest.mapping.ContentGridDomainTypeMappingConfiguration;
+import com.contentgrid.spring.data.rest.mapping.DomainTypeMapping;
+import com.contentgrid.spring.data.rest.mapping.FormMapping;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.data.rest.webmvc.ContentGridRestProperties;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration(proxyBeanMethods = false)
+@Import(ContentGridDomainTypeMappingConfiguration.class)
+public class ContentGridCollectionExportConfiguration {
+
+    @Bean
+    CollectionExportController collectionExportController(
+            ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+            PersistentEntities persistentEntities,
+            @FormMapping DomainTypeMapping formDomainTypeMapping,
+            ObjectProvider<EntityManager> entityManager,
+            ObjectProvider<ContentGridRestProperties> contentGridRestProperties
+    ) {
+        var objectMapper = objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json).build();
+        objectMapper.registerModule(new SimpleModule()
+                .setSerializerModifier(new AssociationOmittingSerializerModifier(persistentEntities)));
+
+        var exportProperties = contentGridRestProperties.getIfAvailable(ContentGridRestProperties::new).getExport();
+        return new CollectionExportController(objectMapper, formDomainTypeMapping, entityManager,
+                exportProperties.getBatchSize());
+    }
+}
@@ -0,0 +1,99 @@
+package com.contentgrid.spring.data.rest.export;
+
+import com.contentgrid.spring.data.rest.mapping.Container;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every entity as a row of comma-separated values (RFC 4180)
+ * <p>
+ * There is a column for every attribute of the entity; attributes of embedded objects get their own column, named
+ * after the path to the attribute, separated by dots. Values that are not scalar are written as JSON.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final ObjectMapper objectMapper;
+    private final List<JsonPointer> columns;
+    private final Writer writer;
+
+    CsvExportWriter(ObjectMapper objectMapper, Container container, OutputStream outputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.columns = new ArrayList<>();
+        collectColumns(container, JsonPointer.empty(), columns);
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        writeRow(columns.stream()
+                .map(column -> column.toString().substring(1).replace('/', '.'))
+                .toList());
+    }
+
+    private static void collectColumns(Container container, JsonPointer parent, List<JsonPointer> columns) {
+        container.doWithProperties(property -> {
+            if (property.isIgnored()) {
+                return;
+            }
+            var pointer = parent.appendProperty(property.getName());
+            property.nestedContainer().ifPresentOrElse(
+                    nested -> collectColumns(nested, pointer, columns),
+                    () -> columns.add(pointer)
+            );
+        });
+    }
+
+    @Override
+    public void write(Object entity) throws IOException {
+        var tree = objectMapper.valueToTree(entity);
+        var values = new ArrayList<String>(columns.size());
+        for (var column : columns) {
+            var node = tree.at(column);
+            if (node.isMissingNode() || node.isNull()) {
+                values.add("");
+            } else if (node.isValueNode()) {
+                values.add(node.asText());
+            } else {
+                values.add(objectMapper.writeValueAsString(node));
+            }
+        }
+        writeRow(values);
+    }
+
+    private void writeRow(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values.get(i));
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\r') < 0 && value.indexOf('\n') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
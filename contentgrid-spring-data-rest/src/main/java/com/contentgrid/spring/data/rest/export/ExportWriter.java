@@ -0,0 +1,17 @@
+package com.contentgrid.spring.data.rest.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported entities to the response, one entity at a time
+ */
+interface ExportWriter extends Closeable {
+
+    void write(Object entity) throws IOException;
+
+    /**
+     * Sends everything that has been written so far to the client
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.contentgrid.spring.data.rest.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes every entity as a JSON object on its own line
+ */
+class NdjsonExportWriter implements ExportWriter {
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        // Flushing is done once per batch, not after every entity
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.createGenerator(outputStream);
+        // Entities are separated by newlines, which are written explicitly
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Object entity) throws IOException {
+        objectWriter.writeValue(generator, entity);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -1,6 +1,7 @@
 package com.contentgrid.spring.data.rest.problem;
 
 import com.contentgrid.spring.data.pagination.InvalidPaginationException;
+import com.contentgrid.spring.data.pagination.StatementBudgetExceededException;
 import com.contentgrid.spring.data.querydsl.sort.UnsupportedSortPropertyException;
 import com.contentgrid.spring.data.rest.problem.ext.ConstraintViolationProblemProperties;
 import com.contentgrid.spring.data.rest.problem.ext.ConstraintViolationProblemProperties.FieldViolationProblemProperties;
@@ -245,4 +246,15 @@ public class ContentGridExceptionHandler {
         );
     }
 
+    @ExceptionHandler
+    ResponseEntity<Problem> handleStatementBudgetExceededException(StatementBudgetExceededException exception) {
+        return responseEntityFactory.createResponse(
+                problemFactory.createProblem(
+                                ProblemType.STATEMENT_BUDGET_EXCEEDED,
+                                String.valueOf(exception.getBudget().toMillis())
+                        )
+                        .withStatus(HttpStatus.SERVICE_UNAVAILABLE)
+        );
+    }
+
 }
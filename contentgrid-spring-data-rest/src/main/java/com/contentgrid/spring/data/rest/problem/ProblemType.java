@@ -13,6 +13,7 @@ public enum ProblemType implements ProblemTypeResolvable {
     INVALID_FILTER_PARAMETER_FORMAT("invalid-filter-parameter", "format"),
     INVALID_SORT_PARAMETER("invalid-query-parameter", "sort"),
     INVALID_PAGINATION_PARAMETER("invalid-query-parameter", "pagination"),
+    STATEMENT_BUDGET_EXCEEDED("statement-budget-exceeded"),
 
     INVALID_REQUEST_BODY("invalid-request-body"),
     INVALID_REQUEST_BODY_TYPE("invalid-request-body", "type"),
@@ -0,0 +1,30 @@
+package com.contentgrid.spring.data.rest.warmup;
+
+import com.contentgrid.spring.data.rest.mapping.DomainTypeMapping;
+import com.contentgrid.spring.data.rest.mapping.FormMapping;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.webmvc.ContentGridRestProperties;
+
+@Configuration(proxyBeanMethods = false)
+public class ContentGridDomainTypeMetadataWarmUpConfiguration {
+
+    @Bean
+    DomainTypeMetadataWarmUp domainTypeMetadataWarmUp(
+            Repositories repositories,
+            CollectionFiltersMapping collectionFiltersMapping,
+            @FormMapping DomainTypeMapping formDomainTypeMapping,
+            ObjectProvider<ContentGridRestProperties> contentGridRestProperties
+    ) {
+        var warmUpProperties = contentGridRestProperties.getIfAvailable(ContentGridRestProperties::new).getWarmUp();
+        return new DomainTypeMetadataWarmUp(
+                repositories,
+                collectionFiltersMapping,
+                formDomainTypeMapping,
+                warmUpProperties.getParallelism()
+        );
+    }
+}
@@ -0,0 +1,103 @@
+package com.contentgrid.spring.data.rest.warmup;
+
+import com.contentgrid.spring.data.rest.mapping.DomainTypeMapping;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Builds the metadata of all domain types when the application starts, so the first request for a domain type does not
+ * have to build it.
+ * <p>
+ * For every domain type, the warm-up builds the collection filters with their indexes for sorting and documentation,
+ * and the containers of the domain type. Both are cached by their mapping, so later requests reuse them.
+ * <p>
+ * Domain types are warmed up in parallel. The warm-up runs when all singletons are instantiated, so it is finished
+ * before the application reports that it is ready to accept traffic. A domain type that fails to warm up is logged,
+ * and does not stop the application from starting; its metadata is built on the first request instead.
+ */
+@Slf4j
+public class DomainTypeMetadataWarmUp implements SmartInitializingSingleton {
+
+    private final Repositories repositories;
+    private final CollectionFiltersMapping collectionFiltersMapping;
+    private final DomainTypeMapping domainTypeMapping;
+    private final int parallelism;
+
+    private final Map<Class<?>, Duration> durations = new ConcurrentHashMap<>();
+
+    public DomainTypeMetadataWarmUp(
+            @NonNull Repositories repositories,
+            @NonNull CollectionFiltersMapping collectionFiltersMapping,
+            @NonNull DomainTypeMapping domainTypeMapping,
+            int parallelism
+    ) {
+        this.repositories = repositories;
+        this.collectionFiltersMapping = collectionFiltersMapping;
+        this.domainTypeMapping = domainTypeMapping;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var start = System.nanoTime();
+        var executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("contentgrid-warm-up-"));
+        try {
+            var warmUps = new ArrayList<CompletableFuture<Void>>();
+            for (Class<?> domainType : repositories) {
+                warmUps.add(CompletableFuture.runAsync(() -> warmUp(domainType), executor));
+            }
+            CompletableFuture.allOf(warmUps.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        log.info("Warmed up the metadata of {} domain types in {} ms", durations.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void warmUp(Class<?> domainType) {
+        var start = System.nanoTime();
+        try {
+            var collectionFilters = collectionFiltersMapping.forDomainType(domainType);
+            collectionFilters.filters().count();
+            collectionFilters.forSorting().filters().count();
+            collectionFilters.documented().filters().count();
+
+            domainTypeMapping.forDomainType(domainType).doWithAll(property -> {
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not warm up the metadata of {}", domainType.getName(), e);
+            return;
+        }
+
+        var duration = Duration.ofNanos(System.nanoTime() - start);
+        durations.put(domainType, duration);
+        log.debug("Warmed up the metadata of {} in {} ms", domainType.getName(), duration.toMillis());
+    }
+
+    /**
+     * Obtain how long the warm-up took for every domain type that was warmed up
+     *
+     * @return The warm-up duration of every domain type, ordered by the name of the domain type
+     */
+    public Map<Class<?>, Duration> getDurations() {
+        var result = new LinkedHashMap<Class<?>, Duration>();
+        durations.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getKey().getName()))
+                .forEachOrdered(entry -> result.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -10,14 +10,61 @@ public class ContentGridRestProperties {
     boolean useMultipartHalForms = false;
     boolean exposeLegacyPageInfo = true;
     PaginationType pagination = PaginationType.PAGE_NUMBER;
+    Export export = new Export();
+    IndexAdvisor indexAdvisor = new IndexAdvisor();
+    WarmUp warmUp = new WarmUp();
 
     @Getter
     @RequiredArgsConstructor
     public enum PaginationType {
         PAGE_NUMBER(false),
-        PAGE_CURSOR(true);
+        PAGE_CURSOR(true),
+        KEYSET_CURSOR(true);
 
         private final boolean cursorBased;
 
     }
+
+    @Data
+    public static class Export {
+
+        /**
+         * Whether the {@code /{repository}/export} endpoint is available
+         */
+        boolean enabled = false;
+
+        /**
+         * Number of entities that are fetched from the database at once
+         */
+        int batchSize = 500;
+    }
+
+    @Data
+    public static class IndexAdvisor {
+
+        /**
+         * Whether indexes that collection filters need are checked against the database on startup
+         */
+        boolean enabled = false;
+
+        /**
+         * Directory to write a Flyway migration to that creates the missing indexes, if any
+         */
+        String migrationDirectory;
+    }
+
+    @Data
+    public static class WarmUp {
+
+        /**
+         * Whether the metadata of all domain types is built on startup, before the application is ready to accept
+         * traffic
+         */
+        boolean enabled = false;
+
+        /**
+         * Number of domain types that are warmed up at the same time; defaults to the number of available processors
+         */
+        int parallelism = 0;
+    }
 }
@@ -4,6 +4,7 @@ import com.contentgrid.spring.data.querydsl.mapping.ContentGridCollectionFilterM
 import com.contentgrid.spring.data.querydsl.predicate.ContentGridCollectionFilterPredicateConfiguration;
 import com.contentgrid.spring.data.querydsl.sort.ContentGridCollectionFilterSortConfiguration;
 import com.contentgrid.spring.data.rest.messages.ContentGridRestMessagesConfiguration;
+import com.contentgrid.spring.querydsl.converter.CollectionFilterQuerydslPredicateConverter;
 import com.contentgrid.spring.querydsl.resolver.CollectionFilterParamPredicateResolver;
 import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
 import com.contentgrid.thunx.spring.data.querydsl.predicate.injector.rest.webmvc.QuerydslBindingsPredicateResolver;
@@ -14,7 +15,6 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
-import org.springframework.core.convert.ConversionService;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.rest.core.support.SelfLinkProvider;
 import org.springframework.data.rest.webmvc.support.RepositoryEntityLinks;
@@ -69,8 +69,7 @@ public class ContentGridSpringDataRestConfiguration {
             public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
                 if(bean instanceof QuerydslBindingsPredicateResolver) {
                     return new CollectionFilterParamPredicateResolver(
-                            applicationContext.getBean(CollectionFiltersMapping.class),
-                            applicationContext.getBean("defaultConversionService", ConversionService.class)
+                            applicationContext.getBean(CollectionFilterQuerydslPredicateConverter.class)
                     );
                 }
                 return bean;
@@ -0,0 +1,99 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.rest.index-advisor.enabled=true"
+})
+class CollectionFilterIndexAdvisorTest {
+
+    @Autowired
+    CollectionFilterIndexAdvisor advisor;
+
+    @Autowired
+    DataSource dataSource;
+
+    @TempDir
+    Path migrationDirectory;
+
+    private MissingIndex missingVatIndex() {
+        return advisor.findMissingIndexes().stream()
+                .filter(index -> index.filters().contains("Customer#vat"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void execute(String sql) throws SQLException {
+        // CREATE INDEX CONCURRENTLY can not run inside a transaction
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute(sql);
+        }
+    }
+
+    @Test
+    void reportsMissingIndexes() {
+        var missingIndexes = advisor.findMissingIndexes();
+
+        // vat has a unique index, but the case-insensitive filter needs an index on lower(vat)
+        assertThat(missingVatIndex()).satisfies(index -> {
+            assertThat(index.table()).isEqualTo("\"customer\"");
+            assertThat(index.expression()).isEqualTo("lower(\"vat\")");
+            assertThat(index.operatorClass()).isNull();
+        });
+
+        // Primary keys are always indexed
+        assertThat(missingIndexes).noneSatisfy(index -> assertThat(index.column()).isEqualTo("\"id\""));
+        // Filters on the same column share the index
+        assertThat(missingIndexes)
+                .extracting(index -> index.table() + "." + index.expression() + " " + index.operatorClass())
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void createdIndexIsNoLongerReported() throws SQLException {
+        var missingIndex = missingVatIndex();
+
+        execute(missingIndex.createStatement());
+        try {
+            assertThat(advisor.findMissingIndexes())
+                    .noneSatisfy(index -> assertThat(index.filters()).contains("Customer#vat"));
+        } finally {
+            execute("DROP INDEX \"%s\"".formatted(missingIndex.indexName()));
+        }
+    }
+
+    @Test
+    void writesFlywayMigration() throws Exception {
+        var clock = Clock.fixed(Instant.parse("2024-03-01T10:15:30Z"), ZoneOffset.UTC);
+        var reporter = new CollectionFilterIndexReporter(advisor, migrationDirectory, clock);
+        var missingIndexes = advisor.findMissingIndexes();
+
+        assertThat(reporter.writeMigration(missingIndexes)).hasValueSatisfying(migration -> {
+            assertThat(migration.getFileName())
+                    .hasToString("V20240301101530__contentgrid_collection_filter_indexes.sql");
+            assertThat(migration).content()
+                    .contains("-- Customer#vat")
+                    .contains(missingVatIndex().createStatement());
+        });
+
+        // The same migration is not written twice
+        assertThat(reporter.writeMigration(missingIndexes)).isEmpty();
+        try (var migrations = Files.list(migrationDirectory)) {
+            assertThat(migrations).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.contentgrid.spring.data.querydsl.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class PostgresIndexDefinitionTest {
+
+    static Stream<Arguments> coveredExpressions() {
+        return Stream.of(
+                Arguments.of("CREATE UNIQUE INDEX customer_vat_key ON public.customer USING btree (vat)",
+                        "\"vat\"", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (vat, name)",
+                        "vat", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (lower((vat)::text))",
+                        "lower(\"vat\")", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (lower(normalize((name)::text, NFKC)))",
+                        "lower(normalize(name, NFKC))", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (lower((vat)::text) text_pattern_ops)",
+                        "lower(vat)", "text_pattern_ops"),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (name varchar_pattern_ops DESC)",
+                        "name", "text_pattern_ops"),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (name COLLATE \"C\")",
+                        "name", "text_pattern_ops"),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree "
+                                + "(extensions.contentgrid_prefix_search_normalize((name)::text) text_pattern_ops)",
+                        "extensions.contentgrid_prefix_search_normalize(name)", "text_pattern_ops"),
+                // Functions in the search path are not qualified with their schema
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree "
+                                + "(contentgrid_prefix_search_normalize((name)::text) text_pattern_ops)",
+                        "extensions.contentgrid_prefix_search_normalize(name)", "text_pattern_ops")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void coveredExpressions(String indexDefinition, String expression, String operatorClass) {
+        assertThat(PostgresIndexDefinition.parse(indexDefinition)).hasValueSatisfying(index -> {
+            assertThat(index.covers(expression, "btree", operatorClass)).isTrue();
+        });
+    }
+
+    static Stream<Arguments> uncoveredExpressions() {
+        return Stream.of(
+                // Not the leading column
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (name, vat)",
+                        "vat", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (vat)",
+                        "lower(vat)", null),
+                // Prefix matches need a pattern operator class
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (lower((vat)::text))",
+                        "lower(vat)", "text_pattern_ops"),
+                // Range comparisons do not work with a pattern operator class
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (name text_pattern_ops)",
+                        "name", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING hash (vat)",
+                        "vat", null),
+                Arguments.of("CREATE INDEX idx ON public.customer USING btree (vat) WHERE (vat IS NOT NULL)",
+                        "vat", null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void uncoveredExpressions(String indexDefinition, String expression, String operatorClass) {
+        assertThat(PostgresIndexDefinition.parse(indexDefinition)).hasValueSatisfying(index -> {
+            assertThat(index.covers(expression, "btree", operatorClass)).isFalse();
+        });
+    }
+
+    @Test
+    void fullTextIndex() {
+        var index = PostgresIndexDefinition.parse("CREATE INDEX idx ON public.invoice USING gin "
+                + "(to_tsvector('simple'::regconfig, (number)::text))").orElseThrow();
+
+        assertThat(index.covers("to_tsvector('simple', \"number\")", "gin", null)).isTrue();
+        assertThat(index.covers("to_tsvector('simple', \"number\")", "btree", null)).isFalse();
+        assertThat(index.covers("to_tsvector('english', \"number\")", "gin", null)).isFalse();
+    }
+
+    @Test
+    void trigramIndex() {
+        var index = PostgresIndexDefinition.parse("CREATE INDEX idx ON public.customer USING gin "
+                + "(normalize((name)::text, NFKC) extensions.gin_trgm_ops)").orElseThrow();
+
+        assertThat(index.covers("normalize(\"name\", NFKC)", "gin", "gin_trgm_ops")).isTrue();
+        assertThat(index.covers("normalize(\"name\", NFKC)", "gin", null)).isFalse();
+        assertThat(index.covers("\"name\"", "gin", "gin_trgm_ops")).isFalse();
+    }
+
+    @Test
+    void unparseableDefinition() {
+        assertThat(PostgresIndexDefinition.parse("CREATE INDEX idx ON public.customer")).isEmpty();
+        assertThat(PostgresIndexDefinition.parse("CREATE INDEX idx ON public.customer USING btree (vat")).isEmpty();
+    }
+}
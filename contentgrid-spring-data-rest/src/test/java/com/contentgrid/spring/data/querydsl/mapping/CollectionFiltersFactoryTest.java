@@ -1,15 +1,19 @@
 package com.contentgrid.spring.data.querydsl.mapping;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.spring.data.querydsl.paths.PathNavigator;
 import com.contentgrid.spring.data.rest.mapping.typeinfo.TypeInformationContainer;
 import com.contentgrid.spring.querydsl.annotation.CollectionFilterParam;
 import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.EntityPathBase;
 import com.querydsl.core.types.dsl.StringPath;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -59,6 +63,49 @@ class CollectionFiltersFactoryTest {
 
     }
 
+    @Entity
+    public static class TestEntityWithEmbedded {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.AUTO)
+        private UUID myId;
+
+        @CollectionFilterParam
+        private String field1;
+
+        @Embedded
+        @CollectionFilterParam("nested")
+        private TestEmbeddable embedded;
+
+        @CollectionFilterParam
+        private String field2;
+    }
+
+    @Entity
+    public static class TestEntityWithClashingNestedNames {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.AUTO)
+        private UUID myId;
+
+        @CollectionFilterParam("nested.field3")
+        private String field1;
+
+        @Embedded
+        @CollectionFilterParam("nested")
+        private TestEmbeddable embedded;
+    }
+
+    @Embeddable
+    public static class TestEmbeddable {
+
+        @CollectionFilterParam
+        private String field3;
+
+        @CollectionFilterParam("field.4")
+        private String field4;
+    }
+
     private static class MultipleBoundPredicate implements QuerydslPredicateFactory<StringPath, String> {
 
         @Override
@@ -94,6 +141,54 @@ class CollectionFiltersFactoryTest {
                 .hasMessageContaining("Duplicate filter name 'field1'");
     }
 
+    @Test
+    void rejectsDuplicateFilterNamesAcrossLevels() {
+        var path = QCollectionFiltersFactoryTest_TestEntityWithClashingNestedNames.testEntityWithClashingNestedNames;
+        var filters = createFactoryFor(path).createFilters();
+
+        assertThatThrownBy(() -> filters.named("nested.field3"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate filter name 'nested.field3'");
+        assertThatThrownBy(() -> filters.filters().toList())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate filter name 'nested.field3'");
+        assertThatThrownBy(() -> filters.forSorting())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate filter name 'nested.field3'");
+
+        // Names that are only used once can still be located
+        assertThat(filters.named("nested.field.4")).hasValueSatisfying(filter -> {
+            assertThat(filter.getPath()).isEqualTo(path.embedded.field4);
+        });
+    }
+
+    @Test
+    void locatesNestedFilters() {
+        var path = QCollectionFiltersFactoryTest_TestEntityWithEmbedded.testEntityWithEmbedded;
+        var filters = createFactoryFor(path).createFilters();
+
+        assertThat(filters.named("field1")).hasValueSatisfying(filter -> {
+            assertThat(filter.getPath()).isEqualTo(path.field1);
+        });
+        assertThat(filters.named("nested.field3")).hasValueSatisfying(filter -> {
+            assertThat(filter.getPath()).isEqualTo(path.embedded.field3);
+        });
+        assertThat(filters.named("nested.field.4")).hasValueSatisfying(filter -> {
+            assertThat(filter.getPath()).isEqualTo(path.embedded.field4);
+        });
+        assertThat(filters.named("nested")).isEmpty();
+        assertThat(filters.named("nested.field")).isEmpty();
+        assertThat(filters.named("embedded.field3")).isEmpty();
+
+        assertThat(filters.filters())
+                .map(CollectionFilter::getFilterName)
+                .containsExactly("field1", "nested.field3", "nested.field.4", "field2");
+        assertThat(filters.forPath(path.embedded.field3).filters())
+                .map(CollectionFilter::getFilterName)
+                .containsExactly("nested.field3");
+        assertThat(filters.forPath(path.embedded).filters()).isEmpty();
+    }
+
     @Test
     void rejectsMultipleBoundPredicates() {
         var factory = createFactoryFor(
@@ -0,0 +1,154 @@
+package com.contentgrid.spring.data.querydsl.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.Invoice;
+import com.contentgrid.spring.test.fixture.invoicing.model.Order;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import com.contentgrid.spring.test.fixture.invoicing.repository.InvoiceRepository;
+import com.contentgrid.spring.test.fixture.invoicing.repository.OrderRepository;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Filters that go through to-many associations must not join the main query with the associations, which would return
+ * an item once for every matching associated item.
+ */
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.contentgrid.spring.data.querydsl.mapping.CollectionFiltersThroughAssociationsQueryTest"
+                + "$RecordingStatementInspector"
+})
+class CollectionFiltersThroughAssociationsQueryTest {
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    CollectionFiltersMapping collectionFiltersMapping;
+
+    @Autowired
+    CustomerRepository customers;
+
+    @Autowired
+    InvoiceRepository invoices;
+
+    @Autowired
+    OrderRepository orders;
+
+    UUID xenitId, inbevId;
+    UUID xenitOrder1, xenitOrder2, xenitOrder3, inbevOrder;
+
+    @BeforeEach
+    void setupTestData() {
+        var xenit = customers.save(new Customer("XeniT", "BE0887582365"));
+        var inbev = customers.save(new Customer("AB InBev", "BE0417497106"));
+        xenitId = xenit.getId();
+        inbevId = inbev.getId();
+
+        var order1 = orders.save(new Order(xenit));
+        var order2 = orders.save(new Order(xenit));
+        var order3 = orders.save(new Order(xenit));
+        var order4 = orders.save(new Order(inbev));
+        xenitOrder1 = order1.getId();
+        xenitOrder2 = order2.getId();
+        xenitOrder3 = order3.getId();
+        inbevOrder = order4.getId();
+
+        // Every customer has multiple invoices, with multiple orders each
+        invoices.save(new Invoice("I-1", false, false, xenit, new HashSet<>(List.of(order1, order2))));
+        invoices.save(new Invoice("I-2", false, true, xenit, new HashSet<>(List.of(order3))));
+        invoices.save(new Invoice("I-3", false, true, inbev, new HashSet<>(List.of(order4))));
+
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void cleanupTestData() {
+        invoices.deleteAll();
+        orders.deleteAll();
+        customers.deleteAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate filter(String filterName, Collection<?> values) {
+        var filter = (CollectionFilter<Object>) collectionFiltersMapping.forDomainType(Customer.class)
+                .named(filterName)
+                .orElseThrow();
+        return filter.createPredicate((Collection<Object>) values).orElseThrow();
+    }
+
+    @Test
+    void filterTwoAssociationsDeep_returnsEveryItemOnce() {
+        var predicate = filter("invoices.orders.id", List.of(xenitOrder1, xenitOrder2, xenitOrder3));
+
+        var page = customers.findAll(predicate, PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).extracting(Customer::getId).containsExactly(xenitId);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(customers.count(predicate)).isEqualTo(1);
+
+        assertThat(customerQueries()).isNotEmpty()
+                .allSatisfy(CollectionFiltersThroughAssociationsQueryTest::assertUsesExists);
+    }
+
+    @Test
+    void filtersOnDifferentAssociationLevels() {
+        var byOrder = filter("invoices.orders.id", List.of(xenitOrder1, inbevOrder));
+        var byPaidInvoice = filter("invoices.paid", List.of(true));
+
+        var page = customers.findAll(byOrder, PageRequest.of(0, 20));
+        assertThat(page.getContent()).extracting(Customer::getId).containsExactlyInAnyOrder(xenitId, inbevId);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+
+        // Customers with an invoice that has one of the orders, and an invoice (not necessarily the same one) that is
+        // paid
+        var combined = customers.findAll(ExpressionUtils.and(byOrder, byPaidInvoice), PageRequest.of(0, 20));
+        assertThat(combined.getContent()).extracting(Customer::getId).containsExactlyInAnyOrder(xenitId, inbevId);
+        assertThat(combined.getTotalElements()).isEqualTo(2);
+
+        assertThat(customerQueries()).isNotEmpty()
+                .allSatisfy(CollectionFiltersThroughAssociationsQueryTest::assertUsesExists);
+    }
+
+    private static List<String> customerQueries() {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("select") && sql.contains("from \"customer\""))
+                .toList();
+    }
+
+    private static void assertUsesExists(String sql) {
+        var where = sql.indexOf(" where ");
+        assertThat(where).as("where clause of %s", sql).isPositive();
+        // The customer table is the only table of the main query, associations are only used in subqueries
+        assertThat(sql.substring(0, where)).doesNotContain(" join ").doesNotContain("distinct");
+        assertThat(sql.substring(where)).contains("exists");
+    }
+}
@@ -1,6 +1,7 @@
 package com.contentgrid.spring.data.querydsl.paths;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.spring.querydsl.annotation.CollectionFilterParam;
 import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
@@ -64,6 +65,22 @@ class PathNavigatorTest {
         );
     }
 
+    @Test
+    void navigateOtherInstanceOfSameQClass() {
+        var otherInvoice = new QInvoice("otherInvoice");
+
+        assertThat(INVOICE_NAVIGATOR.get("number").getPath()).isEqualTo(QInvoice.invoice.number);
+        assertThat(new PathNavigator(otherInvoice).get("number").getPath()).isEqualTo(otherInvoice.number);
+        assertThat(new PathNavigator(otherInvoice).get("counterparty").get("vat").getPath())
+                .isEqualTo(otherInvoice.counterparty.vat);
+    }
+
+    @Test
+    void navigateToUnknownProperty() {
+        assertThatThrownBy(() -> INVOICE_NAVIGATOR.get("unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Entity
     public static class TestEntityWithSameNameAsProperty {
         @Id
@@ -14,6 +14,7 @@ import com.contentgrid.spring.querydsl.predicate.Text;
 import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
 import com.contentgrid.spring.test.fixture.invoicing.model.Invoice;
 import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
@@ -163,6 +164,64 @@ class CollectionFilterSortHandlerMethodArgumentResolverTest {
                 .containsExactly(Map.entry("sort", List.of("simple_string_ignorecase,desc")));
     }
 
+    @Test
+    void fullTextSearchSortsByRelevance() {
+        var request = new MockHttpServletRequest("GET", "/entity-with-weird-filter-params");
+        request.addParameter("simple_string_search", "foo");
+        request.addParameter("sort", "simple_string_search,desc");
+        var sort = parseRequest(request);
+
+        var pathNavigator = new PathNavigator(entityPathResolver.createPath(EntityWithWeirdFilterParams.class));
+
+        assertThat(sort)
+                .isInstanceOfSatisfying(QSortWithOriginalSort.class, qSort -> {
+                    assertThat(qSort.getOriginalSort()).containsExactly(Sort.Order.desc("simple_string_search"));
+                    assertThat(qSort.getOrderSpecifiers()).containsExactly(new OrderSpecifier<>(
+                            Order.DESC,
+                            Expressions.numberTemplate(Float.class, "contentgrid_fulltext_rank({0}, {1})",
+                                    pathNavigator.get("simpleString").getPath(), ConstantImpl.create("foo"))
+                    ));
+                });
+        assertThat(buildComponents(request, sort).getQueryParams())
+                .containsExactly(Map.entry("sort", List.of("simple_string_search,desc")));
+    }
+
+    @Test
+    void fullTextSearchSortWithoutSearch() {
+        var request = new MockHttpServletRequest("GET", "/entity-with-weird-filter-params");
+        request.addParameter("sort", "simple_string_search");
+        var sort = parseRequest(request);
+
+        var pathNavigator = new PathNavigator(entityPathResolver.createPath(EntityWithWeirdFilterParams.class));
+
+        assertThat(sort)
+                .isInstanceOfSatisfying(QSortWithOriginalSort.class, qSort -> {
+                    assertThat(qSort.getOrderSpecifiers()).containsExactly(new OrderSpecifier<>(
+                            Order.ASC,
+                            (Expression<Comparable<?>>) pathNavigator.get("simpleString").getPath()
+                    ));
+                });
+    }
+
+    @Test
+    void sortIgnoresFilterValuesThatAreNotUsed() {
+        var request = new MockHttpServletRequest("GET", "/entity-with-weird-filter-params");
+        // Not converted for sorting, because the filter does not sort on its values
+        request.addParameter("myInstant", "not-an-instant");
+        request.addParameter("sort", "myInstant");
+        var sort = parseRequest(request);
+
+        var pathNavigator = new PathNavigator(entityPathResolver.createPath(EntityWithWeirdFilterParams.class));
+
+        assertThat(sort)
+                .isInstanceOfSatisfying(QSortWithOriginalSort.class, qSort -> {
+                    assertThat(qSort.getOrderSpecifiers()).containsExactly(new OrderSpecifier<>(
+                            Order.ASC,
+                            (Expression<Comparable<?>>) pathNavigator.get("myInstant").getPath()
+                    ));
+                });
+    }
+
     @Test
     void crossEmbeddedObjectSort() {
         var request = new MockHttpServletRequest("GET", "/customers");
@@ -307,6 +366,7 @@ class CollectionFilterSortHandlerMethodArgumentResolverTest {
         @CollectionFilterParam(value = "simple_string", predicate = Text.EqualsNormalized.class)
         @CollectionFilterParam(value = "simple_string_ignorecase", predicate = Text.EqualsIgnoreCaseNormalized.class)
         @CollectionFilterParam(value = "simple_string_starts_with", predicate = Text.StartsWithIgnoreCaseNormalized.class)
+        @CollectionFilterParam(value = "simple_string_search", predicate = Text.ContentGridFullTextSearch.class)
         private String simpleString;
 
         @CollectionFilterParam
@@ -0,0 +1,141 @@
+package com.contentgrid.spring.data.rest.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import com.contentgrid.spring.test.security.WithMockJwt;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.rest.export.enabled=true",
+        // Smaller than the number of customers, so the export needs multiple batches
+        "contentgrid.rest.export.batch-size=10"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = ClassMode.AFTER_CLASS)
+@WithMockJwt
+class CollectionExportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void seedCustomers() {
+        customerRepository.saveAll(
+                IntStream.range(0, 25)
+                        .mapToObj(number -> new Customer("Customer %d".formatted(number), "VAT%02d".formatted(number)))
+                        .toList()
+        );
+    }
+
+    @AfterEach
+    void destroyCustomers() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        var response = mockMvc.perform(get("/customers/export?sort=vat,desc")
+                        .accept(CollectionExportController.NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"customers.ndjson\""))
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getContentType()).startsWith(CollectionExportController.NDJSON_VALUE);
+
+        var lines = response.getContentAsString().lines().toList();
+        assertThat(lines).hasSize(25);
+
+        var vats = lines.stream()
+                .map(line -> readTree(line).get("vat").asText())
+                .toList();
+        assertThat(vats)
+                .doesNotHaveDuplicates()
+                .isSortedAccordingTo(Comparator.reverseOrder());
+
+        var first = readTree(lines.get(0));
+        assertThat(first.get("name").asText()).isEqualTo("Customer 24");
+        assertThat(first.has("id")).isTrue();
+        // No links, and associations are not exported
+        assertThat(first.has("_links")).isFalse();
+        assertThat(first.has("invoices")).isFalse();
+        assertThat(first.has("orders")).isFalse();
+    }
+
+    @Test
+    void exportNdjson_filtered() throws Exception {
+        var response = mockMvc.perform(get("/customers/export?vat=vat07")
+                        .accept(CollectionExportController.NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        var lines = response.getContentAsString().lines().toList();
+        assertThat(lines).singleElement()
+                .satisfies(line -> assertThat(readTree(line).get("name").asText()).isEqualTo("Customer 7"));
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        var response = mockMvc.perform(get("/customers/export?sort=vat,asc")
+                        .accept(CollectionExportController.CSV_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"customers.csv\""))
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getContentType()).startsWith(CollectionExportController.CSV_VALUE);
+
+        var lines = response.getContentAsString().lines().toList();
+        // Header and one line per customer
+        assertThat(lines).hasSize(26);
+
+        var header = List.of(lines.get(0).split(","));
+        assertThat(header)
+                .contains("id", "name", "vat", "total_spend", "content.filename", "audit_metadata.created_date")
+                .doesNotContain("invoices", "orders", "content.id");
+
+        assertThat(lines.get(1)).contains(",Customer 0,VAT00,");
+        assertThat(lines.get(25)).contains(",Customer 24,VAT24,");
+    }
+
+    @Test
+    void exportUnknownSortProperty() throws Exception {
+        mockMvc.perform(get("/customers/export?sort=xyz")
+                        .accept(MediaType.parseMediaType(CollectionExportController.NDJSON_VALUE),
+                                MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    private JsonNode readTree(String line) {
+        return objectMapper.readTree(line);
+    }
+}
@@ -12,6 +12,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 import com.contentgrid.spring.boot.autoconfigure.integration.EventsAutoConfiguration;
+import com.contentgrid.spring.data.pagination.StatementBudgetExceededException;
 import com.contentgrid.spring.data.rest.problem.ContentGridProblemDetailsConfigurationIntegrationTest.LocalConfiguration;
 import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
 import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
@@ -21,12 +22,14 @@ import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerReposito
 import com.contentgrid.spring.test.fixture.invoicing.repository.InvoiceRepository;
 import com.contentgrid.spring.test.fixture.invoicing.repository.RefundRepository;
 import com.contentgrid.spring.test.security.WithMockJwt;
+import com.querydsl.core.types.Predicate;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import java.time.Duration;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
@@ -37,12 +40,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
@@ -709,6 +715,34 @@ class ContentGridProblemDetailsConfigurationIntegrationTest {
         }
     }
 
+    /**
+     * Tests collection queries that take longer than their statement budget
+     */
+    @Nested
+    class StatementBudgetErrors {
+
+        @SpyBean
+        CustomerRepository spiedCustomerRepository;
+
+        @Test
+        void statementBudgetExceeded() throws Exception {
+            Mockito.doThrow(new StatementBudgetExceededException(Customer.class, Duration.ofMillis(2500),
+                            new RuntimeException("canceling statement due to statement timeout")))
+                    .when(spiedCustomerRepository)
+                    .findAll(Mockito.any(Predicate.class), Mockito.any(Pageable.class));
+
+            mockMvc.perform(get("/customers?vat=abc")
+                            .accept(MediaType.APPLICATION_JSON)
+                    )
+                    .andExpect(problemDetails()
+                            .withStatusCode(HttpStatus.SERVICE_UNAVAILABLE)
+                            .withType(PROBLEM_TYPE_PREFIX + "statement-budget-exceeded")
+                    )
+                    .andExpect(jsonPath("$.detail").value("Query was cancelled after 2500 ms; "
+                            + "use more specific filters to reduce the number of items to search"));
+        }
+    }
+
 
     @Configuration(proxyBeanMethods = false)
     @EntityScan(basePackageClasses = {ContentGridProblemDetailsConfigurationIntegrationTest.class,
@@ -0,0 +1,58 @@
+package com.contentgrid.spring.data.rest.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.data.rest.mapping.DomainTypeMapping;
+import com.contentgrid.spring.data.rest.mapping.FormMapping;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.Invoice;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@SpringBootTest(classes = InvoicingApplication.class, properties = {
+        "contentgrid.rest.warm-up.enabled=true"
+})
+class DomainTypeMetadataWarmUpTest {
+
+    @Autowired
+    DomainTypeMetadataWarmUp warmUp;
+
+    @Autowired
+    Repositories repositories;
+
+    @Autowired
+    CollectionFiltersMapping collectionFiltersMapping;
+
+    @Autowired
+    @FormMapping
+    DomainTypeMapping formDomainTypeMapping;
+
+    @Test
+    void warmsUpAllDomainTypes() {
+        assertThat(warmUp.getDurations())
+                .containsKeys(Invoice.class, Customer.class)
+                .hasSameSizeAs(repositories);
+    }
+
+    @Test
+    void populatesMappingCaches() {
+        assertThat(cachedDomainTypes(collectionFiltersMapping, "cache"))
+                .containsAll(repositories);
+        assertThat(cachedDomainTypes(formDomainTypeMapping, "containerCache"))
+                .containsAll(repositories);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<Class<?>> cachedDomainTypes(Object mapping, String cacheField) {
+        var cache = (Map<PersistentEntity<?, ?>, ?>) ReflectionTestUtils.getField(mapping, cacheField);
+        assertThat(cache).isNotNull();
+        return cache.keySet().stream().<Class<?>>map(PersistentEntity::getType).toList();
+    }
+}
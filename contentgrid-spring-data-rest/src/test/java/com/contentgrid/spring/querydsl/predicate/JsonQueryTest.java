@@ -0,0 +1,103 @@
+package com.contentgrid.spring.querydsl.predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.PromotionCampaign;
+import com.contentgrid.spring.test.fixture.invoicing.model.QPromotionCampaign;
+import com.contentgrid.spring.test.fixture.invoicing.repository.PromotionCampaignRepository;
+import com.querydsl.core.types.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link PromotionCampaign#getAttributes()} is a jsonb column that is searched with the {@link Json} predicates
+ */
+@SpringBootTest(classes = InvoicingApplication.class)
+class JsonQueryTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PromotionCampaignRepository promotions;
+
+    @BeforeEach
+    void setupTestData() {
+        // SQL/JSON paths are supported since PostgreSQL 12
+        assumeThat(jdbcTemplate.queryForObject("SHOW server_version_num", Integer.class))
+                .isGreaterThanOrEqualTo(120000);
+
+        saveWithAttributes("RED", """
+                {"color": "red", "tags": ["a", "b"], "size": 5}""");
+        saveWithAttributes("BLUE", """
+                {"color": "blue", "tags": ["b"], "size": 20}""");
+        saveWithAttributes("PLAIN", """
+                {"size": 1}""");
+    }
+
+    private void saveWithAttributes(String promoCode, String attributes) {
+        var promo = new PromotionCampaign(promoCode, promoCode);
+        promo.setAttributes(attributes);
+        promotions.save(promo);
+    }
+
+    @AfterEach
+    void cleanupTestData() {
+        promotions.deleteAll();
+    }
+
+    private <S> List<String> findPromoCodes(QuerydslPredicateFactory<Path<?>, S> predicateFactory, List<S> values) {
+        var predicate = predicateFactory.bind(QPromotionCampaign.promotionCampaign.attributes, values).orElseThrow();
+
+        var promoCodes = new ArrayList<String>();
+        promotions.findAll(predicate).forEach(promo -> promoCodes.add(promo.getPromoCode()));
+        return promoCodes;
+    }
+
+    @Test
+    void contains() {
+        var contains = new Json.Contains();
+
+        assertThat(findPromoCodes(contains, List.of(new Json.Document("{\"color\": \"red\"}"))))
+                .containsExactly("RED");
+        assertThat(findPromoCodes(contains, List.of(new Json.Document("{\"tags\": [\"b\"]}"))))
+                .containsExactlyInAnyOrder("RED", "BLUE");
+    }
+
+    @Test
+    void pathExists() {
+        var pathExists = new Json.PathExists();
+
+        assertThat(findPromoCodes(pathExists, List.of(new Json.JsonPath("$.tags[*] ? (@ == \"a\")"))))
+                .containsExactly("RED");
+        assertThat(findPromoCodes(pathExists, List.of(new Json.JsonPath("$.color"))))
+                .containsExactlyInAnyOrder("RED", "BLUE");
+        assertThat(findPromoCodes(pathExists, List.of(new Json.JsonPath("$.size ? (@ > 10)"))))
+                .containsExactly("BLUE");
+        assertThat(findPromoCodes(pathExists, List.of(
+                new Json.JsonPath("$.tags[*] ? (@ == \"a\")"),
+                new Json.JsonPath("$.size ? (@ < 2)")
+        ))).containsExactlyInAnyOrder("RED", "PLAIN");
+    }
+
+    @Test
+    void pathMatches() {
+        var pathMatches = new Json.PathMatches();
+
+        assertThat(findPromoCodes(pathMatches, List.of(new Json.JsonPath("$.size > 10"))))
+                .containsExactly("BLUE");
+        assertThat(findPromoCodes(pathMatches, List.of(new Json.JsonPath("exists($.tags[*] ? (@ == \"b\"))"))))
+                .containsExactlyInAnyOrder("RED", "BLUE");
+        // Not a predicate check, so it does not match anything
+        assertThat(findPromoCodes(pathMatches, List.of(new Json.JsonPath("$.color")))).isEmpty();
+    }
+}
@@ -0,0 +1,179 @@
+package com.contentgrid.spring.querydsl.predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.Customer;
+import com.contentgrid.spring.test.fixture.invoicing.model.Order;
+import com.contentgrid.spring.test.fixture.invoicing.model.PromotionCampaign;
+import com.contentgrid.spring.test.fixture.invoicing.model.QCustomer;
+import com.contentgrid.spring.test.fixture.invoicing.model.QOrder;
+import com.contentgrid.spring.test.fixture.invoicing.repository.CustomerRepository;
+import com.contentgrid.spring.test.fixture.invoicing.repository.OrderRepository;
+import com.contentgrid.spring.test.fixture.invoicing.repository.PromotionCampaignRepository;
+import com.querydsl.core.types.Predicate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Multi-value filters are matched with a single expression (see {@link Default} and {@link Text}); these tests check
+ * that those expressions return the same items as matching every value separately, and that wildcards are matched
+ * literally with a single value as well as with multiple values.
+ */
+@SpringBootTest(classes = InvoicingApplication.class)
+class MultiValuePredicatesQueryTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CustomerRepository customers;
+
+    @Autowired
+    OrderRepository orders;
+
+    @Autowired
+    PromotionCampaignRepository promotions;
+
+    PromotionCampaign promoA, promoB, promoC;
+    UUID orderAB, orderA, orderABC;
+
+    @BeforeEach
+    void setupTestData() {
+        // The fixture database does not have the prefix search function; this version is equivalent for the
+        // characters used in these tests
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS extensions");
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS unaccent SCHEMA extensions");
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION extensions.contentgrid_prefix_search_normalize(arg text)
+                  RETURNS text
+                  LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+                AS $$ SELECT extensions.unaccent('extensions.unaccent', lower(arg)) $$
+                """);
+
+        var alice = customers.save(new Customer("Alice", "BE0000000001"));
+        customers.save(new Customer("Ålbert", "BE0000000002"));
+        customers.save(new Customer("bob", "BE0000000003"));
+        customers.save(new Customer("Charlie", "BE0000000004"));
+        customers.save(new Customer("100% Cotton", "BE0000000005"));
+        customers.save(new Customer("1000 Lakes", "BE0000000006"));
+
+        promoA = promotions.save(new PromotionCampaign("A", "Promotion A"));
+        promoB = promotions.save(new PromotionCampaign("B", "Promotion B"));
+        promoC = promotions.save(new PromotionCampaign("C", "Promotion C"));
+
+        orderAB = saveOrder(alice, promoA, promoB);
+        orderA = saveOrder(alice, promoA);
+        orderABC = saveOrder(alice, promoA, promoB, promoC);
+    }
+
+    private UUID saveOrder(Customer customer, PromotionCampaign... promos) {
+        var order = new Order(customer);
+        for (var promo : promos) {
+            order.addPromo(promo);
+        }
+        return orders.save(order).getId();
+    }
+
+    @AfterEach
+    void cleanupTestData() {
+        orders.deleteAll();
+        promotions.deleteAll();
+        customers.deleteAll();
+    }
+
+    private List<String> customerNames(Predicate predicate) {
+        var names = new LinkedHashSet<String>();
+        customers.findAll(predicate).forEach(customer -> names.add(customer.getName()));
+        return List.copyOf(names);
+    }
+
+    @Test
+    void startsWith_multipleValues() {
+        var predicate = new Text.StartsWith()
+                .bind(QCustomer.customer.name, List.of("Al", "bo", "Al", "Zed"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).containsExactlyInAnyOrder("Alice", "bob");
+    }
+
+    @Test
+    void startsWithIgnoreCase_multipleValues() {
+        var predicate = new Text.StartsWithIgnoreCase()
+                .bind(QCustomer.customer.name, List.of("AL", "Bo", "ch"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).containsExactlyInAnyOrder("Alice", "bob", "Charlie");
+    }
+
+    @Test
+    void startsWith_multipleValues_escapesWildcards() {
+        var predicate = new Text.StartsWith()
+                .bind(QCustomer.customer.name, List.of("100%", "Zed"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).containsExactly("100% Cotton");
+    }
+
+    @Test
+    void startsWith_singleValue_escapesWildcards() {
+        var predicate = new Text.StartsWith()
+                .bind(QCustomer.customer.name, List.of("100%"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).containsExactly("100% Cotton");
+    }
+
+    @Test
+    void startsWithIgnoreCase_singleValue_escapesWildcards() {
+        var predicate = new Text.StartsWithIgnoreCase()
+                .bind(QCustomer.customer.name, List.of("1_0"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).isEmpty();
+    }
+
+    @Test
+    void prefixSearch_singleValue_escapesWildcards() {
+        var predicate = new Text.ContentGridPrefixSearch() {
+        }
+                .bind(QCustomer.customer.name, List.of("100%"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).containsExactly("100% Cotton");
+    }
+
+    @Test
+    void prefixSearch_multipleValues() {
+        var predicate = new Text.ContentGridPrefixSearch() {
+        }
+                .bind(QCustomer.customer.name, List.of("al", "BO", "100%"))
+                .orElseThrow();
+
+        assertThat(customerNames(predicate)).containsExactlyInAnyOrder("Alice", "Ålbert", "bob", "100% Cotton");
+    }
+
+    @Test
+    void containsAll_returnsItemsWithEveryValue() {
+        var predicate = Default.containsAll(QOrder.order.promos, Set.of(promoA, promoB));
+
+        assertThat(orders.findAll(predicate)).extracting(Order::getId).containsExactlyInAnyOrder(orderAB, orderABC);
+    }
+
+    @Test
+    void containsAll_sameAsContainsForEveryValue() {
+        var containsAll = Default.containsAll(QOrder.order.promos, Set.of(promoB, promoC));
+        var containsEvery = QOrder.order.promos.contains(promoB).and(QOrder.order.promos.contains(promoC));
+
+        assertThat(orders.findAll(containsAll)).extracting(Order::getId).containsExactly(orderABC);
+        assertThat(orders.findAll(containsEvery)).extracting(Order::getId).containsExactly(orderABC);
+    }
+}
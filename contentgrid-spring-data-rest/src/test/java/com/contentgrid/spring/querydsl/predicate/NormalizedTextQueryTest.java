@@ -0,0 +1,105 @@
+package com.contentgrid.spring.querydsl.predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.contentgrid.spring.querydsl.mapping.CollectionFiltersMapping;
+import com.contentgrid.spring.test.fixture.invoicing.InvoicingApplication;
+import com.contentgrid.spring.test.fixture.invoicing.model.PromotionCampaign;
+import com.contentgrid.spring.test.fixture.invoicing.repository.PromotionCampaignRepository;
+import com.contentgrid.spring.test.security.WithMockJwt;
+import com.querydsl.core.types.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * {@link PromotionCampaign#getDescriptionNormalized()} is the normalized companion of the description, which is
+ * filtered on with {@link Text.ContentGridPrefixSearch} without normalizing the stored descriptions in the query.
+ */
+@SpringBootTest(classes = InvoicingApplication.class)
+@AutoConfigureMockMvc(printOnlyOnFailure = false)
+@WithMockJwt
+class NormalizedTextQueryTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CollectionFiltersMapping collectionFiltersMapping;
+
+    @Autowired
+    PromotionCampaignRepository promotions;
+
+    @AfterEach
+    void cleanupTestData() {
+        promotions.deleteAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> findPromoCodes(String description) {
+        var filter = (CollectionFilter<String>) collectionFiltersMapping.forDomainType(PromotionCampaign.class)
+                .named("description")
+                .orElseThrow();
+        Predicate predicate = filter.createPredicate(List.of(description)).orElseThrow();
+
+        var promoCodes = new ArrayList<String>();
+        promotions.findAll(predicate).forEach(promo -> promoCodes.add(promo.getPromoCode()));
+        return promoCodes;
+    }
+
+    @Test
+    void normalizedOnInsert() {
+        promotions.save(new PromotionCampaign("CAFE", "Café Crème"));
+        promotions.save(new PromotionCampaign("TEA", "Earl Grey"));
+
+        assertThat(promotions.findByPromoCode("CAFE").orElseThrow().getDescriptionNormalized())
+                .isEqualTo("cafe creme");
+        assertThat(findPromoCodes("CAFÉ")).containsExactly("CAFE");
+        assertThat(findPromoCodes("cafe cr")).containsExactly("CAFE");
+        assertThat(findPromoCodes("earl")).containsExactly("TEA");
+    }
+
+    @Test
+    void normalizedOnUpdate() {
+        var promo = promotions.save(new PromotionCampaign("CAFE", "Café Crème"));
+
+        promo.setDescription("Thé Vert");
+        promotions.save(promo);
+
+        assertThat(promotions.findByPromoCode("CAFE").orElseThrow().getDescriptionNormalized())
+                .isEqualTo("the vert");
+        assertThat(findPromoCodes("café")).isEmpty();
+        assertThat(findPromoCodes("THE")).containsExactly("CAFE");
+    }
+
+    @Test
+    void companionIsNotWritable() {
+        var promo = new PromotionCampaign("CAFE", "Café Crème");
+        promo.setDescriptionNormalized("something else");
+        promotions.save(promo);
+
+        assertThat(promotions.findByPromoCode("CAFE").orElseThrow().getDescriptionNormalized())
+                .isEqualTo("cafe creme");
+    }
+
+    @Test
+    void companionIsHiddenFromApi() throws Exception {
+        promotions.save(new PromotionCampaign("CAFE", "Café Crème"));
+
+        mockMvc.perform(get("/promotions/CAFE").accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Café Crème"))
+                .andExpect(jsonPath("$.descriptionNormalized").doesNotExist())
+                .andExpect(jsonPath("$.description_normalized").doesNotExist());
+    }
+}
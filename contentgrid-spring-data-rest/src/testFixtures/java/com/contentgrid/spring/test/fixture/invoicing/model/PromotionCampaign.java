@@ -1,7 +1,11 @@
 package com.contentgrid.spring.test.fixture.invoicing.model;
 
 import com.contentgrid.spring.querydsl.annotation.CollectionFilterParam;
+import com.contentgrid.spring.querydsl.annotation.NormalizedText;
+import com.contentgrid.spring.querydsl.annotation.NormalizedText.Normalization;
 import com.contentgrid.spring.querydsl.predicate.EntityId;
+import com.contentgrid.spring.querydsl.predicate.Text;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import jakarta.validation.constraints.NotNull;
@@ -18,6 +22,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.rest.core.annotation.RestResource;
 
 @Entity
@@ -38,6 +44,18 @@ public class PromotionCampaign {
 
     String description;
 
+    @NormalizedText(value = "description", normalization = Normalization.PREFIX_SEARCH)
+    @CollectionFilterParam(value = "description", predicate = Text.ContentGridPrefixSearch.class)
+    @JsonIgnore
+    private String descriptionNormalized;
+
+    /**
+     * Semi-structured attributes, stored as jsonb; only filtered on by the tests of the JSON predicates
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @JsonIgnore
+    private String attributes;
+
     @ManyToMany(mappedBy = "promos")
     @RestResource(exported = false)
     @CollectionFilterParam(predicate = EntityId.class, documented = false)
@@ -0,0 +1,105 @@
+package com.contentgrid.spring.querydsl.converter;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.contentgrid.spring.querydsl.test.fixtures.QTestObject;
+import com.contentgrid.spring.querydsl.test.fixtures.TestObject;
+import com.contentgrid.spring.querydsl.test.mapping.TestCollectionFilter;
+import com.contentgrid.spring.querydsl.test.mapping.TestCollectionFiltersMapping;
+import com.querydsl.core.types.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.convert.Jsr310Converters;
+
+/**
+ * Converts the query parameters of a filtered list request to typed filter parameters, for UUID, instant and string
+ * filters. Requests also contain query parameters that are not filters, like paging parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionFilterQuerydslPredicateConverterBenchmark {
+
+    private static final QTestObject TEST_PATH = new QTestObject("o");
+
+    private final Map<String, String[]> uuidParameters = Map.of(
+            "uuid", new String[]{"a1a8f7a8-4283-11ee-852b-8353804234d2"},
+            "page", new String[]{"2"}
+    );
+
+    private final Map<String, String[]> instantParameters = Map.of(
+            "time", new String[]{"1994-08-10T22:15:00Z"},
+            "page", new String[]{"2"}
+    );
+
+    private final Map<String, String[]> stringParameters = Map.of(
+            "string", new String[]{"abc"},
+            "page", new String[]{"2"}
+    );
+
+    private final Map<String, String[]> combinedParameters = Map.of(
+            "uuid", new String[]{"a1a8f7a8-4283-11ee-852b-8353804234d2", "b2b8f7a8-4283-11ee-852b-8353804234d2"},
+            "time", new String[]{"1994-08-10T22:15:00Z"},
+            "string", new String[]{"abc", "def"},
+            "page", new String[]{"2"},
+            "size", new String[]{"20"}
+    );
+
+    private CollectionFilterQuerydslPredicateConverter converter;
+
+    @Setup
+    public void setup() {
+        var conversionService = new DefaultConversionService();
+        Jsr310Converters.getConvertersToRegister().forEach(conversionService::addConverter);
+
+        var mapping = new TestCollectionFiltersMapping()
+                .addFilter(TestObject.class, createFilter("uuid", TEST_PATH.uuidValue))
+                .addFilter(TestObject.class, createFilter("time", TEST_PATH.timeValue))
+                .addFilter(TestObject.class, createFilter("string", TEST_PATH.stringValue));
+
+        converter = new CollectionFilterQuerydslPredicateConverter(mapping, conversionService);
+    }
+
+    private static <T> CollectionFilter<T> createFilter(String name, Path<T> path) {
+        return TestCollectionFilter.<T>builder()
+                .filterName(name)
+                .filterType("exact-match")
+                .path(path)
+                .build();
+    }
+
+    @Benchmark
+    public void uuid(Blackhole blackhole) {
+        blackhole.consume(converter.getPredicate(TestObject.class, uuidParameters, Arrays::asList));
+    }
+
+    @Benchmark
+    public void instant(Blackhole blackhole) {
+        blackhole.consume(converter.getPredicate(TestObject.class, instantParameters, Arrays::asList));
+    }
+
+    @Benchmark
+    public void string(Blackhole blackhole) {
+        blackhole.consume(converter.getPredicate(TestObject.class, stringParameters, Arrays::asList));
+    }
+
+    @Benchmark
+    public void combined(Blackhole blackhole) {
+        blackhole.consume(converter.getPredicate(TestObject.class, combinedParameters, Arrays::asList));
+    }
+}
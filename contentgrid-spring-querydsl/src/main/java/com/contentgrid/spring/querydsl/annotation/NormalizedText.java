@@ -0,0 +1,99 @@
+package com.contentgrid.spring.querydsl.annotation;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.contentgrid.spring.querydsl.hibernate.NormalizedTextGenerator;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.hibernate.annotations.ValueGenerationType;
+
+/**
+ * Marks an entity field as the normalized companion of another text field
+ * <p>
+ * The field is populated with the normalized text of the source field every time the entity is inserted or updated.
+ * The normalized {@link com.contentgrid.spring.querydsl.predicate.Text} predicates compare such a field directly to
+ * values that are normalized in the same way, instead of normalizing the stored text of every row in the query. A plain
+ * B-tree index on the column can then be used for filtering and sorting.
+ * <p>
+ * Place the {@link CollectionFilterParam} on the companion field, with the name of the original field. The companion
+ * field is an implementation detail: hide it from the API with {@code @JsonIgnore}, so it is not rendered, and a value
+ * that clients send for it is not accepted:
+ * <pre>
+ * private String name;
+ *
+ * &#64;NormalizedText(value = "name", normalization = Normalization.NFKC_IGNORE_CASE)
+ * &#64;CollectionFilterParam(value = "name", predicate = Text.EqualsIgnoreCaseNormalized.class)
+ * &#64;JsonIgnore
+ * private String nameNormalized;
+ * </pre>
+ * Values that are set on the companion field by the application are overwritten when the entity is written.
+ * <p>
+ * Rows that exist before the column is added have to be populated by a migration.
+ */
+@Target({METHOD, FIELD})
+@Retention(RUNTIME)
+@ValueGenerationType(generatedBy = NormalizedTextGenerator.class)
+public @interface NormalizedText {
+
+    /**
+     * Name of the field that holds the original text
+     */
+    String value();
+
+    /**
+     * How the original text is normalized
+     */
+    Normalization normalization();
+
+    enum Normalization {
+        /**
+         * NFKC normalization, like {@code normalize(text, NFKC)}
+         */
+        NFKC {
+            @Override
+            public String normalize(String text) {
+                return Normalizer.normalize(text, Form.NFKC);
+            }
+        },
+
+        /**
+         * Lowercase NFKC normalization, like {@code lower(normalize(text, NFKC))}
+         */
+        NFKC_IGNORE_CASE {
+            @Override
+            public String normalize(String text) {
+                return Normalizer.normalize(text, Form.NFKC).toLowerCase(Locale.ROOT);
+            }
+        },
+
+        /**
+         * Lowercase NFKC normalization without accents, like {@code contentgrid_prefix_search_normalize(text)}
+         * <p>
+         * Accents are removed by dropping combining marks, which covers the accented letters that the {@code unaccent}
+         * extension handles, but not its ligatures.
+         */
+        PREFIX_SEARCH {
+            @Override
+            public String normalize(String text) {
+                var decomposed = Normalizer.normalize(NFKC_IGNORE_CASE.normalize(text), Form.NFKD);
+                return Normalizer.normalize(COMBINING_MARKS.matcher(decomposed).replaceAll(""), Form.NFKC);
+            }
+        };
+
+        private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+        /**
+         * Normalizes a text
+         *
+         * @param text The text to normalize
+         * @return The normalized text
+         */
+        public abstract String normalize(String text);
+    }
+}
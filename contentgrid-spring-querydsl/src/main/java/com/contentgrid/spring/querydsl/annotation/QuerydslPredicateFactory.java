@@ -1,5 +1,6 @@
 package com.contentgrid.spring.querydsl.annotation;
 
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
@@ -53,6 +54,48 @@ public interface QuerydslPredicateFactory<T extends Path<?>,  S> {
         return Optional.empty();
     }
 
+    /**
+     * Create expressions to sort by this {@link CollectionFilterParam}, when the collection is also filtered by it
+     * <p>
+     * Factories can use the filter values to sort on how well an item matches them, like the relevance of a search
+     * result. By default, the values are ignored and {@link #sortExpression(Path)} is used.
+     *
+     * @param path Property path at the position of the {@link CollectionFilterParam} annotation that references this
+     * factory
+     * @param values Values for the query parameter bound by {@link CollectionFilterParam}, converted to the type
+     * requested by {@link #valueType(Path)}
+     * @return All {@link Expression}s that will be used for sorting on this field
+     */
+    default Optional<Expression<? extends Comparable<?>>> sortExpression(T path, Collection<? extends S> values) {
+        return sortExpression(path);
+    }
+
+    /**
+     * Whether {@link #sortExpression(Path, Collection)} uses the filter values
+     * <p>
+     * Only factories that return {@code true} receive the filter values when sorting; for other factories, the values
+     * are not converted a second time just to be ignored.
+     *
+     * @return {@code true} if the sort expression depends on the filter values
+     */
+    default boolean sortsByValues() {
+        return false;
+    }
+
+    /**
+     * Lists the database indexes that predicates created by this factory can use
+     * <p>
+     * These indexes are not created automatically, they are used to report which indexes are missing for the filters
+     * that are declared on a domain type.
+     *
+     * @param path Property path at the position of the {@link CollectionFilterParam} annotation that references this
+     * factory
+     * @return All indexes that the predicates created by {@link #bind(Path, Collection)} need
+     */
+    default Stream<CollectionFilterIndex> indexes(T path) {
+        return Stream.empty();
+    }
+
     /**
      * Obtain the filter type of the predicate. API clients can use this to distinguish the query parameters
      *
@@ -0,0 +1,75 @@
+package com.contentgrid.spring.querydsl.converter;
+
+import com.contentgrid.spring.querydsl.mapping.CollectionFilter;
+import com.querydsl.core.types.Predicate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import lombok.NonNull;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Converts request query parameters to the parameter type of one {@link CollectionFilter}, and creates its predicate
+ * <p>
+ * The type descriptors for the conversion are resolved once for every filter; the conversion service caches the
+ * converter for the pair of types itself. Parameters for string filters are passed to the filter as they are.
+ *
+ * @param <T> Type of the path referenced by the filter
+ */
+class CollectionFilterParameterConverter<T> {
+
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    private final CollectionFilter<T> filter;
+    private final ConversionService conversionService;
+    private final TypeDescriptor targetType;
+    private final boolean passThrough;
+
+    CollectionFilterParameterConverter(@NonNull CollectionFilter<T> filter,
+            @NonNull ConversionService conversionService) {
+        this.filter = filter;
+        this.conversionService = conversionService;
+        this.targetType = TypeDescriptor.valueOf(filter.getParameterType());
+        this.passThrough = filter.getParameterType() == String.class;
+    }
+
+    Optional<Predicate> createPredicate(Collection<String> parameters) {
+        return filter.createPredicate(convertParameters(parameters));
+    }
+
+    Collection<T> convertParameters(Collection<String> parameters) {
+        try {
+            return convert(parameters);
+        } catch (ConversionFailedException e) {
+            throw new CollectionFilterValueConversionException(filter, e.getValue(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<T> convert(Collection<String> parameters) {
+        if (passThrough) {
+            if (parameters instanceof List<String> list) {
+                return (Collection<T>) Collections.unmodifiableList(list);
+            }
+            return (Collection<T>) List.copyOf(parameters);
+        }
+        if (parameters.size() == 1) {
+            // Most filters are used with a single value
+            return Collections.singletonList(convert(parameters.iterator().next()));
+        }
+        var converted = new ArrayList<T>(parameters.size());
+        for (String parameter : parameters) {
+            converted.add(convert(parameter));
+        }
+        return Collections.unmodifiableList(converted);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T convert(String parameter) {
+        return (T) conversionService.convert(parameter, STRING_TYPE, targetType);
+    }
+}
@@ -7,30 +7,40 @@ import com.querydsl.core.types.Predicate;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 @RequiredArgsConstructor
 public class CollectionFilterQuerydslPredicateConverter {
     private final CollectionFiltersMapping collectionFiltersMapping;
     private final ConversionService conversionService;
 
+    private final Map<CollectionFilter<?>, CollectionFilterParameterConverter<?>> parameterConverters = new ConcurrentReferenceHashMap<>();
+
     public Optional<Predicate> getPredicate(Class<?> domainType, Map<String, ? extends Collection<String>> parameters) {
+        return getPredicate(domainType, parameters, values -> values);
+    }
+
+    /**
+     * Creates a predicate from request query parameters that are not stored as collections
+     *
+     * @param domainType The domain type to create a predicate for
+     * @param parameters The request query parameters
+     * @param valuesAccessor Obtains the values of a request query parameter
+     * @return A predicate if one can be created from the parameters
+     */
+    public <V> Optional<Predicate> getPredicate(Class<?> domainType, Map<String, V> parameters,
+            Function<? super V, ? extends Collection<String>> valuesAccessor) {
         var mapping = collectionFiltersMapping.forDomainType(domainType);
 
         var predicateBuilder = new BooleanBuilder();
 
         parameters.forEach((paramName, paramValues) -> {
             mapping.named(paramName).ifPresent(filter -> {
-                Collection<?> typedParameters;
-                try {
-                    typedParameters = convertParametersToType(filter.getParameterType(), paramValues);
-                } catch (ConversionFailedException e) {
-                    throw new CollectionFilterValueConversionException(filter, e.getValue(), e);
-                }
-                ((CollectionFilter<Object>) filter)
-                        .createPredicate((Collection<Object>) typedParameters)
+                parameterConverter(filter)
+                        .createPredicate(valuesAccessor.apply(paramValues))
                         .ifPresent(predicateBuilder::and);
             });
         });
@@ -38,10 +48,23 @@ public class CollectionFilterQuerydslPredicateConverter {
         return Optional.ofNullable(predicateBuilder.getValue());
     }
 
-    private <T> Collection<T> convertParametersToType(Class<T> targetType, Collection<String> params) {
-        return params.stream()
-                .map(value -> conversionService.convert(value, targetType))
-                .toList();
+    /**
+     * Converts request query parameters to the parameter type of a collection filter, the same way as they are
+     * converted to create its predicate
+     *
+     * @param filter The collection filter the parameters are for
+     * @param parameters The request query parameters of the filter
+     * @return The parameters, converted to {@link CollectionFilter#getParameterType()}
+     * @throws CollectionFilterValueConversionException when a parameter can not be converted
+     */
+    public <T> Collection<T> convertParameters(CollectionFilter<T> filter, Collection<String> parameters) {
+        return parameterConverter(filter).convertParameters(parameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CollectionFilterParameterConverter<T> parameterConverter(CollectionFilter<T> filter) {
+        return (CollectionFilterParameterConverter<T>) parameterConverters.computeIfAbsent(filter,
+                key -> new CollectionFilterParameterConverter<>(key, conversionService));
     }
 
 }
@@ -0,0 +1,33 @@
+package com.contentgrid.spring.querydsl.hibernate;
+
+import com.contentgrid.spring.querydsl.annotation.NormalizedText;
+import java.util.EnumSet;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Populates a {@link NormalizedText} field with the normalized text of its source field, before the entity is written
+ */
+@RequiredArgsConstructor
+public class NormalizedTextGenerator implements BeforeExecutionGenerator {
+
+    private final NormalizedText normalizedText;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        var text = session.getEntityPersister(null, owner).getPropertyValue(owner, normalizedText.value());
+        if (text == null) {
+            return null;
+        }
+        return normalizedText.normalization().normalize(text.toString());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_AND_UPDATE;
+    }
+}
@@ -10,5 +10,38 @@ public class PostgresNormalizeFunctionContributor implements FunctionContributor
         var returnType = functionContributions.getTypeConfiguration().getBasicTypeForJavaType(String.class);
         functionContributions.getFunctionRegistry().registerPattern("normalize", "normalize(?1, NFKC)", returnType);
         functionContributions.getFunctionRegistry().registerPattern("contentgrid_prefix_search_normalize", "extensions.contentgrid_prefix_search_normalize(?1)", returnType);
+
+        // Compares to an array of values or LIKE patterns, so any number of values is a single condition with a single parameter
+        var booleanType = functionContributions.getTypeConfiguration().getBasicTypeForJavaType(Boolean.class);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_equals_any", "(?1 = any(?2))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_like", "(?1 like ?2)", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_like_any", "(?1 like any(?2))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_prefix_search_like",
+                "(extensions.contentgrid_prefix_search_normalize(?1) like extensions.contentgrid_prefix_search_normalize(?2))",
+                booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_prefix_search_like_any",
+                "(extensions.contentgrid_prefix_search_normalize(?1) like any(array(select extensions.contentgrid_prefix_search_normalize(pattern) from unnest(?2) pattern)))",
+                booleanType);
+
+        // Full-text search on the words of a text, with the same tsvector expression as the GIN index that supports it
+        var floatType = functionContributions.getTypeConfiguration().getBasicTypeForJavaType(Float.class);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_fulltext_match",
+                "(to_tsvector('simple', ?1) @@ websearch_to_tsquery('simple', ?2))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_fulltext_rank",
+                "ts_rank(to_tsvector('simple', ?1), websearch_to_tsquery('simple', ?2))", floatType);
+
+        // Substring search, served by a trigram index of the pg_trgm extension
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_ilike", "(?1 ilike ?2)", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_similarity", "similarity(?1, ?2)",
+                floatType);
+
+        // Containment and SQL/JSON path searches on jsonb, which can use a GIN index with jsonb_path_ops
+        // @? and @@ are the operator forms of jsonb_path_exists() and jsonb_path_match(); only operators can use an index
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_jsonb_contains",
+                "(?1 @> cast(?2 as jsonb))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_jsonb_path_exists",
+                "(?1 @? cast(?2 as jsonpath))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern("contentgrid_jsonb_path_match",
+                "(?1 @@ cast(?2 as jsonpath))", booleanType);
     }
 }
@@ -7,6 +7,7 @@ import com.querydsl.core.types.Predicate;
 import java.lang.reflect.AnnotatedElement;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Operational representation of a {@link com.contentgrid.spring.querydsl.annotation.CollectionFilterParam} annotation
@@ -95,4 +96,41 @@ public interface CollectionFilter<T> {
      * @return An order specification if one can be created for the specified order and collection filter
      */
     Optional<OrderSpecifier<?>> createOrderSpecifier(Order order);
+
+    /**
+     * Creates a sort order specification from the <code>sort</code> request query parameter, when the collection is
+     * also filtered by this filter
+     * <p>
+     * Some types of collection filter sort on how well items match the filter parameters. Other types of collection
+     * filter ignore the parameters, and sort the same as {@link #createOrderSpecifier(Order)}.
+     *
+     * @param order The direction the property should be sorted in
+     * @param parameters The query parameters that are converted to the correct type as given by
+     * {@link #getParameterType()}
+     * @return An order specification if one can be created for the specified order and collection filter
+     */
+    default Optional<OrderSpecifier<?>> createOrderSpecifier(Order order, Collection<T> parameters) {
+        return createOrderSpecifier(order);
+    }
+
+    /**
+     * Whether {@link #createOrderSpecifier(Order, Collection)} uses the query parameters of this filter
+     *
+     * @return {@code true} if the sort order depends on the query parameters, {@code false} if it is always the same as
+     * {@link #createOrderSpecifier(Order)}
+     */
+    default boolean isSortedByParameters() {
+        return false;
+    }
+
+    /**
+     * Obtain the database indexes that this filter needs to filter efficiently
+     * <p>
+     * Not all types of collection filter can use an index. If no index can be used, an empty stream will be returned.
+     *
+     * @return The indexes that can be used by the predicates created by this filter
+     */
+    default Stream<CollectionFilterIndex> getIndexes() {
+        return Stream.empty();
+    }
 }
@@ -0,0 +1,82 @@
+package com.contentgrid.spring.querydsl.mapping;
+
+import com.querydsl.core.types.Path;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Database index that a {@link CollectionFilter} needs to filter efficiently
+ * <p>
+ * The index is described in terms of the column of a {@link Path}: the indexed expression is an SQL expression with
+ * {@code {0}} in place of that column.
+ */
+@Value
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CollectionFilterIndex {
+
+    /**
+     * The path that maps to the column that is indexed
+     */
+    @NonNull
+    Path<?> path;
+
+    /**
+     * SQL expression that is indexed, with {@code {0}} in place of the column
+     */
+    @NonNull
+    String expression;
+
+    /**
+     * Access method of the index, like {@code btree} or {@code gin}
+     */
+    @With
+    @NonNull
+    String method;
+
+    /**
+     * Operator class of the index, or {@code null} to use the default operator class of the expression type
+     */
+    @With
+    String operatorClass;
+
+    /**
+     * Index on the column of a path itself
+     *
+     * @param path The path that maps to the column that is indexed
+     * @return An index on the column
+     */
+    public static CollectionFilterIndex on(Path<?> path) {
+        return on(path, "{0}");
+    }
+
+    /**
+     * Index on an expression of the column of a path
+     *
+     * @param path The path that maps to the column that is indexed
+     * @param expression SQL expression that is indexed, with {@code {0}} in place of the column
+     * @return An index on the expression
+     */
+    public static CollectionFilterIndex on(Path<?> path, String expression) {
+        return new CollectionFilterIndex(path, expression, "btree", null);
+    }
+
+    /**
+     * Whether the index is on the column itself, instead of an expression of the column
+     */
+    public boolean isColumn() {
+        return "{0}".equals(expression);
+    }
+
+    /**
+     * Renders the indexed expression for a column
+     *
+     * @param column SQL for the column that is indexed
+     * @return SQL for the indexed expression
+     */
+    public String toSql(String column) {
+        return expression.replace("{0}", column);
+    }
+}
@@ -1,18 +1,27 @@
 package com.contentgrid.spring.querydsl.predicate;
 
 import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicatePathTypeException;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathType;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.SubQueryExpressionImpl;
 import com.querydsl.core.types.dsl.BeanPath;
 import com.querydsl.core.types.dsl.CollectionPathBase;
 import com.querydsl.core.types.dsl.ComparableExpression;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
 import com.querydsl.core.types.dsl.SimpleExpression;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -58,11 +67,15 @@ public class Default implements QuerydslPredicateFactory<Path<?>, Object> {
         }
 
         if(path instanceof CollectionPathBase collectionPath) {
-            BooleanBuilder builder = new BooleanBuilder();
-
             assertNotBeanPath(collectionPath.any());
 
-            for (Object value : values) {
+            var distinctValues = new LinkedHashSet<Object>(values);
+            if(distinctValues.size() > 1 && !distinctValues.contains(null) && !crossesCollection(collectionPath)) {
+                return Optional.of(containsAll(collectionPath, distinctValues));
+            }
+
+            BooleanBuilder builder = new BooleanBuilder();
+            for (Object value : distinctValues) {
                 builder.and(collectionPath.contains(value));
             }
 
@@ -91,6 +104,49 @@ public class Default implements QuerydslPredicateFactory<Path<?>, Object> {
         ));
     }
 
+    /**
+     * Creates a predicate that checks that a collection contains all values with a single subquery.
+     * <p>
+     * Using {@link CollectionPathBase#contains(Object)} for every value results in a separate subquery per value, which
+     * the database has to plan and execute one by one. Instead, the distinct collection elements that are one of the
+     * values are counted, which must be equal to the number of values:
+     * <pre>
+     * (select count(distinct element) from o.items as element where element in (:values)) = :size
+     * </pre>
+     *
+     * @param collectionPath the collection that must contain all values
+     * @param values distinct, non-null values
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Predicate containsAll(CollectionPathBase<?, ?, ?> collectionPath, Set<?> values) {
+        Path element = ExpressionUtils.path(collectionPath.getElementType(),
+                collectionPath.getMetadata().getName() + "_element");
+
+        var metadata = new DefaultQueryMetadata();
+        metadata.addJoin(JoinType.DEFAULT, ExpressionUtils.as((Path) collectionPath, element));
+        metadata.addWhere(ExpressionUtils.in(element, values));
+        metadata.setProjection(ExpressionUtils.operation(Long.class, Ops.AggOps.COUNT_DISTINCT_AGG, element));
+
+        return ExpressionUtils.eq(new SubQueryExpressionImpl<>(Long.class, metadata),
+                ConstantImpl.create((long) values.size()));
+    }
+
+    /**
+     * Checks whether a path goes through the elements of another collection (using {@link CollectionPathBase#any()}).
+     * <p>
+     * Conditions on such paths are rewritten to a correlated {@code EXISTS} subquery by the JPA query, so the main query
+     * is not joined with the collection. That rewrite does not look inside subqueries, so it can not be used for
+     * {@link #containsAll(CollectionPathBase, Set)}.
+     */
+    private static boolean crossesCollection(Path<?> path) {
+        for (var parent = path.getMetadata().getParent(); parent != null; parent = parent.getMetadata().getParent()) {
+            if (parent.getMetadata().getPathType() == PathType.COLLECTION_ANY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void assertNotBeanPath(SimpleExpression<?> expression) {
         if(expression instanceof BeanPath<?> beanPath) {
             throw new UnsupportedCollectionFilterPredicateException(this, beanPath, "must not be of type BeanPath");
@@ -110,6 +166,19 @@ public class Default implements QuerydslPredicateFactory<Path<?>, Object> {
         return Optional.empty();
     }
 
+    @Override
+    public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+        if (path instanceof CollectionPathBase<?, ?, ?> || !shouldHandlePath(path)) {
+            // Values of a collection are stored in a separate table that is not visible to the filter
+            return Stream.empty();
+        }
+        if (Boolean.class.equals(path.getType())) {
+            // An index on a boolean column is rarely more selective than scanning the table
+            return Stream.empty();
+        }
+        return Stream.of(CollectionFilterIndex.on(path));
+    }
+
     @Override
     public String getFilterType() {
         return "exact-match";
@@ -0,0 +1,266 @@
+package com.contentgrid.spring.querydsl.predicate;
+
+import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
+import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import jakarta.persistence.Column;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@UtilityClass
+public class Json {
+
+    /**
+     * Operator class of GIN indexes that support the {@code @>}, {@code @?} and {@code @@} operators on {@code jsonb}
+     */
+    private static final String PATH_OPERATOR_CLASS = "jsonb_path_ops";
+
+    private static final ObjectReader JSON_READER = JsonMapper.builder()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+            .build()
+            .reader();
+
+    @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+    private abstract static class AbstractJsonPredicateFactory<S> implements QuerydslPredicateFactory<Path<?>, S> {
+        private final BiFunction<Path<?>, String, BooleanExpression> jsonExpressionMapper;
+
+        private final Function<S, String> valueMapper;
+
+        private final Class<S> valueType;
+
+        @Getter
+        private final String filterType;
+
+        /**
+         * Checks that the path is mapped to a {@code jsonb} column
+         *
+         * @throws UnsupportedCollectionFilterPredicateException When the path is not mapped to a {@code jsonb} column
+         */
+        protected Path<?> coercePath(Path<?> path) {
+            if (isJsonColumn(path)) {
+                return path;
+            }
+            throw new UnsupportedCollectionFilterPredicateException(this, path,
+                    "must be mapped to a jsonb column with @JdbcTypeCode(SqlTypes.JSON) or @Column(columnDefinition = \"jsonb\")");
+        }
+
+        @Override
+        public Stream<Path<?>> boundPaths(Path<?> path) {
+            return Stream.of(coercePath(path));
+        }
+
+        @Override
+        public Optional<Predicate> bind(Path<?> path, Collection<? extends S> values) {
+            var jsonPath = coercePath(path);
+            if (values.isEmpty()) {
+                return Optional.empty();
+            }
+            if (values.size() == 1) {
+                return Optional.of(jsonExpressionMapper.apply(jsonPath, valueMapper.apply(values.iterator().next())));
+            }
+
+            // If there are multiple values, return whether any of the provided values matches
+            var builder = new BooleanBuilder();
+            values.stream()
+                    .map(valueMapper)
+                    .distinct()
+                    .forEach(value -> builder.or(jsonExpressionMapper.apply(jsonPath, value)));
+
+            return Optional.ofNullable(builder.getValue());
+        }
+
+        @Override
+        public Class<S> valueType(Path<?> path) {
+            return valueType;
+        }
+
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            return Stream.of(CollectionFilterIndex.on(coercePath(path))
+                    .withMethod("gin")
+                    .withOperatorClass(PATH_OPERATOR_CLASS));
+        }
+    }
+
+    /**
+     * Filters items down to only items of which the JSON document contains the supplied JSON document, like
+     * {@code {"color":"red"}} or {@code {"tags":["a"]}}.
+     * <p>
+     * Searches can use a GIN index on the column with the {@code jsonb_path_ops} operator class.
+     * <p>
+     * This predicate only supports properties that are mapped to a {@code jsonb} column. Values that are not valid
+     * JSON are rejected before the query is executed.
+     */
+    public static class Contains extends AbstractJsonPredicateFactory<Document> {
+
+        public Contains() {
+            super(Json::contains, Document::value, Document.class, "json-contains");
+        }
+    }
+
+    /**
+     * Filters items down to only items of which the JSON document matches the supplied SQL/JSON path predicate check,
+     * like {@code $.size > 10} or {@code exists($.tags[*] ? (@ starts with "a"))}.
+     * <p>
+     * A path that does not result in a single boolean, like {@code $.color}, does not match any item. Use
+     * {@link PathExists} to filter on paths that select items from the document.
+     * <p>
+     * Searches can use a GIN index on the column with the {@code jsonb_path_ops} operator class.
+     * <p>
+     * This predicate only supports properties that are mapped to a {@code jsonb} column. Values that do not refer to
+     * the document, or that have unbalanced brackets or quotes are rejected before the query is executed.
+     */
+    public static class PathMatches extends AbstractJsonPredicateFactory<JsonPath> {
+
+        public PathMatches() {
+            super(Json::pathMatches, JsonPath::value, JsonPath.class, "json-path-match");
+        }
+    }
+
+    /**
+     * Filters items down to only items of which the JSON document has any item for the supplied SQL/JSON path, like
+     * {@code $.tags[*] ? (@ == "a")} or {@code $.dimensions.width}.
+     * <p>
+     * A predicate check like {@code $.size > 10} always results in a boolean item, so it matches all items. Use
+     * {@link PathMatches} for predicate checks, or write them as a filter: {@code $.size ? (@ > 10)}.
+     * <p>
+     * Searches can use a GIN index on the column with the {@code jsonb_path_ops} operator class.
+     * <p>
+     * This predicate only supports properties that are mapped to a {@code jsonb} column. Values that do not refer to
+     * the document, or that have unbalanced brackets or quotes are rejected before the query is executed.
+     */
+    public static class PathExists extends AbstractJsonPredicateFactory<JsonPath> {
+
+        public PathExists() {
+            super(Json::pathExists, JsonPath::value, JsonPath.class, "json-path-exists");
+        }
+    }
+
+    /**
+     * A JSON document to search for with {@link Contains}
+     * <p>
+     * The conversion service creates it from a request query parameter, so an invalid document is reported as an
+     * invalid value for the filter.
+     *
+     * @param value The JSON document
+     */
+    public record Document(@NonNull String value) {
+
+        public Document {
+            try {
+                if (JSON_READER.readTree(value).isMissingNode()) {
+                    throw new IllegalArgumentException("Empty JSON document");
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON document: " + e.getOriginalMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * A SQL/JSON path to search for with {@link PathMatches} or {@link PathExists}
+     * <p>
+     * The conversion service creates it from a request query parameter, so a path that is obviously invalid is
+     * reported as an invalid value for the filter. Only the structure is checked; the database parses the rest.
+     *
+     * @param value The SQL/JSON path
+     */
+    public record JsonPath(@NonNull String value) {
+
+        public JsonPath {
+            validatePathStructure(value);
+        }
+    }
+
+    private static void validatePathStructure(String jsonPath) {
+        var brackets = new ArrayDeque<Character>();
+        var referencesDocument = false;
+        var inString = false;
+        var escaped = false;
+        for (var i = 0; i < jsonPath.length(); i++) {
+            var c = jsonPath.charAt(i);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '$' -> referencesDocument = true;
+                case '(', '[' -> brackets.push(c);
+                case ')', ']' -> {
+                    var open = brackets.poll();
+                    if (open == null || open != (c == ')' ? '(' : '[')) {
+                        throw new IllegalArgumentException("Unbalanced '%s' in JSON path".formatted(c));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        if (inString) {
+            throw new IllegalArgumentException("Unterminated string in JSON path");
+        }
+        if (!brackets.isEmpty()) {
+            throw new IllegalArgumentException("Unbalanced '%s' in JSON path".formatted(brackets.peek()));
+        }
+        if (!referencesDocument) {
+            throw new IllegalArgumentException("JSON path does not refer to the document with '$'");
+        }
+    }
+
+    private static boolean isJsonColumn(Path<?> path) {
+        var annotatedElement = path.getAnnotatedElement();
+        if (annotatedElement == null) {
+            return false;
+        }
+        var jdbcTypeCode = annotatedElement.getAnnotation(JdbcTypeCode.class);
+        if (jdbcTypeCode != null && jdbcTypeCode.value() == SqlTypes.JSON) {
+            return true;
+        }
+        var column = annotatedElement.getAnnotation(Column.class);
+        return column != null && column.columnDefinition().trim().toLowerCase(Locale.ROOT).startsWith("jsonb");
+    }
+
+    static BooleanExpression contains(Expression<?> expr, String document) {
+        return Expressions.booleanTemplate("contentgrid_jsonb_contains({0}, {1})", expr, ConstantImpl.create(document));
+    }
+
+    static BooleanExpression pathMatches(Expression<?> expr, String jsonPath) {
+        return Expressions.booleanTemplate("contentgrid_jsonb_path_match({0}, {1})", expr,
+                ConstantImpl.create(jsonPath));
+    }
+
+    static BooleanExpression pathExists(Expression<?> expr, String jsonPath) {
+        return Expressions.booleanTemplate("contentgrid_jsonb_path_exists({0}, {1})", expr,
+                ConstantImpl.create(jsonPath));
+    }
+}
@@ -1,5 +1,6 @@
 package com.contentgrid.spring.querydsl.predicate;
 
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicatePathTypeException;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
@@ -75,6 +76,12 @@ public class Ordered {
             return lowestValue.map(value -> operation.apply(path, value));
         }
 
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            // Range comparisons can use a B-tree index on the column
+            return Stream.of(CollectionFilterIndex.on(coercePath(path)));
+        }
+
         @Override
         public String getFilterType() {
             return operation.getName();
@@ -1,21 +1,33 @@
 package com.contentgrid.spring.querydsl.predicate;
 
+import com.contentgrid.spring.querydsl.annotation.NormalizedText;
+import com.contentgrid.spring.querydsl.annotation.NormalizedText.Normalization;
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
+import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicatePathTypeException;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Constant;
 import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Visitor;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.core.types.dsl.StringPath;
 import java.text.Normalizer;
 import java.text.Normalizer.Form;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.UtilityClass;
@@ -23,6 +35,21 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class Text {
 
+    /**
+     * SQL for {@link #postgresNormalize(Expression)} of a column, as it is indexed
+     */
+    private static final String NORMALIZE_INDEX_EXPRESSION = "normalize({0}, NFKC)";
+
+    /**
+     * Operator class of indexes that support {@code LIKE} prefix matches
+     */
+    private static final String PATTERN_OPERATOR_CLASS = "text_pattern_ops";
+
+    /**
+     * Operator class of {@code pg_trgm} GIN indexes, that support {@code LIKE} and {@code ILIKE} substring matches
+     */
+    private static final String TRIGRAM_OPERATOR_CLASS = "gin_trgm_ops";
+
     @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
     private abstract static class AbstractStringPredicateFactory extends AbstractSimpleQuerydslPredicateFactory<StringPath, String> {
         private final BiFunction<StringPath, String, BooleanExpression> stringExpressionMapper;
@@ -39,7 +66,19 @@ public class Text {
         }
 
         @Override
-        protected Optional<Predicate> bindCoerced(StringPath path, Collection<? extends String> values) {
+        protected final Optional<Predicate> bindCoerced(StringPath path, Collection<? extends String> values) {
+            if (isNormalizedColumn(path)) {
+                return normalizedColumnFactory().bindText(path, values.stream()
+                        .map(normalization()::normalize)
+                        .toList());
+            }
+            return bindText(path, values);
+        }
+
+        /**
+         * Specialization of {@link #bindCoerced(StringPath, Collection)} for a column that is not normalized already
+         */
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
             if(values.isEmpty()) {
                 return Optional.empty();
             }
@@ -54,6 +93,79 @@ public class Text {
 
             return Optional.ofNullable(builder.getValue());
         }
+
+        /**
+         * SQL expression that predicates of this factory compare, with {@code {0}} in place of the column
+         */
+        protected String indexExpression() {
+            return "{0}";
+        }
+
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            var stringPath = coercePath(path);
+            if (isNormalizedColumn(stringPath)) {
+                return normalizedColumnFactory().indexes(stringPath);
+            }
+            return Stream.of(CollectionFilterIndex.on(stringPath, indexExpression()));
+        }
+
+        /**
+         * Normalization that this factory applies to texts before comparing them, or {@code null} if texts are
+         * compared as they are
+         */
+        protected Normalization normalization() {
+            return null;
+        }
+
+        /**
+         * Factory that compares a column that is already normalized with {@link #normalization()} to normalized values,
+         * in the same way as this factory
+         */
+        protected AbstractStringPredicateFactory normalizedColumnFactory() {
+            return new NormalizedColumnEquals();
+        }
+
+        /**
+         * Whether the path is a column that holds texts that are normalized already, like this factory normalizes them
+         *
+         * @throws UnsupportedCollectionFilterPredicateException When the column is normalized in a different way
+         */
+        protected boolean isNormalizedColumn(StringPath path) {
+            var normalization = normalization();
+            var annotatedElement = path.getAnnotatedElement();
+            if (normalization == null || annotatedElement == null) {
+                return false;
+            }
+            var normalizedText = annotatedElement.getAnnotation(NormalizedText.class);
+            if (normalizedText == null) {
+                return false;
+            }
+            if (normalizedText.normalization() != normalization) {
+                throw new UnsupportedCollectionFilterPredicateException(this, path,
+                        "column is normalized with %s, but should be normalized with %s".formatted(
+                                normalizedText.normalization(), normalization));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Compares a column that is already normalized to values that are normalized in the same way
+     */
+    private static class NormalizedColumnEquals extends AbstractStringPredicateFactory {
+
+        NormalizedColumnEquals() {
+            super((expr, value) -> expr.eq(value), "exact-match");
+        }
+
+        @Override
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
+            if (values.size() <= 1) {
+                return super.bindText(path, values);
+            }
+            return Optional.of(equalsAny(path, List.copyOf(values)));
+        }
     }
 
     /**
@@ -68,17 +180,70 @@ public class Text {
         }
 
         @Override
-        protected Optional<Predicate> bindCoerced(StringPath path, Collection<? extends String> values) {
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
             if (values.size() <= 1) {
-                return super.bindCoerced(path, values);
+                return super.bindText(path, values);
             }
-            return Optional.of(path.lower().in(values.stream().map(String::toLowerCase).toList()));
+            return Optional.of(equalsAny(path.lower(), values.stream().map(String::toLowerCase).toList()));
         }
 
         @Override
         public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path) {
             return Optional.of(coercePath(path).lower());
         }
+
+        @Override
+        protected String indexExpression() {
+            return "lower({0})";
+        }
+    }
+
+    /**
+     * Base class for prefix matching predicates.
+     * <p>
+     * Multiple values are matched with a single {@code LIKE ANY(array)} expression instead of an {@code OR} of a
+     * {@code LIKE} per value, which the database can plan as one condition, no matter how many values there are.
+     * <p>
+     * Wildcards in the values are escaped in the same way for a single value and for multiple values, so they are
+     * always matched literally.
+     */
+    private abstract static class AbstractStartsWithPredicateFactory extends AbstractStringPredicateFactory {
+        private final Function<StringExpression, StringExpression> expressionMapper;
+        private final UnaryOperator<String> valueMapper;
+
+        protected AbstractStartsWithPredicateFactory(
+                String filterType,
+                Function<StringExpression, StringExpression> expressionMapper,
+                UnaryOperator<String> valueMapper
+        ) {
+            super((expr, value) -> like(expressionMapper.apply(expr), escapeForLike(valueMapper.apply(value)) + "%"),
+                    filterType);
+            this.expressionMapper = expressionMapper;
+            this.valueMapper = valueMapper;
+        }
+
+        @Override
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
+            if (values.size() <= 1) {
+                return super.bindText(path, values);
+            }
+            return Optional.of(likeAny(expressionMapper.apply(path), values.stream()
+                    .map(valueMapper)
+                    .map(value -> escapeForLike(value) + "%")
+                    .distinct()
+                    .toList()));
+        }
+
+        @Override
+        protected AbstractStringPredicateFactory normalizedColumnFactory() {
+            return new StartsWith();
+        }
+
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            // Prefix matches can only use an index with a pattern operator class, unless the column uses the C collation
+            return super.indexes(path).map(index -> index.withOperatorClass(PATTERN_OPERATOR_CLASS));
+        }
     }
 
     /**
@@ -86,10 +251,10 @@ public class Text {
      * <p>
      * This predicate only supports {@link String}s, and can not be used with other types.
      */
-    public static class StartsWith extends AbstractStringPredicateFactory {
+    public static class StartsWith extends AbstractStartsWithPredicateFactory {
 
         public StartsWith() {
-            super(StringExpression::startsWith, "starts-with");
+            super("starts-with", Function.identity(), UnaryOperator.identity());
         }
     }
 
@@ -98,10 +263,15 @@ public class Text {
      * <p>
      * This predicate only supports {@link String}s, and can not be used with other types.
      */
-    public static class StartsWithIgnoreCase extends AbstractStringPredicateFactory {
+    public static class StartsWithIgnoreCase extends AbstractStartsWithPredicateFactory {
 
         public StartsWithIgnoreCase() {
-            super(StringExpression::startsWithIgnoreCase, "case-insensitive-starts-with");
+            super("case-insensitive-starts-with", StringExpression::lower, String::toLowerCase);
+        }
+
+        @Override
+        protected String indexExpression() {
+            return "lower({0})";
         }
     }
 
@@ -118,19 +288,30 @@ public class Text {
         }
 
         @Override
-        protected Optional<Predicate> bindCoerced(StringPath path, Collection<? extends String> values) {
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
             if (values.size() <= 1) {
-                return super.bindCoerced(path, values);
+                return super.bindText(path, values);
             }
 
-            return Optional.of(postgresNormalize(path).in(values.stream()
+            return Optional.of(equalsAny(postgresNormalize(path), values.stream()
                     .map(value -> Normalizer.normalize(value, Form.NFKC))
                     .toList()));
         }
 
         @Override
         public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path) {
-            return Optional.of(postgresNormalize(coercePath(path)));
+            var stringPath = coercePath(path);
+            return Optional.of(isNormalizedColumn(stringPath) ? stringPath : postgresNormalize(stringPath));
+        }
+
+        @Override
+        protected String indexExpression() {
+            return NORMALIZE_INDEX_EXPRESSION;
+        }
+
+        @Override
+        protected Normalization normalization() {
+            return Normalization.NFKC;
         }
     }
 
@@ -147,18 +328,29 @@ public class Text {
         }
 
         @Override
-        protected Optional<Predicate> bindCoerced(StringPath path, Collection<? extends String> values) {
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
             if (values.size() <= 1) {
-                return super.bindCoerced(path, values);
+                return super.bindText(path, values);
             }
 
-            return Optional.of(postgresNormalize(path).lower().in(values.stream()
+            return Optional.of(equalsAny(postgresNormalize(path).lower(), values.stream()
                     .map(value -> Normalizer.normalize(value, Form.NFKC).toLowerCase())
                     .toList()));
         }
         @Override
         public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path) {
-            return Optional.of(postgresNormalize(coercePath(path)).lower());
+            var stringPath = coercePath(path);
+            return Optional.of(isNormalizedColumn(stringPath) ? stringPath : postgresNormalize(stringPath).lower());
+        }
+
+        @Override
+        protected String indexExpression() {
+            return "lower(" + NORMALIZE_INDEX_EXPRESSION + ")";
+        }
+
+        @Override
+        protected Normalization normalization() {
+            return Normalization.NFKC_IGNORE_CASE;
         }
     }
 
@@ -167,11 +359,20 @@ public class Text {
      * <p>
      * This predicate only supports {@link String}s, and can not be used with other types.
      */
-    public static class StartsWithNormalized extends AbstractStringPredicateFactory {
+    public static class StartsWithNormalized extends AbstractStartsWithPredicateFactory {
 
         protected StartsWithNormalized() {
-            super((expr, value) -> postgresNormalize(expr).startsWith(Normalizer.normalize(value, Form.NFKC)),
-                    "starts-with");
+            super("starts-with", Text::postgresNormalize, value -> Normalizer.normalize(value, Form.NFKC));
+        }
+
+        @Override
+        protected String indexExpression() {
+            return NORMALIZE_INDEX_EXPRESSION;
+        }
+
+        @Override
+        protected Normalization normalization() {
+            return Normalization.NFKC;
         }
     }
 
@@ -180,11 +381,21 @@ public class Text {
      * <p>
      * This predicate only supports {@link String}s, and can not be used with other types.
      */
-    public static class StartsWithIgnoreCaseNormalized extends AbstractStringPredicateFactory {
+    public static class StartsWithIgnoreCaseNormalized extends AbstractStartsWithPredicateFactory {
 
         protected StartsWithIgnoreCaseNormalized() {
-            super((expr, value) -> postgresNormalize(expr).startsWithIgnoreCase(Normalizer.normalize(value, Form.NFKC)),
-                    "case-insensitive-starts-with");
+            super("case-insensitive-starts-with", expr -> postgresNormalize(expr).lower(),
+                    value -> Normalizer.normalize(value, Form.NFKC).toLowerCase());
+        }
+
+        @Override
+        protected String indexExpression() {
+            return "lower(" + NORMALIZE_INDEX_EXPRESSION + ")";
+        }
+
+        @Override
+        protected Normalization normalization() {
+            return Normalization.NFKC_IGNORE_CASE;
         }
     }
 
@@ -207,23 +418,297 @@ public class Text {
     public static class ContentGridPrefixSearch extends AbstractStringPredicateFactory {
 
         protected ContentGridPrefixSearch() {
-            // Using like() and manually append '%' to inner expression because startsWith() appends '%' to outer expression
-            super((expr, value) -> contentGridPrefixSearchNormalize(expr)
-                    .like(contentGridPrefixSearchNormalizePattern(ConstantImpl.create(value), "{0%}")),
-                    "prefix-match");
+            // The pattern is normalized by the database, so '%' is appended before normalizing it
+            super((expr, value) -> contentGridPrefixSearchLike(expr, escapeForLike(value) + "%"), "prefix-match");
+        }
+
+        @Override
+        protected Optional<Predicate> bindText(StringPath path, Collection<? extends String> values) {
+            if (values.size() <= 1) {
+                return super.bindText(path, values);
+            }
+            // Values are normalized by the database, so the patterns are normalized in the query as well
+            return Optional.of(Expressions.booleanTemplate("contentgrid_prefix_search_like_any({0}, {1})", path,
+                    new StringArrayConstant(values.stream()
+                            .map(value -> escapeForLike(value) + "%")
+                            .distinct()
+                            .toList())));
+        }
+
+        @Override
+        protected String indexExpression() {
+            return "extensions.contentgrid_prefix_search_normalize({0})";
+        }
+
+        @Override
+        protected Normalization normalization() {
+            return Normalization.PREFIX_SEARCH;
+        }
+
+        @Override
+        protected AbstractStringPredicateFactory normalizedColumnFactory() {
+            return new StartsWith();
+        }
+
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            return super.indexes(path).map(index -> index.withOperatorClass(PATTERN_OPERATOR_CLASS));
         }
     }
 
+    /**
+     * Base class for substring matching predicates, which are served by a trigram index of the {@code pg_trgm}
+     * extension.
+     * <p>
+     * Multiple values are matched with an {@code OR} of a match per value: a GIN index can not search for an array of
+     * patterns at once, but the database can combine the index scans for each value.
+     * <p>
+     * Sorting on these filters orders items by their trigram similarity ({@code similarity()}) to the values of the same
+     * filter. When the collection is not filtered by it, items are ordered by the text itself.
+     */
+    private abstract static class AbstractContainsPredicateFactory extends AbstractStringPredicateFactory {
+        private final Function<StringExpression, StringExpression> expressionMapper;
+        private final UnaryOperator<String> valueMapper;
+
+        protected AbstractContainsPredicateFactory(
+                BiFunction<StringPath, String, BooleanExpression> stringExpressionMapper,
+                String filterType,
+                Function<StringExpression, StringExpression> expressionMapper,
+                UnaryOperator<String> valueMapper
+        ) {
+            super(stringExpressionMapper, filterType);
+            this.expressionMapper = expressionMapper;
+            this.valueMapper = valueMapper;
+        }
+
+        @Override
+        public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path) {
+            return Optional.of(expressionMapper.apply(coercePath(path)));
+        }
+
+        @Override
+        public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path,
+                Collection<? extends String> values) {
+            var expression = expressionMapper.apply(coercePath(path));
+            return values.stream()
+                    .map(valueMapper)
+                    .distinct()
+                    .map(value -> trigramSimilarity(expression, value))
+                    .reduce(NumberExpression::add)
+                    .<Expression<? extends Comparable<?>>>map(similarity -> similarity)
+                    .or(() -> sortExpression(path));
+        }
+
+        @Override
+        public boolean sortsByValues() {
+            return true;
+        }
+
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            return super.indexes(path).map(index -> index.withMethod("gin").withOperatorClass(TRIGRAM_OPERATOR_CLASS));
+        }
+    }
+
+    /**
+     * Filters items down to only items containing the supplied value.
+     * <p>
+     * Requires Postgres extension {@code pg_trgm} in a schema on the search path, and a trigram index on the column:
+     * <pre>
+     * CREATE EXTENSION pg_trgm;
+     * CREATE INDEX ON table USING gin (column gin_trgm_ops);
+     * </pre>
+     * This predicate only supports {@link String}s, and can not be used with other types.
+     */
+    public static class Contains extends AbstractContainsPredicateFactory {
+
+        public Contains() {
+            super(StringExpression::contains, "contains", Function.identity(), UnaryOperator.identity());
+        }
+    }
+
+    /**
+     * Filters items down to only items containing the supplied value in a case-insensitive, NFKC normalized way.
+     * <p>
+     * Requires Postgres extension {@code pg_trgm} in a schema on the search path, and a trigram index on the normalized
+     * column:
+     * <pre>
+     * CREATE EXTENSION pg_trgm;
+     * CREATE INDEX ON table USING gin (normalize(column, NFKC) gin_trgm_ops);
+     * </pre>
+     * This predicate only supports {@link String}s, and can not be used with other types.
+     */
+    public static class ContainsIgnoreCaseNormalized extends AbstractContainsPredicateFactory {
+
+        public ContainsIgnoreCaseNormalized() {
+            // Using ILIKE instead of lower() on both sides, so the index on the normalized column can be used
+            super((expr, value) -> ilike(postgresNormalize(expr),
+                            "%" + escapeForLike(Normalizer.normalize(value, Form.NFKC)) + "%"),
+                    "case-insensitive-contains", expr -> postgresNormalize(expr).lower(),
+                    value -> Normalizer.normalize(value, Form.NFKC));
+        }
+
+        @Override
+        protected String indexExpression() {
+            return NORMALIZE_INDEX_EXPRESSION;
+        }
+    }
+
+    /**
+     * Filters items down to only items that match the supplied full-text search query.
+     * <p>
+     * Queries use the web search syntax of PostgreSQL ({@code websearch_to_tsquery}): all words must be present,
+     * {@code "quoted text"} matches a phrase, {@code or} matches either word and {@code -} excludes a word. Texts and
+     * queries are split in words with the {@code simple} text search configuration, which lowercases words but does
+     * not remove stop words or reduce words to their stem, so it works the same for all languages.
+     * <p>
+     * Sorting on this filter orders items by their relevance ({@code ts_rank}) to the search queries of the same
+     * filter. When the collection is not filtered by it, items are ordered by the text itself.
+     * <p>
+     * Searches can use a GIN index on {@code to_tsvector('simple', column)}.
+     * <p>
+     * This predicate only supports {@link String}s, and can not be used with other types.
+     */
+    public static class ContentGridFullTextSearch extends AbstractStringPredicateFactory {
+
+        protected ContentGridFullTextSearch() {
+            super(Text::fullTextMatch, "full-text-search");
+        }
+
+        @Override
+        public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path) {
+            return Optional.of(coercePath(path));
+        }
+
+        @Override
+        public Optional<Expression<? extends Comparable<?>>> sortExpression(Path<?> path,
+                Collection<? extends String> values) {
+            var stringPath = coercePath(path);
+            return values.stream()
+                    .distinct()
+                    .map(value -> fullTextRank(stringPath, value))
+                    .reduce(NumberExpression::add)
+                    .<Expression<? extends Comparable<?>>>map(rank -> rank)
+                    .or(() -> sortExpression(path));
+        }
+
+        @Override
+        protected String indexExpression() {
+            return "to_tsvector('simple', {0})";
+        }
+
+        @Override
+        public Stream<CollectionFilterIndex> indexes(Path<?> path) {
+            return super.indexes(path).map(index -> index.withMethod("gin"));
+        }
+    }
+
+    /**
+     * Compares an expression to multiple values at once.
+     * <p>
+     * Unlike {@link StringExpression#in(Collection)}, the values are bound as a single array parameter, so the query
+     * is the same for any number of values, and the database can reuse its plan.
+     */
+    static BooleanExpression equalsAny(Expression<String> expr, Collection<String> values) {
+        return Expressions.booleanTemplate("contentgrid_equals_any({0}, {1})", expr,
+                new StringArrayConstant(values.stream().distinct().toList()));
+    }
+
+    /**
+     * Matches an expression against multiple {@code LIKE} patterns at once, using the default escape character
+     * ({@code \})
+     */
+    static BooleanExpression likeAny(Expression<String> expr, List<String> patterns) {
+        return Expressions.booleanTemplate("contentgrid_like_any({0}, {1})", expr, new StringArrayConstant(patterns));
+    }
+
+    /**
+     * Matches an expression against a {@code LIKE} pattern, using the default escape character ({@code \})
+     * <p>
+     * Unlike {@link StringExpression#like(String)}, which uses {@code !} as escape character, the pattern is escaped
+     * in the same way as the patterns of {@link #likeAny(Expression, List)}.
+     */
+    static BooleanExpression like(Expression<String> expr, String pattern) {
+        return Expressions.booleanTemplate("contentgrid_like({0}, {1})", expr, ConstantImpl.create(pattern));
+    }
+
+    /**
+     * Escapes the wildcards of a {@code LIKE} pattern with the default escape character ({@code \})
+     */
+    static String escapeForLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Matches an expression against a case-insensitive {@code LIKE} pattern, using the default escape character
+     * ({@code \})
+     */
+    static BooleanExpression ilike(Expression<String> expr, String pattern) {
+        return Expressions.booleanTemplate("contentgrid_ilike({0}, {1})", expr, ConstantImpl.create(pattern));
+    }
+
+    static NumberExpression<Float> trigramSimilarity(Expression<String> expr, String value) {
+        return Expressions.numberTemplate(Float.class, "contentgrid_similarity({0}, {1})", expr,
+                ConstantImpl.create(value));
+    }
+
+    static BooleanExpression fullTextMatch(Expression<String> expr, String query) {
+        return Expressions.booleanTemplate("contentgrid_fulltext_match({0}, {1})", expr, ConstantImpl.create(query));
+    }
+
+    static NumberExpression<Float> fullTextRank(Expression<String> expr, String query) {
+        return Expressions.numberTemplate(Float.class, "contentgrid_fulltext_rank({0}, {1})", expr,
+                ConstantImpl.create(query));
+    }
+
     static StringExpression postgresNormalize(Expression<String> expr) {
         return Expressions.stringTemplate("normalize({0s})", expr);
     }
 
-    static StringExpression contentGridPrefixSearchNormalize(Expression<String> expr) {
-        return contentGridPrefixSearchNormalizePattern(expr, "{0s}");
+    /**
+     * Matches the prefix search normalized expression against a {@code LIKE} pattern that is normalized in the same
+     * way, using the default escape character ({@code \})
+     */
+    static BooleanExpression contentGridPrefixSearchLike(Expression<String> expr, String pattern) {
+        return Expressions.booleanTemplate("contentgrid_prefix_search_like({0}, {1})", expr,
+                ConstantImpl.create(pattern));
     }
 
-    static StringExpression contentGridPrefixSearchNormalizePattern(Expression<String> expr, String pattern) {
-        return Expressions.stringTemplate("contentgrid_prefix_search_normalize(%s)".formatted(pattern), expr);
+    /**
+     * A constant array of strings, that is bound as a single array parameter.
+     * <p>
+     * Unlike a {@link ConstantImpl} of an array, constants with the same strings are equal, so predicates that use it
+     * can be compared.
+     */
+    @EqualsAndHashCode
+    static final class StringArrayConstant implements Constant<String[]> {
+        private final List<String> values;
+
+        StringArrayConstant(Collection<String> values) {
+            this.values = List.copyOf(values);
+        }
+
+        @Override
+        public String[] getConstant() {
+            return values.toArray(String[]::new);
+        }
+
+        @Override
+        public Class<? extends String[]> getType() {
+            return String[].class;
+        }
+
+        @Override
+        public <R, C> R accept(Visitor<R, C> v, C context) {
+            return v.visit(this, context);
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
     }
 
 }
@@ -9,14 +9,11 @@ import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.Expressions;
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 
 @RequiredArgsConstructor
 public class CollectionFilterParamPredicateResolver implements QuerydslPredicateResolver {
@@ -36,7 +33,7 @@ public class CollectionFilterParamPredicateResolver implements QuerydslPredicate
             return Optional.empty();
         }
 
-        return querydslPredicateConverter.getPredicate(domainType, toMultiValueMap(parameters))
+        return querydslPredicateConverter.getPredicate(domainType, parameters, Arrays::asList)
                 .<OperationPredicates>map(CollectionFilteringOperationPredicates::new)
                 /*
                 If there is no predicate derived from collection filters, we still need to ensure that there is *a* predicate present.
@@ -47,21 +44,4 @@ public class CollectionFilterParamPredicateResolver implements QuerydslPredicate
                 */
                 .or(() -> Optional.of(new CollectionFilteringOperationPredicates(DEFAULT_PREDICATE)));
     }
-
-    /**
-     * Converts the given Map into a {@link MultiValueMap}.
-     *
-     * @param source must not be {@literal null}.
-     * @return the converted {@link MultiValueMap}.
-     */
-    private static MultiValueMap<String, String> toMultiValueMap(Map<String, String[]> source) {
-
-        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
-
-        for (Entry<String, String[]> entry : source.entrySet()) {
-            result.put(entry.getKey(), Arrays.asList(entry.getValue()));
-        }
-
-        return result;
-    }
 }
@@ -11,11 +11,13 @@ import com.contentgrid.spring.querydsl.test.mapping.TestCollectionFilter;
 import com.contentgrid.spring.querydsl.test.mapping.TestCollectionFiltersMapping;
 import com.querydsl.core.types.Path;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -62,10 +64,30 @@ class CollectionFilterQuerydslPredicateConverterTest {
                 Arguments.of(TEST_PATH.stringValue, List.of("abc"), List.of("abc")),
                 Arguments.of(TEST_PATH.booleanValue, List.of("true"), List.of(true)),
                 Arguments.of(TEST_PATH.timeValue, List.of("1994-08-10T22:15:00Z"), List.of(Instant.parse("1994-08-10T22:15:00Z"))),
-                Arguments.of(TEST_PATH.uuidValue, List.of("a1a8f7a8-4283-11ee-852b-8353804234d2"), List.of(UUID.fromString("a1a8f7a8-4283-11ee-852b-8353804234d2")))
+                Arguments.of(TEST_PATH.uuidValue, List.of("a1a8f7a8-4283-11ee-852b-8353804234d2"), List.of(UUID.fromString("a1a8f7a8-4283-11ee-852b-8353804234d2"))),
+                Arguments.of(TEST_PATH.stringValue, List.of("abc", "def"), List.of("abc", "def")),
+                Arguments.of(TEST_PATH.intValue, List.of("1", "2", "3"), List.of(1, 2, 3))
         );
     }
 
+    @Test
+    void arrayParameters() {
+        var filter = TestCollectionFilter.<Integer>builder()
+                .filterName("test")
+                .filterType("test-match")
+                .path(TEST_PATH.intValue)
+                .build();
+        var converter = new CollectionFilterQuerydslPredicateConverter(
+                createMapping(filter),
+                conversionService
+        );
+
+        converter.getPredicate(TestObject.class, Map.of("test", new String[]{"1", "2"}, "page", new String[]{"3"}),
+                Arrays::asList);
+
+        assertThat(filter.getLastParameters()).isEqualTo(List.of(1, 2));
+    }
+
     @ParameterizedTest
     @MethodSource
     <T> void failedTypeConversion(Path<T> path, Collection<String> inputValues) {
@@ -94,4 +116,27 @@ class CollectionFilterQuerydslPredicateConverterTest {
         );
     }
 
+    @Test
+    void convertParametersWithoutPredicate() {
+        var filter = TestCollectionFilter.<UUID>builder()
+                .filterName("test")
+                .filterType("test-match")
+                .path(TEST_PATH.uuidValue)
+                .build();
+        var converter = new CollectionFilterQuerydslPredicateConverter(
+                createMapping(filter),
+                conversionService
+        );
+
+        assertThat(converter.convertParameters(filter, List.of("a1a8f7a8-4283-11ee-852b-8353804234d2")))
+                .containsExactly(UUID.fromString("a1a8f7a8-4283-11ee-852b-8353804234d2"));
+        assertThat(filter.getLastParameters()).isNull();
+
+        assertThatThrownBy(() -> converter.convertParameters(filter, List.of("123")))
+                .isInstanceOfSatisfying(CollectionFilterValueConversionException.class, exception -> {
+                    assertThat(exception.getFilter()).isEqualTo(filter);
+                    assertThat(exception.getInvalidValue()).isEqualTo("123");
+                });
+    }
+
 }
\ No newline at end of file
@@ -3,13 +3,21 @@ package com.contentgrid.spring.querydsl.predicate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.contentgrid.spring.querydsl.mapping.CollectionFilterIndex;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
 import com.contentgrid.spring.querydsl.test.fixtures.QTestObject;
 import com.contentgrid.spring.querydsl.test.predicate.PredicateFactoryTester;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -78,11 +86,49 @@ class DefaultTest {
         assertThat(factory.bind(List.of("abc"))).hasValueSatisfying(predicate -> {
             assertThat(predicate).hasToString("abc in o.stringItems");
         });
+        assertThat(factory.bind(List.of("abc", "abc"))).hasValueSatisfying(predicate -> {
+            assertThat(predicate).hasToString("abc in o.stringItems");
+        });
+        assertThat(factory.bind(List.of("abc", "def", "abc"))).hasValueSatisfying(predicate -> {
+            assertThat(predicate).isEqualTo(Default.containsAll(TESTER.getPathBase().stringItems, Set.of("abc", "def")));
+
+            // A single subquery counts the matching elements, instead of a subquery for every value
+            var operation = (Operation<?>) predicate;
+            assertThat(operation.getOperator()).isEqualTo(Ops.EQ);
+            assertThat(operation.getArg(0)).isInstanceOfSatisfying(SubQueryExpression.class, subQuery -> {
+                assertThat(subQuery.getMetadata().getJoins()).hasSize(1);
+                assertThat(subQuery.getMetadata().getProjection()).isInstanceOfSatisfying(Operation.class,
+                        projection -> assertThat(projection.getOperator()).isEqualTo(Ops.AggOps.COUNT_DISTINCT_AGG));
+            });
+            assertThat(operation.getArg(1)).isEqualTo(ConstantImpl.create(2L));
+        });
+    }
+
+    @Test
+    void collectionTypeThroughCollection() {
+        // Conditions through any() are rewritten to an EXISTS subquery, which does not work for a subquery
+        var stringItems = Expressions.listPath(String.class, StringPath.class,
+                PathMetadataFactory.forProperty(TESTER.getPathBase().embeddedItems.any(), "stringItems"));
+        var factory = TESTER.evaluate(DEFAULT_FACTORY, o -> stringItems);
+
         assertThat(factory.bind(List.of("abc", "def"))).hasValueSatisfying(predicate -> {
-            assertThat(predicate).hasToString("abc in o.stringItems && def in o.stringItems");
+            assertThat(predicate).isEqualTo(stringItems.contains("abc").and(stringItems.contains("def")));
         });
     }
 
+    @Test
+    void indexes() {
+        var o = TESTER.getPathBase();
+
+        assertThat(DEFAULT_FACTORY.indexes(o.stringValue)).containsExactly(CollectionFilterIndex.on(o.stringValue));
+        assertThat(DEFAULT_FACTORY.indexes(o.uuidValue)).containsExactly(CollectionFilterIndex.on(o.uuidValue));
+        // Not selective enough to use an index
+        assertThat(DEFAULT_FACTORY.indexes(o.booleanValue)).isEmpty();
+        // Stored in another table
+        assertThat(DEFAULT_FACTORY.indexes(o.stringItems)).isEmpty();
+        assertThat(DEFAULT_FACTORY.indexes(o.embeddedObject)).isEmpty();
+    }
+
     @Test
     void embeddedType() {
         var factory = TESTER.evaluate(DEFAULT_FACTORY, QTestObject::embeddedObject);
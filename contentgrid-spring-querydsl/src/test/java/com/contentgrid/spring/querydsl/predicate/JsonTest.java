@@ -0,0 +1,111 @@
+package com.contentgrid.spring.querydsl.predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
+import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
+import com.contentgrid.spring.querydsl.test.fixtures.QTestObject;
+import com.contentgrid.spring.querydsl.test.predicate.PredicateFactoryTester;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+class JsonTest {
+    private static final PredicateFactoryTester<QTestObject> TESTER = new PredicateFactoryTester<>(new QTestObject(
+            PathMetadataFactory.forVariable("o")));
+
+    private static final DefaultConversionService CONVERSION_SERVICE = new DefaultConversionService();
+
+    static Stream<Arguments> factories() {
+        BiFunction<Path<?>, String, BooleanExpression> contains = Json::contains;
+        BiFunction<Path<?>, String, BooleanExpression> pathMatches = Json::pathMatches;
+        BiFunction<Path<?>, String, BooleanExpression> pathExists = Json::pathExists;
+
+        return Stream.of(
+                Arguments.of(new Json.Contains(), contains, "json-contains", Json.Document.class,
+                        List.of("{\"a\":1}", "{\"b\":2}")),
+                Arguments.of(new Json.PathMatches(), pathMatches, "json-path-match", Json.JsonPath.class,
+                        List.of("$.a == 1", "exists($.b[*] ? (@ starts with \"x\"))")),
+                Arguments.of(new Json.PathExists(), pathExists, "json-path-exists", Json.JsonPath.class,
+                        List.of("$.a", "$.b[*] ? (@ starts with \"x\")"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    <S> void bindsJsonPath(QuerydslPredicateFactory<Path<?>, S> predicateFactory,
+            BiFunction<Path<?>, String, BooleanExpression> mapper, String filterType, Class<S> valueType,
+            List<String> values) {
+        var factory = TESTER.evaluate(predicateFactory, QTestObject::jsonValue);
+        var path = TESTER.getPathBase().jsonValue;
+        var first = values.get(0);
+        var second = values.get(1);
+
+        assertThat(predicateFactory.getFilterType()).isEqualTo(filterType);
+        assertThat(predicateFactory.valueType(path)).isEqualTo(valueType);
+        assertThat(factory.boundPaths()).containsExactly(path);
+        assertThat(factory.bind(List.of())).isEmpty();
+        assertThat(factory.bindWithConversion(CONVERSION_SERVICE, List.of(first)))
+                .hasValue(mapper.apply(path, first));
+        assertThat(factory.bindWithConversion(CONVERSION_SERVICE, List.of(first, second, first)))
+                .hasValue(ExpressionUtils.or(mapper.apply(path, first), mapper.apply(path, second)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    void indexes(QuerydslPredicateFactory<Path<?>, ?> predicateFactory) {
+        var path = TESTER.getPathBase().jsonValue;
+
+        assertThat(predicateFactory.indexes(path)).singleElement().satisfies(index -> {
+            assertThat(index.getPath()).isEqualTo(path);
+            assertThat(index.isColumn()).isTrue();
+            assertThat(index.getMethod()).isEqualTo("gin");
+            assertThat(index.getOperatorClass()).isEqualTo("jsonb_path_ops");
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    void rejectsNonJsonColumn(QuerydslPredicateFactory<Path<?>, ?> predicateFactory) {
+        var path = TESTER.getPathBase().stringValue;
+
+        assertThatThrownBy(() -> predicateFactory.boundPaths(path))
+                .isInstanceOf(UnsupportedCollectionFilterPredicateException.class);
+        assertThatThrownBy(() -> predicateFactory.indexes(path))
+                .isInstanceOf(UnsupportedCollectionFilterPredicateException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "{", "{\"a\":}", "{\"a\":1} x", "red"})
+    void invalidDocument(String value) {
+        assertThatThrownBy(() -> CONVERSION_SERVICE.convert(value, Json.Document.class))
+                .isInstanceOf(ConversionFailedException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a == 1", "$.a[*", "$.a)", "exists($.a ? (@ == \"b))", "$.a[0)"})
+    void invalidJsonPath(String value) {
+        assertThatThrownBy(() -> CONVERSION_SERVICE.convert(value, Json.JsonPath.class))
+                .isInstanceOf(ConversionFailedException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validJsonPathWithBracketsInString() {
+        assertThat(CONVERSION_SERVICE.convert("$.a == \"(]\\\"\"", Json.JsonPath.class))
+                .isEqualTo(new Json.JsonPath("$.a == \"(]\\\"\""));
+    }
+}
@@ -3,14 +3,20 @@ package com.contentgrid.spring.querydsl.predicate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.contentgrid.spring.querydsl.annotation.NormalizedText;
+import com.contentgrid.spring.querydsl.annotation.NormalizedText.Normalization;
 import com.contentgrid.spring.querydsl.annotation.QuerydslPredicateFactory;
+import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicateException;
 import com.contentgrid.spring.querydsl.mapping.UnsupportedCollectionFilterPredicatePathTypeException;
 import com.contentgrid.spring.querydsl.test.fixtures.QTestObject;
 import com.contentgrid.spring.querydsl.test.predicate.PredicateFactoryTester;
-import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.core.types.dsl.StringPath;
 import java.lang.reflect.InvocationTargetException;
@@ -19,6 +25,7 @@ import java.text.Normalizer.Form;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -36,14 +43,19 @@ class TextTest {
                 Text.StartsWithIgnoreCase.class,
                 Text.StartsWithNormalized.class,
                 Text.StartsWithIgnoreCaseNormalized.class,
-                Text.ContentGridPrefixSearch.class
+                Text.Contains.class,
+                Text.ContainsIgnoreCaseNormalized.class,
+                Text.ContentGridPrefixSearch.class,
+                Text.ContentGridFullTextSearch.class
         );
     }
 
     static Stream<Arguments> boundPredicates() {
         BiFunction<StringPath, String, BooleanExpression> equalsIgnoreCase = StringExpression::equalsIgnoreCase;
-        BiFunction<StringPath, String, BooleanExpression> startsWith = StringExpression::startsWith;
-        BiFunction<StringPath, String, BooleanExpression> startsWithIgnoreCase = StringExpression::startsWithIgnoreCase;
+        BiFunction<StringPath, String, BooleanExpression> startsWith = (expr, value) -> Text.like(expr, value + "%");
+        BiFunction<StringPath, String, BooleanExpression> startsWithIgnoreCase = (expr, value) -> {
+            return Text.like(expr.lower(), value.toLowerCase() + "%");
+        };
         BiFunction<StringPath, String, BooleanExpression> equalsNormalized = (expr, value) -> {
             return Text.postgresNormalize(expr).eq(Normalizer.normalize(value, Form.NFKC));
         };
@@ -51,28 +63,142 @@ class TextTest {
             return Text.postgresNormalize(expr).equalsIgnoreCase(Normalizer.normalize(value, Form.NFKC));
         };
         BiFunction<StringPath, String, BooleanExpression> startsWithNormalized = (expr, value) -> {
-            return Text.postgresNormalize(expr).startsWith(Normalizer.normalize(value, Form.NFKC));
+            return Text.like(Text.postgresNormalize(expr), Normalizer.normalize(value, Form.NFKC) + "%");
         };
         BiFunction<StringPath, String, BooleanExpression> startsWithIgnoreCaseNormalized = (expr, value) -> {
-            return Text.postgresNormalize(expr).startsWithIgnoreCase(Normalizer.normalize(value, Form.NFKC));
+            return Text.like(Text.postgresNormalize(expr).lower(),
+                    Normalizer.normalize(value, Form.NFKC).toLowerCase() + "%");
         };
         BiFunction<StringPath, String, BooleanExpression> contentGridPrefixSearch = (expr, value) -> {
-            return Text.contentGridPrefixSearchNormalize(expr)
-                    .like(Text.contentGridPrefixSearchNormalizePattern(ConstantImpl.create(value), "{0%}"));
+            return Text.contentGridPrefixSearchLike(expr, value + "%");
+        };
+        BiFunction<StringPath, String, BooleanExpression> contains = StringExpression::contains;
+        BiFunction<StringPath, String, BooleanExpression> containsIgnoreCaseNormalized = (expr, value) -> {
+            return Text.ilike(Text.postgresNormalize(expr), "%" + Normalizer.normalize(value, Form.NFKC) + "%");
         };
+        BiFunction<StringPath, String, BooleanExpression> fullTextMatch = Text::fullTextMatch;
+
+        var path = TESTER.getPathBase().stringValue;
+
+        return Stream.of(
+                Arguments.of(new Text.EqualsIgnoreCase(), equalsIgnoreCase,
+                        Text.equalsAny(path.lower(), List.of("abcdef", "ghi"))),
+                Arguments.of(new Text.EqualsNormalized(), equalsNormalized,
+                        Text.equalsAny(Text.postgresNormalize(path), List.of("ABCdef", "GHI"))),
+                Arguments.of(new Text.EqualsIgnoreCaseNormalized(), equalsIgnoreCaseNormalized,
+                        Text.equalsAny(Text.postgresNormalize(path).lower(), List.of("abcdef", "ghi"))),
+                Arguments.of(new Text.StartsWith(), startsWith,
+                        Text.likeAny(path, List.of("ABCdef%", "GHI%"))),
+                Arguments.of(new Text.StartsWithIgnoreCase(), startsWithIgnoreCase,
+                        Text.likeAny(path.lower(), List.of("abcdef%", "ghi%"))),
+                Arguments.of(new Text.StartsWithNormalized(), startsWithNormalized,
+                        Text.likeAny(Text.postgresNormalize(path), List.of("ABCdef%", "GHI%"))),
+                Arguments.of(new Text.StartsWithIgnoreCaseNormalized(), startsWithIgnoreCaseNormalized,
+                        Text.likeAny(Text.postgresNormalize(path).lower(), List.of("abcdef%", "ghi%"))),
+                Arguments.of(new Text.ContentGridPrefixSearch(), contentGridPrefixSearch,
+                        Expressions.booleanTemplate("contentgrid_prefix_search_like_any({0}, {1})", path,
+                                new Text.StringArrayConstant(List.of("ABCdef%", "GHI%")))),
+                Arguments.of(new Text.Contains(), contains,
+                        ExpressionUtils.or(path.contains("ABCdef"), path.contains("GHI"))),
+                Arguments.of(new Text.ContainsIgnoreCaseNormalized(), containsIgnoreCaseNormalized,
+                        ExpressionUtils.or(Text.ilike(Text.postgresNormalize(path), "%ABCdef%"),
+                                Text.ilike(Text.postgresNormalize(path), "%GHI%"))),
+                Arguments.of(new Text.ContentGridFullTextSearch(), fullTextMatch,
+                        ExpressionUtils.or(Text.fullTextMatch(path, "ABCdef"), Text.fullTextMatch(path, "GHI")))
+        );
+    }
+
+    @Test
+    void startsWithEscapesLikeWildcards() {
+        var factory = TESTER.evaluate(new Text.StartsWith(), QTestObject::stringValue);
+
+        assertThat(factory.bind(List.of("50%", "a_b\\"))).hasValue(
+                Text.likeAny(TESTER.getPathBase().stringValue, List.of("50\\%%", "a\\_b\\\\%")));
+    }
+
+    @Test
+    void startsWithEscapesLikeWildcardsOfSingleValue() {
+        var factory = TESTER.evaluate(new Text.StartsWith(), QTestObject::stringValue);
+
+        assertThat(factory.bind(List.of("a_b\\"))).hasValue(
+                Text.like(TESTER.getPathBase().stringValue, "a\\_b\\\\%"));
+    }
+
+    @Test
+    void prefixSearchEscapesLikeWildcards() {
+        var factory = TESTER.evaluate(new Text.ContentGridPrefixSearch(), QTestObject::stringValue);
+        var path = TESTER.getPathBase().stringValue;
+
+        assertThat(factory.bind(List.of("50%"))).hasValue(Text.contentGridPrefixSearchLike(path, "50\\%%"));
+        assertThat(factory.bind(List.of("50%", "a_b"))).hasValue(
+                Expressions.booleanTemplate("contentgrid_prefix_search_like_any({0}, {1})", path,
+                        new Text.StringArrayConstant(List.of("50\\%%", "a\\_b%"))));
+    }
+
+    @Test
+    void containsEscapesLikeWildcards() {
+        var factory = TESTER.evaluate(new Text.ContainsIgnoreCaseNormalized(), QTestObject::stringValue);
+
+        assertThat(factory.bind(List.of("50%"))).hasValue(
+                Text.ilike(Text.postgresNormalize(TESTER.getPathBase().stringValue), "%50\\%%"));
+    }
 
+    static Stream<Arguments> indexes() {
         return Stream.of(
-                Arguments.of(new Text.EqualsIgnoreCase(), equalsIgnoreCase, "lower(o.stringValue) in [abcdef, ghi]"),
-                Arguments.of(new Text.EqualsNormalized(), equalsNormalized, "normalize(o.stringValue) in [ABCdef, GHI]"),
-                Arguments.of(new Text.EqualsIgnoreCaseNormalized(), equalsIgnoreCaseNormalized, "lower(normalize(o.stringValue)) in [abcdef, ghi]"),
-                Arguments.of(new Text.StartsWith(), startsWith, null),
-                Arguments.of(new Text.StartsWithIgnoreCase(), startsWithIgnoreCase, null),
-                Arguments.of(new Text.StartsWithNormalized(), startsWithNormalized, null),
-                Arguments.of(new Text.StartsWithIgnoreCaseNormalized(), startsWithIgnoreCaseNormalized, null),
-                Arguments.of(new Text.ContentGridPrefixSearch(), contentGridPrefixSearch, null)
+                Arguments.of(new Text.EqualsIgnoreCase(), "lower({0})", "btree", null),
+                Arguments.of(new Text.EqualsNormalized(), "normalize({0}, NFKC)", "btree", null),
+                Arguments.of(new Text.EqualsIgnoreCaseNormalized(), "lower(normalize({0}, NFKC))", "btree", null),
+                Arguments.of(new Text.StartsWith(), "{0}", "btree", "text_pattern_ops"),
+                Arguments.of(new Text.StartsWithIgnoreCase(), "lower({0})", "btree", "text_pattern_ops"),
+                Arguments.of(new Text.StartsWithNormalized(), "normalize({0}, NFKC)", "btree", "text_pattern_ops"),
+                Arguments.of(new Text.StartsWithIgnoreCaseNormalized(), "lower(normalize({0}, NFKC))", "btree",
+                        "text_pattern_ops"),
+                Arguments.of(new Text.ContentGridPrefixSearch(), "extensions.contentgrid_prefix_search_normalize({0})",
+                        "btree", "text_pattern_ops"),
+                Arguments.of(new Text.Contains(), "{0}", "gin", "gin_trgm_ops"),
+                Arguments.of(new Text.ContainsIgnoreCaseNormalized(), "normalize({0}, NFKC)", "gin", "gin_trgm_ops"),
+                Arguments.of(new Text.ContentGridFullTextSearch(), "to_tsvector('simple', {0})", "gin", null)
         );
     }
 
+    @ParameterizedTest
+    @MethodSource
+    void indexes(QuerydslPredicateFactory<Path<?>, String> predicateFactory, String expression,
+            String method, String operatorClass) {
+        var path = TESTER.getPathBase().stringValue;
+
+        assertThat(predicateFactory.indexes(path)).singleElement().satisfies(index -> {
+            assertThat(index.getPath()).isEqualTo(path);
+            assertThat(index.getExpression()).isEqualTo(expression);
+            assertThat(index.getMethod()).isEqualTo(method);
+            assertThat(index.getOperatorClass()).isEqualTo(operatorClass);
+        });
+    }
+
+    @Test
+    void fullTextSearchSortsByRelevance() {
+        var factory = new Text.ContentGridFullTextSearch();
+        var path = TESTER.getPathBase().stringValue;
+
+        assertThat(factory.sortExpression(path)).hasValue(path);
+        assertThat(factory.sortExpression(path, List.of())).hasValue(path);
+        assertThat(factory.sortExpression(path, List.of("abc"))).hasValue(Text.fullTextRank(path, "abc"));
+        assertThat(factory.sortExpression(path, List.of("abc", "def", "abc")))
+                .hasValue(Text.fullTextRank(path, "abc").add(Text.fullTextRank(path, "def")));
+    }
+
+    @Test
+    void containsSortsBySimilarity() {
+        var factory = new Text.ContainsIgnoreCaseNormalized();
+        var path = TESTER.getPathBase().stringValue;
+        var normalized = Text.postgresNormalize(path).lower();
+
+        assertThat(factory.sortExpression(path)).hasValue(normalized);
+        assertThat(factory.sortExpression(path, List.of())).hasValue(normalized);
+        assertThat(factory.sortExpression(path, List.of("abc", "def")))
+                .hasValue(Text.trigramSimilarity(normalized, "abc").add(Text.trigramSimilarity(normalized, "def")));
+    }
+
     @ParameterizedTest
     @MethodSource("factories")
     void rejectsNonStringPath(Class<QuerydslPredicateFactory<Path<?>, String>> type)
@@ -97,7 +223,7 @@ class TextTest {
     @ParameterizedTest
     @MethodSource("boundPredicates")
     void bindsStringPath(QuerydslPredicateFactory<StringPath, String> predicateFactory, BiFunction<StringPath, String,
-            BooleanExpression> mapper, String collectionValue) {
+            BooleanExpression> mapper, Predicate collectionValue) {
         var factory = TESTER.evaluate(predicateFactory, QTestObject::stringValue);
 
         assertThat(factory.boundPaths()).containsExactly(TESTER.getPathBase().stringValue);
@@ -109,13 +235,60 @@ class TextTest {
             assertThat(predicate).isEqualTo(mapper.apply(TESTER.getPathBase().stringValue, "ABCdef"));
         });
         assertThat(factory.bind(List.of("ABCdef", "GHI"))).hasValueSatisfying(predicate -> {
-            if (collectionValue != null) {
-                assertThat(predicate).hasToString(collectionValue);
-            } else {
-                assertThat(predicate).isEqualTo(mapper.apply(TESTER.getPathBase().stringValue, "ABCdef")
-                        .or(mapper.apply(TESTER.getPathBase().stringValue, "GHI")));
-            }
+            assertThat(predicate).isEqualTo(collectionValue);
         });
     }
 
+    @Test
+    void normalizedColumnComparesNormalizedValues() {
+        var factory = new Text.EqualsIgnoreCaseNormalized();
+        var path = NORMALIZED_OBJECT.getString("nameIgnoreCase");
+
+        assertThat(factory.bind(path, List.of("ÀBC"))).hasValue(path.eq("àbc"));
+        assertThat(factory.bind(path, List.of("ÀBC", "ﬁx"))).hasValue(Text.equalsAny(path, List.of("àbc", "fix")));
+        assertThat(factory.sortExpression(path)).hasValue(path);
+        assertThat(factory.indexes(path)).singleElement().satisfies(index -> {
+            assertThat(index.isColumn()).isTrue();
+            assertThat(index.getMethod()).isEqualTo("btree");
+            assertThat(index.getOperatorClass()).isNull();
+        });
+    }
+
+    @Test
+    void normalizedColumnMatchesNormalizedPrefixes() {
+        var factory = new Text.ContentGridPrefixSearch();
+        var path = NORMALIZED_OBJECT.getString("namePrefixSearch");
+
+        assertThat(factory.bind(path, List.of("Éco"))).hasValue(Text.like(path, "eco%"));
+        assertThat(factory.bind(path, List.of("50%"))).hasValue(Text.like(path, "50\\%%"));
+        assertThat(factory.bind(path, List.of("Éco", "50%"))).hasValue(Text.likeAny(path, List.of("eco%", "50\\%%")));
+        assertThat(factory.indexes(path)).singleElement().satisfies(index -> {
+            assertThat(index.isColumn()).isTrue();
+            assertThat(index.getOperatorClass()).isEqualTo("text_pattern_ops");
+        });
+    }
+
+    @Test
+    void rejectsDifferentlyNormalizedColumn() {
+        var factory = new Text.EqualsNormalized();
+        var path = NORMALIZED_OBJECT.getString("nameIgnoreCase");
+
+        assertThatThrownBy(() -> factory.bind(path, List.of("abc")))
+                .isInstanceOf(UnsupportedCollectionFilterPredicateException.class);
+    }
+
+    private static final PathBuilder<NormalizedObject> NORMALIZED_OBJECT = new PathBuilder<>(NormalizedObject.class,
+            "n");
+
+    private static class NormalizedObject {
+
+        private String name;
+
+        @NormalizedText(value = "name", normalization = Normalization.NFKC_IGNORE_CASE)
+        private String nameIgnoreCase;
+
+        @NormalizedText(value = "name", normalization = Normalization.PREFIX_SEARCH)
+        private String namePrefixSearch;
+    }
+
 }
\ No newline at end of file
@@ -47,6 +47,7 @@ public class QTestObject extends EntityPathBase<TestObject> {
     public final NumberPath<Integer> intValue = createNumber("intValue", Integer.class);
     public final BooleanPath booleanValue = createBoolean("booleanValue");
     public final ComparablePath<UUID> uuidValue = createComparable("uuidValue", UUID.class);
+    public final StringPath jsonValue = createString("jsonValue");
 
     public final ListPath<String, StringPath> stringItems = createList("stringItems", String.class, StringPath.class, INITS);
 
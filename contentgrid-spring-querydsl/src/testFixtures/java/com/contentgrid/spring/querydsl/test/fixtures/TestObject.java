@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import lombok.Value;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Value
 public class TestObject {
@@ -15,6 +17,9 @@ public class TestObject {
     int intValue;
     UUID uuidValue;
 
+    @JdbcTypeCode(SqlTypes.JSON)
+    String jsonValue;
+
     List<String> stringItems;
 
     EmbeddedObject embeddedObject;